@@ -2,8 +2,10 @@ package org.example.springprojektzespolowy;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SpringProjektZespolowyApplication {
     public static void main(String[] args) {
         SpringApplication.run(SpringProjektZespolowyApplication.class, args);
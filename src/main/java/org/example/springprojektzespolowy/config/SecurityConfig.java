@@ -1,7 +1,9 @@
 package org.example.springprojektzespolowy.config;
 
 
+import jakarta.servlet.DispatcherType;
 import org.example.springprojektzespolowy.config.firebase.JwtAuthenticationFilter;
+import org.example.springprojektzespolowy.config.ratelimit.RateLimitFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -18,9 +20,11 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig{
 
     private final JwtAuthenticationFilter firebaseFilter;
+    private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter firebaseFilter) {
+    public SecurityConfig(JwtAuthenticationFilter firebaseFilter, RateLimitFilter rateLimitFilter) {
         this.firebaseFilter = firebaseFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
 
@@ -29,12 +33,14 @@ public class SecurityConfig{
         return http
                 .csrf(customizer -> customizer.disable())
                 .authorizeHttpRequests(request -> request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/public/**").permitAll()
                         .requestMatchers("/user/register").permitAll()
                         .requestMatchers("/error").permitAll()
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(firebaseFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
                         .build();
     }
 
@@ -0,0 +1,58 @@
+package org.example.springprojektzespolowy.config.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Ograniczony bufor pierścieniowy wielu producentów / jednego konsumenta bez blokad.
+ * Producent rezerwuje slot przez CAS na {@code tail}; gdy bufor jest pełny zdarzenie jest odrzucane
+ * zamiast blokować wątek żądania.
+ */
+public class AuditRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    public AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(requestedCapacity, 2) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public boolean offer(T element) {
+        while (true) {
+            long currentTail = tail.get();
+            if (currentTail - head.get() >= slots.length()) return false;
+            if (tail.compareAndSet(currentTail, currentTail + 1)) {
+                slots.lazySet((int) (currentTail & mask), element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Wywoływane wyłącznie z wątku konsumenta.
+     */
+    public int drain(Consumer<T> consumer, int maxElements) {
+        int drained = 0;
+        long currentHead = head.get();
+        while (drained < maxElements) {
+            int index = (int) (currentHead & mask);
+            T element = slots.get(index);
+            if (element == null) break;
+            slots.lazySet(index, null);
+            currentHead++;
+            head.lazySet(currentHead);
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    public long size() {
+        return Math.max(0, tail.get() - head.get());
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.springprojektzespolowy.config.audit;
+
+public record AuthAuditEvent(long timestamp, String type, String UId, String check, Long resourceId, boolean granted) {
+}
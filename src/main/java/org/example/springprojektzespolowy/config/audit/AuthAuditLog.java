@@ -0,0 +1,147 @@
+package org.example.springprojektzespolowy.config.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Audyt uwierzytelniania i autoryzacji. Wątek żądania tylko wrzuca zdarzenie do {@link AuditRingBuffer},
+ * a wątek w tle zapisuje je paczkami jako JSON lines do pliku dopisywanego na końcu.
+ * Odmowy zapisywane są zawsze, udane sprawdzenia z próbkowaniem {@code app.audit.success-sample-rate}.
+ */
+@Slf4j
+@Component
+public class AuthAuditLog {
+
+    private final AuditRingBuffer<AuthAuditEvent> buffer;
+    private final Path file;
+    private final double successSampleRate;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Counter dropped;
+    private final ScheduledExecutorService writerThread;
+    private final StringBuilder line = new StringBuilder(256);
+    private BufferedWriter writer;
+
+    public AuthAuditLog(@Value("${app.audit.file:logs/auth-audit.jsonl}") String file,
+                        @Value("${app.audit.buffer-size:8192}") int bufferSize,
+                        @Value("${app.audit.batch-size:512}") int batchSize,
+                        @Value("${app.audit.flush-interval-ms:200}") long flushIntervalMillis,
+                        @Value("${app.audit.success-sample-rate:0.01}") double successSampleRate,
+                        MeterRegistry meterRegistry) {
+        this.buffer = new AuditRingBuffer<>(bufferSize);
+        this.file = Path.of(file);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.successSampleRate = successSampleRate;
+        this.dropped = Counter.builder("auth.audit.dropped")
+                .description("Audit events dropped because the ring buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.audit.backlog", buffer, AuditRingBuffer::size).register(meterRegistry);
+        this.writerThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auth-audit-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        writerThread.scheduleWithFixedDelay(this::drain, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Audyt autoryzacji zapisywany do: {}", file.toAbsolutePath());
+    }
+
+    public void authenticated(String UId) {
+        record("AUTHENTICATION", UId, null, null, true);
+    }
+
+    public void authenticationFailed() {
+        record("AUTHENTICATION", null, null, null, false);
+    }
+
+    public void authorization(String check, String UId, Long resourceId, boolean granted) {
+        record("AUTHORIZATION", UId, check, resourceId, granted);
+    }
+
+    public void developerAccess(String check, String UId, Long resourceId) {
+        record("DEVELOPER_ACCESS", UId, check, resourceId, true);
+    }
+
+    private void record(String type, String UId, String check, Long resourceId, boolean granted) {
+        if (granted && !"DEVELOPER_ACCESS".equals(type) && ThreadLocalRandom.current().nextDouble() >= successSampleRate) return;
+        if (!buffer.offer(new AuthAuditEvent(System.currentTimeMillis(), type, UId, check, resourceId, granted))) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        try {
+            int drained;
+            do {
+                drained = buffer.drain(this::write, batchSize);
+            } while (drained == batchSize);
+            writer.flush();
+        } catch (IOException | RuntimeException e) {
+            log.error("Nie udało się zapisać audytu autoryzacji: {}", e.getMessage());
+        }
+    }
+
+    private void write(AuthAuditEvent event) {
+        line.setLength(0);
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(event.timestamp()))
+                .append("\",\"type\":\"").append(event.type())
+                .append("\",\"granted\":").append(event.granted());
+        if (event.UId() != null) appendString("uid", event.UId());
+        if (event.check() != null) appendString("check", event.check());
+        if (event.resourceId() != null) line.append(",\"resourceId\":").append(event.resourceId());
+        line.append("}\n");
+        try {
+            writer.append(line);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void appendString(String name, String value) {
+        line.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') line.append('\\').append(c);
+            else if (c < 0x20) line.append(String.format("\\u%04x", (int) c));
+            else line.append(c);
+        }
+        line.append('"');
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        writerThread.shutdown();
+        try {
+            writerThread.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        writer.close();
+    }
+}
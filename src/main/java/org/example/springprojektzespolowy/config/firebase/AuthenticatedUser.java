@@ -0,0 +1,29 @@
+package org.example.springprojektzespolowy.config.firebase;
+
+import java.security.Principal;
+
+/**
+ * Principal ustawiany przez {@link JwtAuthenticationFilter}. Poza Firebase UId niesie wewnętrzne id użytkownika
+ * i podstawowy profil, dzięki czemu serwisy nie muszą ponownie odpytywać tabeli users w trakcie żądania.
+ * {@code id} jest null, gdy użytkownik nie jest jeszcze zarejestrowany (np. podczas /user/register).
+ */
+public record AuthenticatedUser(String UId, Long id, String name, String email, Long profilePhotoId) implements Principal {
+
+    public static AuthenticatedUser unregistered(String UId) {
+        return new AuthenticatedUser(UId, null, null, null, null);
+    }
+
+    public boolean isRegistered() {
+        return id != null;
+    }
+
+    @Override
+    public String getName() {
+        return UId;
+    }
+
+    @Override
+    public String toString() {
+        return UId;
+    }
+}
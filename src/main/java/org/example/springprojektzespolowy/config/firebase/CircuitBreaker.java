@@ -0,0 +1,86 @@
+package org.example.springprojektzespolowy.config.firebase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Prosty circuit breaker: po {@code failureThreshold} kolejnych błędach przechodzi w OPEN i odrzuca wywołania
+ * przez {@code openDuration}, potem wpuszcza jedno próbne wywołanie (HALF_OPEN).
+ * Przejścia stanów eksportowane są jako metryki {@code <name>.state} i {@code <name>.transitions}.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, Clock clock, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDuration.toMillis();
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(name + ".state", state, s -> s.get().ordinal())
+                .description("Circuit breaker state (0=closed, 1=open, 2=half-open)")
+                .register(meterRegistry);
+    }
+
+    public boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) return true;
+        if (current == State.OPEN && clock.millis() - openedAt.get() >= openDurationMillis) {
+            return transition(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        transition(State.HALF_OPEN, State.CLOSED);
+    }
+
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN) {
+            open(State.HALF_OPEN);
+        } else if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open(State.CLOSED);
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    private void open(State from) {
+        openedAt.set(clock.millis());
+        if (transition(from, State.OPEN)) consecutiveFailures.set(0);
+    }
+
+    private boolean transition(State from, State to) {
+        if (!state.compareAndSet(from, to)) return false;
+        log.warn("Circuit breaker '{}': {} -> {}", name, from, to);
+        Counter.builder(name + ".transitions")
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .register(meterRegistry)
+                .increment();
+        return true;
+    }
+}
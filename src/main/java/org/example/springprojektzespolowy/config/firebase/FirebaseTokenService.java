@@ -1,21 +1,150 @@
 package org.example.springprojektzespolowy.config.firebase;
 
-import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.AuthErrorCode;
 import com.google.firebase.auth.FirebaseAuthException;
 import com.google.firebase.auth.FirebaseToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Weryfikacja tokenów Firebase odizolowana od wątków Tomcata: wywołania idą przez osobną, ograniczoną pulę
+ * (bulkhead) z timeoutem i circuit breakerem. Gdy Firebase nie odpowiada, używane są niedawno zweryfikowane,
+ * jeszcze nieprzeterminowane tokeny.
+ */
 @Service
 @Slf4j
 public class FirebaseTokenService {
 
+    private final TokenVerifier tokenVerifier;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final CircuitBreaker circuitBreaker;
+    private final Map<String, FirebaseToken> recentlyVerified;
+
+    @Autowired
+    public FirebaseTokenService(TokenVerifier tokenVerifier, MeterRegistry meterRegistry,
+                                @Value("${app.firebase.verify.threads:8}") int threads,
+                                @Value("${app.firebase.verify.queue-size:32}") int queueSize,
+                                @Value("${app.firebase.verify.timeout:PT2S}") Duration timeout,
+                                @Value("${app.firebase.verify.failure-threshold:5}") int failureThreshold,
+                                @Value("${app.firebase.verify.open-duration:PT30S}") Duration openDuration,
+                                @Value("${app.firebase.verify.fallback-cache-size:10000}") int fallbackCacheSize) {
+        this(tokenVerifier, meterRegistry, Clock.systemUTC(), threads, queueSize, timeout, failureThreshold, openDuration, fallbackCacheSize);
+    }
+
+    FirebaseTokenService(TokenVerifier tokenVerifier, MeterRegistry meterRegistry, Clock clock, int threads, int queueSize,
+                         Duration timeout, int failureThreshold, Duration openDuration, int fallbackCacheSize) {
+        this.tokenVerifier = tokenVerifier;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), daemonThreads(), new ThreadPoolExecutor.AbortPolicy());
+        this.circuitBreaker = new CircuitBreaker("firebase.verify.circuit", failureThreshold, openDuration, clock, meterRegistry);
+        this.recentlyVerified = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FirebaseToken> eldest) {
+                return size() > fallbackCacheSize;
+            }
+        });
+    }
+
     public FirebaseToken verifyToken(String token) {
+        if (!circuitBreaker.allowRequest()) {
+            return fallback(token, "circuit-open");
+        }
+
+        Future<FirebaseToken> future;
+        try {
+            future = executor.submit(() -> tokenVerifier.verify(token));
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.onFailure();
+            return fallback(token, "bulkhead-full");
+        }
+
         try {
-            return FirebaseAuth.getInstance().verifyIdToken(token);
-        } catch (FirebaseAuthException e) {
-            log.error("Błąd weryfikacji tokenu Firebase: {}", e.getMessage());
+            FirebaseToken decoded = future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            recentlyVerified.put(token, decoded);
+            return decoded;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.onFailure();
+            return fallback(token, "timeout");
+        } catch (ExecutionException e) {
+            if (isRejectedToken(e.getCause())) {
+                circuitBreaker.onSuccess();
+                recentlyVerified.remove(token);
+                log.error("Błąd weryfikacji tokenu Firebase: {}", e.getCause().getMessage());
+                return null;
+            }
+            circuitBreaker.onFailure();
+            log.error("Weryfikacja tokenu Firebase nie powiodła się: {}", e.getCause().getMessage());
+            return fallback(token, "error");
+        } catch (InterruptedException e) {
+            // Bez werdyktu próbne wywołanie w HALF_OPEN blokowałoby breaker na stałe.
+            future.cancel(true);
+            circuitBreaker.onFailure();
+            Thread.currentThread().interrupt();
             return null;
         }
     }
+
+    CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Odrzucenie samego tokenu (pusty, zniekształcony, wygasły, zła sygnatura) świadczy o działającej weryfikacji,
+     * więc nie jest awarią dla breakera. Awarią są tylko błędy I/O, timeouty i nieudane pobranie certyfikatów.
+     */
+    static boolean isRejectedToken(Throwable cause) {
+        if (cause instanceof IllegalArgumentException) return true;
+        return cause instanceof FirebaseAuthException authException
+                && authException.getAuthErrorCode() != AuthErrorCode.CERTIFICATE_FETCH_FAILED;
+    }
+
+    private FirebaseToken fallback(String token, String reason) {
+        FirebaseToken cached = recentlyVerified.get(token);
+        boolean usable = cached != null && !isExpired(cached);
+        meterRegistry.counter("firebase.verify.fallback", "reason", reason, "hit", String.valueOf(usable)).increment();
+        if (!usable) {
+            log.warn("Firebase niedostępny ({}), brak zweryfikowanego tokenu w cache", reason);
+            return null;
+        }
+        return cached;
+    }
+
+    private boolean isExpired(FirebaseToken token) {
+        Object exp = token.getClaims().get("exp");
+        return !(exp instanceof Number seconds) || seconds.longValue() * 1000 <= clock.millis();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "firebase-verify-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 }
@@ -0,0 +1,15 @@
+package org.example.springprojektzespolowy.config.firebase;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FirebaseTokenVerifier implements TokenVerifier {
+
+    @Override
+    public FirebaseToken verify(String token) throws FirebaseAuthException {
+        return FirebaseAuth.getInstance().verifyIdToken(token);
+    }
+}
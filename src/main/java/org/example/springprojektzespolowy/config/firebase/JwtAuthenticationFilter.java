@@ -6,6 +6,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.example.springprojektzespolowy.config.audit.AuthAuditLog;
+import org.example.springprojektzespolowy.services.userServices.UserIdResolver;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -20,10 +22,14 @@ import java.util.ArrayList;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final FirebaseTokenService firebaseTokenService;
+    private final UserIdResolver userIdResolver;
+    private final AuthAuditLog auditLog;
 
 
-    public JwtAuthenticationFilter(FirebaseTokenService firebaseTokenService) {
+    public JwtAuthenticationFilter(FirebaseTokenService firebaseTokenService, UserIdResolver userIdResolver, AuthAuditLog auditLog) {
         this.firebaseTokenService = firebaseTokenService;
+        this.userIdResolver = userIdResolver;
+        this.auditLog = auditLog;
     }
 
 
@@ -37,16 +43,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FirebaseToken decodedToken = firebaseTokenService.verifyToken(token);
 
             if (decodedToken != null) {
+                AuthenticatedUser principal = userIdResolver.resolve(decodedToken.getUid());
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        decodedToken.getUid(), null, new ArrayList<>());
+                        principal, null, new ArrayList<>());
 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
                 request.setAttribute("firebaseToken", decodedToken);
-                log.info("Pomyślnie uwierzytelniono użytkownika: {}", decodedToken.getUid());
+                auditLog.authenticated(decodedToken.getUid());
             } else {
-                log.error("Nie można zweryfikować tokenu Firebase");
+                auditLog.authenticationFailed();
+                log.debug("Nie można zweryfikować tokenu Firebase");
             }
         }
         filterChain.doFilter(request,response);
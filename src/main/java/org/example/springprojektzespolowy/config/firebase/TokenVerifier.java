@@ -0,0 +1,10 @@
+package org.example.springprojektzespolowy.config.firebase;
+
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+
+@FunctionalInterface
+public interface TokenVerifier {
+
+    FirebaseToken verify(String token) throws FirebaseAuthException;
+}
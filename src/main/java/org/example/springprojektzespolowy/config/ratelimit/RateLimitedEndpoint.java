@@ -0,0 +1,49 @@
+package org.example.springprojektzespolowy.config.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+public enum RateLimitedEndpoint {
+
+    UPLOAD("upload", List.of(
+            new Route(HttpMethod.POST, "/photo/upload/**"),
+            new Route(HttpMethod.POST, "/profile/*/upload/**"),
+            new Route(HttpMethod.POST, "/doc/create/**"))),
+
+    FILE_DOWNLOAD("file-download", List.of(
+            new Route(HttpMethod.GET, "/photo/*/raw"),
+            new Route(HttpMethod.GET, "/profile/*/*"),
+            new Route(HttpMethod.GET, "/doc/id/*"),
+            new Route(HttpMethod.GET, "/doc/*/*")));
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final String key;
+    private final List<Route> routes;
+
+    RateLimitedEndpoint(String key, List<Route> routes) {
+        this.key = key;
+        this.routes = routes;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static RateLimitedEndpoint match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitedEndpoint endpoint : values()) {
+            for (Route route : endpoint.routes) {
+                if (route.method().matches(request.getMethod()) && PATH_MATCHER.match(route.pattern(), path)) {
+                    return endpoint;
+                }
+            }
+        }
+        return null;
+    }
+
+    private record Route(HttpMethod method, String pattern) {}
+}
@@ -0,0 +1,76 @@
+package org.example.springprojektzespolowy.config.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trzyma osobny {@link TokenBucket} dla każdej pary (klasa endpointu, UId). Pojemność i tempo uzupełniania
+ * czytane są z {@code app.rate-limit.<klasa>.capacity} i {@code app.rate-limit.<klasa>.refill-per-minute}.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final int CLEANUP_THRESHOLD = 50_000;
+    private static final long CLEANUP_INTERVAL_NANOS = Duration.ofSeconds(30).toNanos();
+
+    private final Map<RateLimitedEndpoint, BucketConfig> configs = new EnumMap<>(RateLimitedEndpoint.class);
+    private final Map<RateLimitedEndpoint, Counter> rejections = new EnumMap<>(RateLimitedEndpoint.class);
+    private final Map<RateLimitedEndpoint, ConcurrentHashMap<String, TokenBucket>> buckets = new EnumMap<>(RateLimitedEndpoint.class);
+    private final Map<RateLimitedEndpoint, AtomicLong> lastCleanup = new EnumMap<>(RateLimitedEndpoint.class);
+
+    public RateLimiter(Environment environment, MeterRegistry meterRegistry) {
+        for (RateLimitedEndpoint endpoint : RateLimitedEndpoint.values()) {
+            String prefix = "app.rate-limit." + endpoint.getKey();
+            int capacity = environment.getProperty(prefix + ".capacity", Integer.class, 10);
+            int refillPerMinute = environment.getProperty(prefix + ".refill-per-minute", Integer.class, 10);
+            configs.put(endpoint, new BucketConfig(capacity, Duration.ofMinutes(1).toNanos() / Math.max(refillPerMinute, 1)));
+            buckets.put(endpoint, new ConcurrentHashMap<>());
+            lastCleanup.put(endpoint, new AtomicLong(System.nanoTime() - CLEANUP_INTERVAL_NANOS));
+            rejections.put(endpoint, Counter.builder("ratelimit.rejected")
+                    .description("Requests rejected by the per-user rate limiter")
+                    .tag("endpoint", endpoint.getKey())
+                    .register(meterRegistry));
+            log.info("Limit zapytań dla '{}': pojemność {}, {} na minutę", endpoint.getKey(), capacity, refillPerMinute);
+        }
+    }
+
+    /**
+     * @return 0 gdy zapytanie może zostać obsłużone, w przeciwnym razie czas oczekiwania w nanosekundach
+     */
+    public long tryAcquire(RateLimitedEndpoint endpoint, String UId) {
+        long now = System.nanoTime();
+        ConcurrentHashMap<String, TokenBucket> endpointBuckets = buckets.get(endpoint);
+        if (endpointBuckets.size() > CLEANUP_THRESHOLD) cleanup(endpoint, endpointBuckets, now);
+
+        BucketConfig config = configs.get(endpoint);
+        TokenBucket bucket = endpointBuckets.computeIfAbsent(UId,
+                key -> new TokenBucket(config.capacity(), config.refillIntervalNanos(), now));
+
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) rejections.get(endpoint).increment();
+        return waitNanos;
+    }
+
+    /**
+     * Usuwa pełne kubełki najwyżej raz na {@link #CLEANUP_INTERVAL_NANOS} dla klasy endpointu. Przegląd robi tylko
+     * wątek, który wygra CAS na znaczniku czasu, więc pozostałe zapytania nie skanują mapy.
+     */
+    private void cleanup(RateLimitedEndpoint endpoint, ConcurrentHashMap<String, TokenBucket> endpointBuckets, long now) {
+        AtomicLong last = lastCleanup.get(endpoint);
+        long previous = last.get();
+        if (now - previous < CLEANUP_INTERVAL_NANOS || !last.compareAndSet(previous, now)) return;
+        endpointBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private record BucketConfig(int capacity, long refillIntervalNanos) {}
+}
@@ -0,0 +1,40 @@
+package org.example.springprojektzespolowy.config.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bezblokadowy token bucket w wariancie GCRA: cały stan to jeden "teoretyczny czas przybycia" w AtomicLong,
+ * więc pobranie tokenu to pojedynczy CAS bez alokacji. Zachowanie jest równoważne wiaderku o pojemności
+ * {@code capacity} uzupełnianemu co {@code refillIntervalNanos}.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, long refillIntervalNanos, long nowNanos) {
+        if (capacity < 1) throw new IllegalArgumentException("Bucket capacity must be positive");
+        if (refillIntervalNanos < 1) throw new IllegalArgumentException("Refill interval must be positive");
+        this.emissionIntervalNanos = refillIntervalNanos;
+        this.burstToleranceNanos = refillIntervalNanos * (capacity - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 gdy token został pobrany, w przeciwnym razie liczba nanosekund do zwolnienia kolejnego tokenu
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long start = Math.max(tat, nowNanos);
+            long allowAt = start - burstToleranceNanos;
+            if (allowAt > nowNanos) return allowAt - nowNanos;
+            if (theoreticalArrival.compareAndSet(tat, start + emissionIntervalNanos)) return 0;
+        }
+    }
+
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
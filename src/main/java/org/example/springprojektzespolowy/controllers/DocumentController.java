@@ -39,8 +39,9 @@ public class DocumentController {
     }
 
     @GetMapping("/{docName}/{groupId}")
-    public ResponseEntity<DocumentDtoWithFile> getDocumentFromGroupDocByName(@PathVariable String docName, @PathVariable Long groupId){
-        DocumentDtoWithFile documentsInGroupByName = documentService.getDocumentsInGroupDocByName(groupId, docName);
+    public ResponseEntity<DocumentDtoWithFile> getDocumentFromGroupDocByName(@PathVariable String docName, @PathVariable Long groupId,
+                                                                             @RequestParam(defaultValue = "false") boolean prefix){
+        DocumentDtoWithFile documentsInGroupByName = documentService.getDocumentsInGroupDocByName(groupId, docName, prefix);
         return ResponseEntity.ok(documentsInGroupByName);
     }
 
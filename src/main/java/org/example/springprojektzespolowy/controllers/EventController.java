@@ -3,19 +3,40 @@ package org.example.springprojektzespolowy.controllers;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
 import org.example.springprojektzespolowy.dto.event.CreateEventDto;
+import org.example.springprojektzespolowy.dto.event.EventBudgetDto;
 import org.example.springprojektzespolowy.dto.event.EventDto;
+import org.example.springprojektzespolowy.dto.event.EventOccurrenceDto;
+import org.example.springprojektzespolowy.dto.event.NearbyEventDto;
+import org.example.springprojektzespolowy.dto.event.OccurrenceOverrideDto;
+import org.example.springprojektzespolowy.dto.event.RecurrenceDto;
 import org.example.springprojektzespolowy.dto.event.UpdateEventDto;
+import org.example.springprojektzespolowy.dto.expenses.LinkResultDto;
+import org.example.springprojektzespolowy.dto.userEvent.EventMembersDto;
+import org.example.springprojektzespolowy.dto.userEvent.ScheduleConflictDto;
 import org.example.springprojektzespolowy.dto.userEvent.UserEventDto;
 import org.example.springprojektzespolowy.services.DeleteEntityService;
+import org.example.springprojektzespolowy.services.EventCalendarService;
 import org.example.springprojektzespolowy.services.EventCreateService;
+import org.example.springprojektzespolowy.services.EventFeedService;
+import org.example.springprojektzespolowy.services.EventOccurrenceService;
 import org.example.springprojektzespolowy.services.EventService;
+import org.example.springprojektzespolowy.services.ScheduleConflictService;
+import org.example.springprojektzespolowy.services.expenseServices.EventBudgetService;
+import org.example.springprojektzespolowy.services.geoServices.EventGeoService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 
 @Slf4j
@@ -25,11 +46,25 @@ public class EventController {
     private final EventService eventService;
     private final EventCreateService eventCreateService;
     private final DeleteEntityService deleteEntityService;
+    private final EventBudgetService eventBudgetService;
+    private final EventCalendarService eventCalendarService;
+    private final ScheduleConflictService scheduleConflictService;
+    private final EventFeedService eventFeedService;
+    private final EventOccurrenceService eventOccurrenceService;
+    private final EventGeoService eventGeoService;
 
-    public EventController(EventService eventService, EventCreateService eventCreateService, DeleteEntityService deleteEntityService) {
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    public EventController(EventService eventService, EventCreateService eventCreateService, DeleteEntityService deleteEntityService, EventBudgetService eventBudgetService, EventCalendarService eventCalendarService, ScheduleConflictService scheduleConflictService, EventFeedService eventFeedService, EventOccurrenceService eventOccurrenceService, EventGeoService eventGeoService) {
         this.eventService = eventService;
         this.eventCreateService = eventCreateService;
         this.deleteEntityService = deleteEntityService;
+        this.eventBudgetService = eventBudgetService;
+        this.eventCalendarService = eventCalendarService;
+        this.scheduleConflictService = scheduleConflictService;
+        this.eventFeedService = eventFeedService;
+        this.eventOccurrenceService = eventOccurrenceService;
+        this.eventGeoService = eventGeoService;
     }
 
     @GetMapping("/{groupId}")
@@ -38,9 +73,97 @@ public class EventController {
         return ResponseEntity.ok(allEventsByGroupId);
     }
 
+    @GetMapping("/{groupId}/budget")
+    public ResponseEntity<List<EventBudgetDto>> getEventBudgets(@PathVariable Long groupId){
+        return ResponseEntity.ok(eventBudgetService.getEventBudgets(groupId));
+    }
+
+    @GetMapping("/{groupId}/calendar")
+    public ResponseEntity<List<EventDto>> getGroupCalendar(@PathVariable Long groupId,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) throws BadRequestException {
+        return ResponseEntity.ok(eventCalendarService.getGroupCalendar(groupId, from, to));
+    }
+
+    @GetMapping("/{groupId}/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getGroupCalendarFeed(@PathVariable Long groupId, WebRequest request){
+        String eTag = eventFeedService.groupFeedETag(groupId);
+        if (request.checkNotModified(eTag)) return null;
+        return ResponseEntity.ok().eTag(eTag).contentType(TEXT_CALENDAR).body(eventFeedService.groupFeed(groupId));
+    }
+
+    @GetMapping("/{groupId}/occurrences")
+    public ResponseEntity<List<EventOccurrenceDto>> getOccurrences(@PathVariable Long groupId,
+                                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) throws BadRequestException {
+        return ResponseEntity.ok(eventOccurrenceService.getOccurrences(groupId, from, to));
+    }
+
+    @PutMapping("/{groupId}/{eventId}/recurrence")
+    public ResponseEntity<RecurrenceDto> setRecurrence(@PathVariable Long groupId, @PathVariable Long eventId, @RequestBody RecurrenceDto recurrence) throws BadRequestException {
+        return ResponseEntity.ok(eventOccurrenceService.setRecurrence(groupId, eventId, recurrence));
+    }
+
+    @PutMapping("/{groupId}/{eventId}/occurrences")
+    public ResponseEntity<EventOccurrenceDto> overrideOccurrence(@PathVariable Long groupId, @PathVariable Long eventId, @RequestBody OccurrenceOverrideDto override) throws BadRequestException {
+        return ResponseEntity.ok(eventOccurrenceService.overrideOccurrence(groupId, eventId, override));
+    }
+
+    @DeleteMapping("/{groupId}/{eventId}/occurrences")
+    public ResponseEntity<Void> restoreOccurrence(@PathVariable Long groupId, @PathVariable Long eventId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrenceStart){
+        eventOccurrenceService.restoreOccurrence(groupId, eventId, occurrenceStart);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{groupId}/nearby")
+    public ResponseEntity<List<NearbyEventDto>> getNearbyEvents(@PathVariable Long groupId,
+                                                                @RequestParam Double lat,
+                                                                @RequestParam Double lon,
+                                                                @RequestParam(required = false) Double radiusKm,
+                                                                @RequestParam(required = false) Integer limit) throws BadRequestException {
+        return ResponseEntity.ok(eventGeoService.getNearby(groupId, lat, lon, radiusKm, limit));
+    }
+
+    @GetMapping("/{groupId}/within")
+    public ResponseEntity<List<EventDto>> getEventsWithin(@PathVariable Long groupId,
+                                                          @RequestParam Double minLat,
+                                                          @RequestParam Double minLon,
+                                                          @RequestParam Double maxLat,
+                                                          @RequestParam Double maxLon) throws BadRequestException {
+        return ResponseEntity.ok(eventGeoService.getWithin(groupId, minLat, minLon, maxLat, maxLon));
+    }
+
+    @GetMapping("/{groupId}/upcoming")
+    public ResponseEntity<List<EventDto>> getUpcomingEvents(@PathVariable Long groupId,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+                                                            @RequestParam(required = false) Integer limit) throws BadRequestException {
+        return ResponseEntity.ok(eventCalendarService.getUpcoming(groupId, after, limit));
+    }
+
+    @GetMapping("/user/{UId}/calendar")
+    public ResponseEntity<List<EventDto>> getUserCalendar(@PathVariable String UId,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) throws BadRequestException {
+        return ResponseEntity.ok(eventCalendarService.getUserCalendar(UId, from, to));
+    }
+
+    @GetMapping("/user/{UId}/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getUserCalendarFeed(@PathVariable String UId, WebRequest request){
+        String eTag = eventFeedService.userFeedETag(UId);
+        if (request.checkNotModified(eTag)) return null;
+        return ResponseEntity.ok().eTag(eTag).contentType(TEXT_CALENDAR).body(eventFeedService.userFeed(UId));
+    }
+
+    @GetMapping("/user/{UId}/conflicts")
+    public ResponseEntity<List<ScheduleConflictDto>> getScheduleConflicts(@PathVariable String UId){
+        return ResponseEntity.ok(scheduleConflictService.getConflicts(UId));
+    }
+
     @GetMapping("/{eventName}/{groupId}")
-    public ResponseEntity<Set<EventDto>> getEventByNameAndGroupId(@PathVariable Long groupId, @PathVariable String eventName){
-        Set<EventDto> events = eventService.getEventsByNameAndGroupId(eventName, groupId);
+    public ResponseEntity<Set<EventDto>> getEventByNameAndGroupId(@PathVariable Long groupId, @PathVariable String eventName,
+                                                                  @RequestParam(defaultValue = "false") boolean prefix){
+        Set<EventDto> events = eventService.getEventsByNameAndGroupId(eventName, groupId, prefix);
         return ResponseEntity.ok(events);
     }
 
@@ -60,6 +183,16 @@ public class EventController {
         return ResponseEntity.ok(userEventDto);
     }
 
+    @PostMapping("/{groupId}/{eventId}/members/add")
+    public ResponseEntity<LinkResultDto> addMembers(@PathVariable Long groupId, @PathVariable Long eventId, @RequestBody EventMembersDto members) throws BadRequestException {
+        return ResponseEntity.ok(eventCreateService.addMembersToEvent(groupId, eventId, members));
+    }
+
+    @PostMapping("/{groupId}/{eventId}/members/remove")
+    public ResponseEntity<LinkResultDto> removeMembers(@PathVariable Long groupId, @PathVariable Long eventId, @RequestBody EventMembersDto members) throws BadRequestException {
+        return ResponseEntity.ok(eventCreateService.removeMembersFromEvent(groupId, eventId, members));
+    }
+
     @PutMapping("/update/{groupId}")
     public ResponseEntity<EventDto> updateEvent(@RequestBody UpdateEventDto updateEventDto, @PathVariable Long groupId) throws BadRequestException {
         EventDto eventDto = eventCreateService.updateWholeEvent(updateEventDto, groupId);
@@ -67,7 +200,7 @@ public class EventController {
     }
 
     @PatchMapping("/patch/{id}/{groupId}")
-    public ResponseEntity<EventDto> patchEvent(@RequestBody UpdateEventDto updateEventDto, @PathVariable Long id, @PathVariable Long groupId){
+    public ResponseEntity<EventDto> patchEvent(@RequestBody UpdateEventDto updateEventDto, @PathVariable Long id, @PathVariable Long groupId) throws BadRequestException {
         EventDto eventDto = eventService.patchEvent(updateEventDto, id, groupId);
         return ResponseEntity.ok(eventDto);
     }
@@ -3,11 +3,22 @@ package org.example.springprojektzespolowy.controllers;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
 import org.example.springprojektzespolowy.dto.expenses.*;
+import org.example.springprojektzespolowy.services.expenseServices.BudgetAlertBroadcaster;
+import org.example.springprojektzespolowy.services.expenseServices.BudgetAlertService;
+import org.example.springprojektzespolowy.services.expenseServices.ExpenseDocumentService;
+import org.example.springprojektzespolowy.services.expenseServices.ExpenseEventService;
+import org.example.springprojektzespolowy.services.expenseServices.ExpenseExportService;
+import org.example.springprojektzespolowy.services.expenseServices.ExpenseRollupService;
 import org.example.springprojektzespolowy.services.expenseServices.ExpenseService;
+import org.example.springprojektzespolowy.services.expenseServices.SettlementService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,10 +28,24 @@ import java.util.List;
 public class ExpensesController {
 
     private final ExpenseService expenseService;
+    private final SettlementService settlementService;
+    private final ExpenseRollupService expenseRollupService;
+    private final ExpenseExportService expenseExportService;
+    private final BudgetAlertService budgetAlertService;
+    private final BudgetAlertBroadcaster budgetAlertBroadcaster;
+    private final ExpenseEventService expenseEventService;
+    private final ExpenseDocumentService expenseDocumentService;
 
 
-    public ExpensesController(ExpenseService expenseService) {
+    public ExpensesController(ExpenseService expenseService, SettlementService settlementService, ExpenseRollupService expenseRollupService, ExpenseExportService expenseExportService, BudgetAlertService budgetAlertService, BudgetAlertBroadcaster budgetAlertBroadcaster, ExpenseEventService expenseEventService, ExpenseDocumentService expenseDocumentService) {
         this.expenseService = expenseService;
+        this.settlementService = settlementService;
+        this.expenseRollupService = expenseRollupService;
+        this.expenseExportService = expenseExportService;
+        this.budgetAlertService = budgetAlertService;
+        this.budgetAlertBroadcaster = budgetAlertBroadcaster;
+        this.expenseEventService = expenseEventService;
+        this.expenseDocumentService = expenseDocumentService;
     }
 
     @GetMapping("/{groupId}")
@@ -29,6 +54,76 @@ public class ExpensesController {
         return ResponseEntity.ok(expenses);
     }
 
+    @GetMapping("/{groupId}/search")
+    ResponseEntity<ExpenseSearchResultDto> searchExpenses(@PathVariable Long groupId, ExpenseSearchCriteria criteria) throws BadRequestException {
+        return ResponseEntity.ok(expenseService.searchExpenses(groupId, criteria));
+    }
+
+    @GetMapping("/{groupId}/export")
+    ResponseEntity<StreamingResponseBody> exportExpenses(@PathVariable Long groupId, @RequestParam(defaultValue = "csv") String format) throws BadRequestException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = expenseExportService.exportExpenses(groupId, exportFormat);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat.contentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"expenses-" + groupId + "." + exportFormat.extension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/{groupId}/summary")
+    ResponseEntity<ExpenseSummaryDto> getSummary(@PathVariable Long groupId){
+        return ResponseEntity.ok(expenseRollupService.getSummary(groupId));
+    }
+
+    @PostMapping("/{groupId}/summary/rebuild")
+    ResponseEntity<ExpenseSummaryDto> rebuildSummary(@PathVariable Long groupId){
+        return ResponseEntity.ok(expenseRollupService.rebuild(groupId));
+    }
+
+    @GetMapping("/{groupId}/alerts")
+    ResponseEntity<List<BudgetAlertDto>> getBudgetAlerts(@PathVariable Long groupId, @RequestParam(defaultValue = "50") int limit){
+        return ResponseEntity.ok(budgetAlertService.getAlerts(groupId, limit));
+    }
+
+    @GetMapping(value = "/{groupId}/alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamBudgetAlerts(@PathVariable Long groupId){
+        return budgetAlertBroadcaster.subscribe(groupId);
+    }
+
+    @GetMapping("/{groupId}/balances")
+    ResponseEntity<List<BalanceDto>> getBalances(@PathVariable Long groupId){
+        return ResponseEntity.ok(settlementService.getBalances(groupId));
+    }
+
+    @GetMapping("/{groupId}/settle-up")
+    ResponseEntity<List<SettlementTransferDto>> settleUp(@PathVariable Long groupId){
+        return ResponseEntity.ok(settlementService.settleUp(groupId));
+    }
+
+    @PostMapping("/{groupId}/balances/rebuild")
+    ResponseEntity<List<BalanceDto>> rebuildBalances(@PathVariable Long groupId){
+        return ResponseEntity.ok(settlementService.rebuildLedger(groupId));
+    }
+
+    @PostMapping("/{groupId}/events/link")
+    ResponseEntity<LinkResultDto> linkEvents(@PathVariable Long groupId, @RequestBody ExpenseEventLinksDto links) throws BadRequestException {
+        return ResponseEntity.ok(expenseEventService.linkEvents(groupId, links));
+    }
+
+    @PostMapping("/{groupId}/events/unlink")
+    ResponseEntity<LinkResultDto> unlinkEvents(@PathVariable Long groupId, @RequestBody ExpenseEventLinksDto links) throws BadRequestException {
+        return ResponseEntity.ok(expenseEventService.unlinkEvents(groupId, links));
+    }
+
+    @PostMapping("/{groupId}/documents/link")
+    ResponseEntity<LinkResultDto> linkDocuments(@PathVariable Long groupId, @RequestBody ExpenseDocumentLinksDto links) throws BadRequestException {
+        return ResponseEntity.ok(expenseDocumentService.linkDocuments(groupId, links));
+    }
+
+    @PostMapping("/{groupId}/documents/unlink")
+    ResponseEntity<LinkResultDto> unlinkDocuments(@PathVariable Long groupId, @RequestBody ExpenseDocumentLinksDto links) throws BadRequestException {
+        return ResponseEntity.ok(expenseDocumentService.unlinkDocuments(groupId, links));
+    }
+
     @GetMapping("/{groupId}/{expId}")
     ResponseEntity<ExpenseWithoutDocumentsAndEventsDto> getExp(@PathVariable Long groupId, @PathVariable Long expId){
         ExpenseWithoutDocumentsAndEventsDto expense = expenseService.getExpById(expId, groupId);
@@ -0,0 +1,35 @@
+package org.example.springprojektzespolowy.controllers;
+
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.expenses.FxRatesDto;
+import org.example.springprojektzespolowy.services.expenseServices.FxRateService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/fx")
+public class FxRateController {
+
+    private final FxRateService fxRateService;
+
+    public FxRateController(FxRateService fxRateService) {
+        this.fxRateService = fxRateService;
+    }
+
+    @GetMapping("/rates")
+    ResponseEntity<FxRatesDto> getRates() {
+        return ResponseEntity.ok(fxRateService.getRates());
+    }
+
+    @PostMapping(value = "/rates", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    ResponseEntity<FxRatesDto> uploadRates(@RequestParam("file") MultipartFile file) throws BadRequestException {
+        return ResponseEntity.ok(fxRateService.upload(file));
+    }
+
+    @PostMapping("/rates/reload")
+    ResponseEntity<FxRatesDto> reloadRates() throws BadRequestException {
+        return ResponseEntity.ok(fxRateService.reload());
+    }
+}
@@ -1,10 +1,14 @@
 package org.example.springprojektzespolowy.controllers;
 
+import org.apache.coyote.BadRequestException;
 import org.example.springprojektzespolowy.dto.groupDto.CreateGroupDto;
 import org.example.springprojektzespolowy.dto.groupDto.GroupDetailsDto;
 import org.example.springprojektzespolowy.dto.groupDto.GroupDto;
 import org.example.springprojektzespolowy.dto.groupDto.GroupWithUsersDto;
+import org.example.springprojektzespolowy.dto.search.SearchHitType;
+import org.example.springprojektzespolowy.dto.search.SearchResultDto;
 import org.example.springprojektzespolowy.services.DeleteEntityService;
+import org.example.springprojektzespolowy.services.GroupSearchService;
 import org.example.springprojektzespolowy.services.GroupService;
 import org.example.springprojektzespolowy.services.userServices.UserGroupServices;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +17,7 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/group")
@@ -21,11 +26,13 @@ public class GroupController {
     private final GroupService groupService;
     private final DeleteEntityService deleteEntityService;
     private final UserGroupServices userGroupServices;
+    private final GroupSearchService groupSearchService;
 
-    public GroupController(GroupService groupService, DeleteEntityService deleteEntityService, UserGroupServices userGroupServices) {
+    public GroupController(GroupService groupService, DeleteEntityService deleteEntityService, UserGroupServices userGroupServices, GroupSearchService groupSearchService) {
         this.groupService = groupService;
         this.deleteEntityService = deleteEntityService;
         this.userGroupServices = userGroupServices;
+        this.groupSearchService = groupSearchService;
     }
 
     @GetMapping("/all")
@@ -52,6 +59,15 @@ public class GroupController {
         return ResponseEntity.ok(groupById);
     }
 
+    @GetMapping("/{groupId}/search")
+    public ResponseEntity<SearchResultDto> search(@PathVariable Long groupId,
+                                                  @RequestParam String q,
+                                                  @RequestParam(required = false) Set<SearchHitType> types,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  @RequestParam(required = false) String cursor) throws BadRequestException {
+        return ResponseEntity.ok(groupSearchService.search(groupId, q, types, limit, cursor));
+    }
+
     @PostMapping("/create")
     public ResponseEntity<GroupDto> createGroup(@RequestBody CreateGroupDto createGroupDto){
         GroupDto groupDto = userGroupServices.createGroupAndAddUserAsAdmin(createGroupDto);
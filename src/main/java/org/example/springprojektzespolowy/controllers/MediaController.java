@@ -0,0 +1,51 @@
+package org.example.springprojektzespolowy.controllers;
+
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.photo.PhotoDto;
+import org.example.springprojektzespolowy.services.PhotoService;
+import org.example.springprojektzespolowy.utils.ImageUtils;
+import org.example.springprojektzespolowy.utils.MediaUrlSigner;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Controller
+@RequestMapping(MediaUrlSigner.PHOTO_PATH)
+public class MediaController {
+
+    private final PhotoService photoService;
+    private final MediaUrlSigner mediaUrlSigner;
+    private final ImageUtils imageUtils;
+
+    public MediaController(PhotoService photoService, MediaUrlSigner mediaUrlSigner, ImageUtils imageUtils) {
+        this.photoService = photoService;
+        this.mediaUrlSigner = mediaUrlSigner;
+        this.imageUtils = imageUtils;
+    }
+
+    @GetMapping("{photoId}")
+    public ResponseEntity<byte[]> getSignedPhoto(@PathVariable Long photoId, @RequestParam("g") Long groupId,
+                                                 @RequestParam("exp") long exp, @RequestParam("sig") String signature) throws BadRequestException {
+        if (!mediaUrlSigner.verify(photoId, groupId, exp, signature)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        PhotoDto photo = photoService.getSignedPhotoFile(photoId, groupId);
+        imageUtils.photoValidator(photo.photoFile(), photo.fileType());
+
+        long maxAge = Math.max(0, exp - Instant.now().getEpochSecond());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePrivate())
+                .contentType(MediaType.parseMediaType(photo.fileType()))
+                .body(photo.photoFile());
+    }
+}
@@ -5,6 +5,7 @@ import org.apache.coyote.BadRequestException;
 import org.apache.tomcat.util.http.fileupload.impl.FileSizeLimitExceededException;
 import org.example.springprojektzespolowy.dto.photo.CreatePhotoDto;
 import org.example.springprojektzespolowy.dto.photo.PhotoDto;
+import org.example.springprojektzespolowy.dto.photo.PhotoDtoWithMediaUrl;
 import org.example.springprojektzespolowy.dto.photo.PhotoDtoWithoutFile;
 import org.example.springprojektzespolowy.services.PhotoService;
 import org.example.springprojektzespolowy.utils.ImageUtils;
@@ -48,14 +49,15 @@ public class PhotoController {
     }
 
     @GetMapping("/{photoName}/{groupId}")
-    public ResponseEntity<PhotoDto> getPhotoByNameAndGroupId(@PathVariable String photoName, @PathVariable Long groupId){
-        PhotoDto photoByNameAndGroupId = photoService.getPhotoByNameAndGroupId(photoName, groupId);
+    public ResponseEntity<PhotoDto> getPhotoByNameAndGroupId(@PathVariable String photoName, @PathVariable Long groupId,
+                                                             @RequestParam(defaultValue = "false") boolean prefix){
+        PhotoDto photoByNameAndGroupId = photoService.getPhotoByNameAndGroupId(photoName, groupId, prefix);
         return ResponseEntity.ok(photoByNameAndGroupId);
     }
 
     @GetMapping("/in-group/{groupId}")
-    public ResponseEntity<List<PhotoDtoWithoutFile>> getPhotosInGroup(@PathVariable Long groupId){
-        List<PhotoDtoWithoutFile> photosInGroup = photoService.getPhotosInGroup(groupId);
+    public ResponseEntity<List<PhotoDtoWithMediaUrl>> getPhotosInGroup(@PathVariable Long groupId){
+        List<PhotoDtoWithMediaUrl> photosInGroup = photoService.getPhotosInGroup(groupId);
         return ResponseEntity.ok(photosInGroup);
     }
 
@@ -1,8 +1,10 @@
 package org.example.springprojektzespolowy.controllers;
 
 
+import org.example.springprojektzespolowy.dto.expenses.UserSpendingSummaryDto;
 import org.example.springprojektzespolowy.dto.userDto.*;
 import org.example.springprojektzespolowy.services.DeleteEntityService;
+import org.example.springprojektzespolowy.services.expenseServices.SettlementService;
 import org.example.springprojektzespolowy.services.userServices.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,10 +19,12 @@ public class UserController {
 
     private final UserService userService;
     private final DeleteEntityService deleteEntityService;
+    private final SettlementService settlementService;
 
-    public UserController(UserService userService, DeleteEntityService deleteEntityService) {
+    public UserController(UserService userService, DeleteEntityService deleteEntityService, SettlementService settlementService) {
         this.userService = userService;
         this.deleteEntityService = deleteEntityService;
+        this.settlementService = settlementService;
     }
 
     @GetMapping("/all/groups")
@@ -49,6 +53,11 @@ public class UserController {
         return ResponseEntity.ok(userWithAllDetails);
     }
 
+    @GetMapping("/{UId}/spending")
+    public ResponseEntity<UserSpendingSummaryDto> getUserSpending(@PathVariable String UId){
+        return ResponseEntity.ok(settlementService.getUserSpending(UId));
+    }
+
     @GetMapping("/{UId}/groups")
     public ResponseEntity<UserWithGroupsDto> getUserWithGroupsById(@PathVariable String UId){
         UserWithGroupsDto user = userService.getUserWithGroupsByUId(UId);
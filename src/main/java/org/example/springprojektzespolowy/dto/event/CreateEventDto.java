@@ -6,5 +6,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
-public record CreateEventDto(String eventName ,String category, String description,String localization ,LocalDateTime startEvent, LocalDateTime endEvent, String creator, List<String> participants)  {
+public record CreateEventDto(String eventName ,String category, String description,String localization ,LocalDateTime startEvent, LocalDateTime endEvent, String creator, List<String> participants,
+                             RecurrenceDto recurrence, Double latitude, Double longitude)  {
 }
@@ -0,0 +1,15 @@
+package org.example.springprojektzespolowy.dto.event;
+
+/**
+ * Wiersz agregatu kosztów wydarzenia. Bez {@code userId} - suma wydarzenia, z {@code userId} - część uczestnika.
+ */
+public interface EventBudgetRow {
+
+    Long getEventId();
+
+    Long getUserId();
+
+    Long getCents();
+
+    Long getExpenses();
+}
@@ -6,5 +6,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
-public record EventDto(Long id, String eventName, String category, String description,String localization, LocalDateTime startEvent, LocalDateTime endEvent, String creator, List<UserWithRoleDto> participants ) {
+public record EventDto(Long id, String eventName, String category, String description,String localization, LocalDateTime startEvent, LocalDateTime endEvent, String creator, List<UserWithRoleDto> participants,
+                       Double latitude, Double longitude) {
 }
@@ -0,0 +1,7 @@
+package org.example.springprojektzespolowy.dto.event;
+
+import java.time.LocalDateTime;
+
+public record EventFeedRow(Long id, String name, String category, String description, String localization,
+                           LocalDateTime startEvent, LocalDateTime endEvent, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,4 @@
+package org.example.springprojektzespolowy.dto.event;
+
+public record EventGeoRow(Long id, Double latitude, Double longitude) {
+}
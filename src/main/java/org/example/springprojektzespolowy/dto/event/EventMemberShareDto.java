@@ -0,0 +1,8 @@
+package org.example.springprojektzespolowy.dto.event;
+
+import org.example.springprojektzespolowy.dto.userDto.UserDtoUidNameEmail;
+
+import java.math.BigDecimal;
+
+public record EventMemberShareDto(UserDtoUidNameEmail user, BigDecimal share) {
+}
@@ -0,0 +1,11 @@
+package org.example.springprojektzespolowy.dto.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param occurrenceStart pierwotny początek wystąpienia, identyfikuje je przy zmianie lub odwołaniu
+ */
+public record EventOccurrenceDto(Long eventId, String eventName, String category, String description, String localization,
+                                 LocalDateTime occurrenceStart, LocalDateTime startEvent, LocalDateTime endEvent,
+                                 boolean recurring, boolean overridden) {
+}
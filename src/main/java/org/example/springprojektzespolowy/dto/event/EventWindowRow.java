@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.event;
+
+import java.time.LocalDateTime;
+
+public record EventWindowRow(Long id, LocalDateTime startEvent, LocalDateTime endEvent) {
+}
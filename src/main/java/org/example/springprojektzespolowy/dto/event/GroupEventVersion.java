@@ -0,0 +1,4 @@
+package org.example.springprojektzespolowy.dto.event;
+
+public record GroupEventVersion(Long groupId, long version) {
+}
@@ -0,0 +1,4 @@
+package org.example.springprojektzespolowy.dto.event;
+
+public record NearbyEventDto(EventDto event, double distanceKm) {
+}
@@ -0,0 +1,7 @@
+package org.example.springprojektzespolowy.dto.event;
+
+import java.time.LocalDateTime;
+
+public record OccurrenceOverrideDto(LocalDateTime occurrenceStart, boolean cancelled, LocalDateTime startEvent, LocalDateTime endEvent,
+                                    String eventName, String description, String localization) {
+}
@@ -0,0 +1,13 @@
+package org.example.springprojektzespolowy.dto.event;
+
+import org.example.springprojektzespolowy.models.RecurrenceFrequency;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param interval co ile jednostek (domyślnie 1)
+ * @param count    liczba wystąpień (najwyżej 10 000), null = bez limitu
+ * @param until    ostatni dopuszczalny początek wystąpienia, null = bez limitu
+ */
+public record RecurrenceDto(RecurrenceFrequency frequency, Integer interval, Integer count, LocalDateTime until) {
+}
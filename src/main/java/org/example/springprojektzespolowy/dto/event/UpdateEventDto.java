@@ -7,5 +7,5 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 public record UpdateEventDto(Long id, String eventName, String category, String description, String localization, LocalDateTime startEvent, LocalDateTime endEvent, String creator,
-                             List<String> participants) {
+                             List<String> participants, Double latitude, Double longitude) {
 }
@@ -0,0 +1,7 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record BudgetAlertDto(Long id, Long groupId, int thresholdPercent, BigDecimal spent, BigDecimal maxBudget, LocalDateTime createdAt) {
+}
@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import java.math.BigDecimal;
+
+public record CategoryTotalDto(String category, BigDecimal total, long expenseCount) {
+}
@@ -5,4 +5,4 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 public record CreateExpenseDto(String name , String description, String category , BigDecimal price, LocalDateTime dateOfExpense,
-                               List<String> participants ) {}
+                               List<String> participants, String currency ) {}
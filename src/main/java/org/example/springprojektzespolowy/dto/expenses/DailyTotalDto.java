@@ -0,0 +1,7 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyTotalDto(LocalDate day, BigDecimal total) {
+}
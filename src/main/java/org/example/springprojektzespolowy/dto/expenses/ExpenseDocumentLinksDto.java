@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import java.util.Set;
+
+public record ExpenseDocumentLinksDto(Set<Long> expenseIds, Set<Long> documentIds, String role) {
+}
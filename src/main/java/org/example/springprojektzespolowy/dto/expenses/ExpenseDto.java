@@ -14,5 +14,5 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
-public record ExpenseDto(Long id, String name ,String description,String category , BigDecimal price, LocalDateTime dateOfExpense, LocalDateTime dateOfAdding,String creator,List<UserWithRoleDto> participants, Set<DocumentDto> documents, Set<EventDto> events) {
+public record ExpenseDto(Long id, String name ,String description,String category , BigDecimal price, String currency, BigDecimal originalPrice, String originalCurrency, LocalDateTime dateOfExpense, LocalDateTime dateOfAdding,String creator,List<UserWithRoleDto> participants, Set<DocumentDto> documents, Set<EventDto> events) {
 }
@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import java.util.Set;
+
+public record ExpenseEventLinksDto(Set<Long> expenseIds, Set<Long> eventIds, String role) {
+}
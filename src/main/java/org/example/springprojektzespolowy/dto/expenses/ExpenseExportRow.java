@@ -0,0 +1,21 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Jeden wiersz eksportu: wydatek spłaszczony z jednym uczestnikiem.
+ */
+public record ExpenseExportRow(Long expenseId,
+                               String name,
+                               String description,
+                               String category,
+                               BigDecimal price,
+                               LocalDateTime dateOfExpense,
+                               LocalDateTime dateOfAdding,
+                               String creator,
+                               Long participantId,
+                               String participantUId,
+                               String participantName,
+                               String role) {
+}
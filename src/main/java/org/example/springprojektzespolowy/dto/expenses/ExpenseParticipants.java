@@ -7,5 +7,5 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
-public record ExpenseParticipants(Long id, String name , String description,String category , BigDecimal price, LocalDateTime dateOfExpense, LocalDateTime dateOfAdding, String creator,List<UserWithRoleDto> participants) {
+public record ExpenseParticipants(Long id, String name , String description,String category , BigDecimal price, String currency, BigDecimal originalPrice, String originalCurrency, LocalDateTime dateOfExpense, LocalDateTime dateOfAdding, String creator,List<UserWithRoleDto> participants) {
 }
@@ -0,0 +1,20 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filtry wyszukiwania wydatków przekazywane jako parametry zapytania. {@code cursor} pochodzi z poprzedniej strony.
+ */
+public record ExpenseSearchCriteria(String category,
+                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                    BigDecimal minPrice,
+                                    BigDecimal maxPrice,
+                                    String creator,
+                                    String participant,
+                                    String cursor,
+                                    Integer limit) {
+}
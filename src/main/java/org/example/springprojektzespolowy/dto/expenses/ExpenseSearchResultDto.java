@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import java.util.List;
+
+public record ExpenseSearchResultDto(List<ExpenseWithoutDocumentsAndEventsDto> items, String nextCursor) {
+}
@@ -0,0 +1,14 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ExpenseSummaryDto(Long groupId,
+                                String currency,
+                                BigDecimal total,
+                                long expenseCount,
+                                BigDecimal maxBudget,
+                                BigDecimal remainingBudget,
+                                List<CategoryTotalDto> categories,
+                                List<DailyTotalDto> daily) {
+}
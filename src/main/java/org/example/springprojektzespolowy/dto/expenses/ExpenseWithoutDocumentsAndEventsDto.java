@@ -7,6 +7,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
-public record ExpenseWithoutDocumentsAndEventsDto(Long id, String name , String description,String category , BigDecimal price, LocalDateTime dateOfExpense, LocalDateTime dateOfAdding, String creator,
+public record ExpenseWithoutDocumentsAndEventsDto(Long id, String name , String description,String category , BigDecimal price, String currency, BigDecimal originalPrice, String originalCurrency, LocalDateTime dateOfExpense, LocalDateTime dateOfAdding, String creator,
                                                   List<UserWithRoleDto> participants) {
 }
@@ -0,0 +1,31 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import org.apache.coyote.BadRequestException;
+
+public enum ExportFormat {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat from(String format) throws BadRequestException {
+        for (ExportFormat value : values()) {
+            if (value.extension.equalsIgnoreCase(format)) return value;
+        }
+        throw new BadRequestException("Unsupported export format: " + format);
+    }
+}
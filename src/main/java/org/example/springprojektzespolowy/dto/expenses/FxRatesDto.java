@@ -0,0 +1,8 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+public record FxRatesDto(String base, Map<String, BigDecimal> rates, Instant loadedAt, String source) {
+}
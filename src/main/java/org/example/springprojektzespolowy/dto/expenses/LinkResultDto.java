@@ -0,0 +1,8 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+/**
+ * @param requested liczba par (wydatek, cel) w żądaniu
+ * @param changed   liczba faktycznie dodanych lub usuniętych powiązań
+ */
+public record LinkResultDto(int requested, int changed) {
+}
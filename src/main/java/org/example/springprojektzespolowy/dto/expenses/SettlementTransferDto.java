@@ -0,0 +1,8 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import org.example.springprojektzespolowy.dto.userDto.UserDtoUidNameEmail;
+
+import java.math.BigDecimal;
+
+public record SettlementTransferDto(UserDtoUidNameEmail from, UserDtoUidNameEmail to, BigDecimal amount) {
+}
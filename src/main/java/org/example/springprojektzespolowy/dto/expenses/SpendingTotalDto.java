@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import java.math.BigDecimal;
+
+public record SpendingTotalDto(String currency, BigDecimal paid, BigDecimal share, BigDecimal balance) {
+}
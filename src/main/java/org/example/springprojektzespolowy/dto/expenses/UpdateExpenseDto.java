@@ -5,5 +5,5 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 public record UpdateExpenseDto(Long id,String name , String description, String category , BigDecimal price, LocalDateTime dateOfExpense,
-                               String creator,List<String> participants) {
+                               String creator,List<String> participants, String currency) {
 }
@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.expenses;
+
+import java.math.BigDecimal;
+
+public record UserGroupSpendingDto(Long groupId, String groupName, String currency, BigDecimal paid, BigDecimal share, BigDecimal balance) {
+}
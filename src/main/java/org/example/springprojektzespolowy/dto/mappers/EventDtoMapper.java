@@ -3,13 +3,15 @@ package org.example.springprojektzespolowy.dto.mappers;
 import org.example.springprojektzespolowy.dto.event.CreateEventDto;
 import org.example.springprojektzespolowy.dto.event.EventBudgetDto;
 import org.example.springprojektzespolowy.dto.event.EventDto;
-import org.example.springprojektzespolowy.dto.userEvent.UserEventDto;
+import org.example.springprojektzespolowy.dto.event.EventMemberShareDto;
 import org.example.springprojektzespolowy.dto.userEvent.UserWithRoleDto;
 import org.example.springprojektzespolowy.models.Event;
 import org.example.springprojektzespolowy.models.Group;
 import org.example.springprojektzespolowy.models.intermediateTable.ExpensesEvent;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -30,10 +32,12 @@ public class EventDtoMapper {
                 event.getCategory(),
                 event.getDescription(),
                 event.getLocalization(),
-                event.getEndEvent(),
                 event.getStartEvent(),
+                event.getEndEvent(),
                 event.getCreator(),
-                userDtoMapper.convertListEvent(event.getUsers())
+                userDtoMapper.convertListEvent(event.getUsers()),
+                event.getLatitude(),
+                event.getLongitude()
         );
     }
 
@@ -57,25 +61,22 @@ public class EventDtoMapper {
         );
     }
 
-    public EventBudgetDto conver(UserEventDto eventDto){
+    public EventBudgetDto convertBudget(Event event, long expenseCount, BigDecimal total, List<EventMemberShareDto> shares){
         return new EventBudgetDto(
-                eventDto.event().id(),
-                eventDto.event().eventName(),
-                eventDto.event().category(),
-                eventDto.event().localization(),
-                eventDto.event().description(),
-                eventDto.event().startEvent(),
-                eventDto.event().endEvent(),
-                eventDto.members()
+                event.getId(),
+                event.getName(),
+                event.getCategory(),
+                event.getDescription(),
+                event.getLocalization(),
+                event.getStartEvent(),
+                event.getEndEvent(),
+                new LinkedHashSet<>(userDtoMapper.convertListEvent(event.getUsers())),
+                expenseCount,
+                total,
+                shares
         );
     }
 
-    public Set<EventBudgetDto> convertSet(Set<UserEventDto> userEventDtos){
-        return userEventDtos.stream()
-                .map(this::conver)
-                .collect(Collectors.toSet());
-    }
-
     public EventDto convert(Event event, List<UserWithRoleDto> participants){
         return new EventDto(
                 event.getId(),
@@ -86,7 +87,9 @@ public class EventDtoMapper {
                 event.getStartEvent(),
                 event.getEndEvent(),
                 event.getCreator(),
-                participants
+                participants,
+                event.getLatitude(),
+                event.getLongitude()
         );
     }
 
@@ -102,7 +105,9 @@ public class EventDtoMapper {
                     expensesEvent.getEvent().getStartEvent(),
                     expensesEvent.getEvent().getEndEvent(),
                     expensesEvent.getEvent().getCreator(),
-                    userDtoMapper.convertListEvent(expensesEvent.getEvent().getUsers())
+                    userDtoMapper.convertListEvent(expensesEvent.getEvent().getUsers()),
+                    expensesEvent.getEvent().getLatitude(),
+                    expensesEvent.getEvent().getLongitude()
             );
         }).collect(Collectors.toSet());
     }
@@ -31,6 +31,9 @@ public class ExpensesDtoMaper {
                 expense.getDescription(),
                 expense.getCategory(),
                 expense.getPrice(),
+                expense.getCurrency(),
+                expense.getOriginalPrice(),
+                expense.getOriginalCurrency(),
                 expense.getDateOfExpense(),
                 expense.getDateOfAdding(),
                 expense.getCreator(),
@@ -45,6 +48,9 @@ public class ExpensesDtoMaper {
                 expense.getDescription(),
                 expense.getCategory(),
                 expense.getPrice(),
+                expense.getCurrency(),
+                expense.getOriginalPrice(),
+                expense.getOriginalCurrency(),
                 expense.getDateOfExpense(),
                 expense.getDateOfAdding(),
                 expense.getCreator(),
@@ -67,6 +73,9 @@ public class ExpensesDtoMaper {
                 expense.getDescription(),
                 expense.getCategory(),
                 expense.getPrice(),
+                expense.getCurrency(),
+                expense.getOriginalPrice(),
+                expense.getOriginalCurrency(),
                 expense.getDateOfExpense(),
                 expense.getDateOfAdding(),
                 expense.getCreator(),
@@ -5,6 +5,7 @@ import org.example.springprojektzespolowy.models.*;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 
 @Component
@@ -37,6 +38,15 @@ public class PhotoDtoMapper {
     }
 
 
+    public PhotoDtoWithMediaUrl convertWithMediaUrl(PhotoDtoWithoutFile photo, String mediaUrl, Instant expiresAt){
+        return new PhotoDtoWithMediaUrl(
+                photo.id(),
+                photo.photoName(),
+                mediaUrl,
+                expiresAt
+        );
+    }
+
     public List<PhotoDto> convert(List<Photo> photos){
         return photos.stream()
                 .map(this::convert)
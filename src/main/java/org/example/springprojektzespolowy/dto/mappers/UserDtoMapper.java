@@ -1,6 +1,7 @@
 package org.example.springprojektzespolowy.dto.mappers;
 
 
+import org.example.springprojektzespolowy.config.firebase.AuthenticatedUser;
 import org.example.springprojektzespolowy.dto.groupDto.GroupDetailsDto;
 import org.example.springprojektzespolowy.dto.userDto.*;
 import org.example.springprojektzespolowy.dto.userEvent.UserWithRoleDto;
@@ -84,6 +85,13 @@ public class UserDtoMapper {
         );
     }
 
+    public UserWithRoleDto convert(AuthenticatedUser user, String role){
+        return new UserWithRoleDto(
+                new UserDtoUidNameEmail(user.UId(), user.name(), user.email(), user.profilePhotoId()),
+                role
+        );
+    }
+
     public UserDtoUidNameEmail convertTo(User user){
         return new UserDtoUidNameEmail(
                 user.getUId(),
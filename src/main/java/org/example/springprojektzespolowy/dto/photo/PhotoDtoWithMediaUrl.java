@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.photo;
+
+import java.time.Instant;
+
+public record PhotoDtoWithMediaUrl(Long id, String photoName, String mediaUrl, Instant mediaUrlExpiresAt) {
+}
@@ -0,0 +1,8 @@
+package org.example.springprojektzespolowy.dto.reminder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record EventReminderNotification(Long reminderId, Long eventId, Long groupId, String eventName, LocalDateTime startEvent,
+                                        int leadMinutes, List<String> recipientUIds) {
+}
@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.reminder;
+
+import java.time.LocalDateTime;
+
+public record EventReminderRow(Long id, LocalDateTime fireAt) {
+}
@@ -0,0 +1,4 @@
+package org.example.springprojektzespolowy.dto.reminder;
+
+public record ReminderRecipientRow(Long eventId, String UId) {
+}
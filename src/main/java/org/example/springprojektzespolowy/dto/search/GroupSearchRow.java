@@ -0,0 +1,19 @@
+package org.example.springprojektzespolowy.dto.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * Wiersz wyniku wyszukiwania w grupie. {@code date} to początek wydarzenia albo data wydatku, dla dokumentów i zdjęć null.
+ */
+public interface GroupSearchRow {
+
+    String getType();
+
+    Long getId();
+
+    String getTitle();
+
+    LocalDateTime getDate();
+
+    Float getRank();
+}
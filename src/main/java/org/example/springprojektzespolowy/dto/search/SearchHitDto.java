@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.search;
+
+import java.time.LocalDateTime;
+
+public record SearchHitDto(SearchHitType type, Long id, String title, LocalDateTime date, float rank) {
+}
@@ -0,0 +1,8 @@
+package org.example.springprojektzespolowy.dto.search;
+
+public enum SearchHitType {
+    DOCUMENT,
+    EVENT,
+    EXPENSE,
+    PHOTO
+}
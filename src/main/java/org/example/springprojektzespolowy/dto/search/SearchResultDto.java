@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.search;
+
+import java.util.List;
+
+public record SearchResultDto(List<SearchHitDto> items, String nextCursor) {
+}
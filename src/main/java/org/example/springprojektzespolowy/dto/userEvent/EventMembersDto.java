@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.userEvent;
+
+import java.util.Set;
+
+public record EventMembersDto(Set<String> members) {
+}
@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.userEvent;
+
+import java.time.LocalDateTime;
+
+public record EventWindowDto(Long eventId, String eventName, Long groupId, String groupName, LocalDateTime startEvent, LocalDateTime endEvent) {
+}
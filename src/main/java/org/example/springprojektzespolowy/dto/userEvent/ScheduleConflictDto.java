@@ -0,0 +1,6 @@
+package org.example.springprojektzespolowy.dto.userEvent;
+
+import java.time.LocalDateTime;
+
+public record ScheduleConflictDto(EventWindowDto first, EventWindowDto second, LocalDateTime overlapStart, LocalDateTime overlapEnd) {
+}
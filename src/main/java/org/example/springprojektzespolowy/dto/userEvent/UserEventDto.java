@@ -1,6 +1,8 @@
 package org.example.springprojektzespolowy.dto.userEvent;
 import org.example.springprojektzespolowy.dto.event.EventDto;
+
+import java.util.List;
 import java.util.Set;
 
-public record UserEventDto(EventDto event, Set<UserWithRoleDto> members) {
+public record UserEventDto(EventDto event, Set<UserWithRoleDto> members, List<ScheduleConflictDto> conflicts) {
 }
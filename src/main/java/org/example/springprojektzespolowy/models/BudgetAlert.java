@@ -0,0 +1,43 @@
+package org.example.springprojektzespolowy.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "budget_alert", indexes = @Index(name = "idx_budget_alert_group", columnList = "group_id, id"))
+public class BudgetAlert {
+
+    public BudgetAlert(Group group, int thresholdPercent, BigDecimal spent, BigDecimal maxBudget, LocalDateTime createdAt) {
+        this.group = group;
+        this.thresholdPercent = thresholdPercent;
+        this.spent = spent;
+        this.maxBudget = maxBudget;
+        this.createdAt = createdAt;
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "group_id")
+    private Group group;
+
+    private int thresholdPercent;
+
+    private BigDecimal spent;
+
+    private BigDecimal maxBudget;
+
+    private LocalDateTime createdAt;
+}
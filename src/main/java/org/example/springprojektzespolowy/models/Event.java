@@ -18,6 +18,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_event_group_start", columnList = "group_id, start_event"))
 public class Event {
 
     public Event(String name, String category, String description, String localization,LocalDateTime startEvent, LocalDateTime endEvent, String creator, List<UserEvent> users, Group group) {
@@ -55,6 +56,13 @@ public class Event {
 
     private String localization;
 
+    /**
+     * Współrzędne miejsca wydarzenia (WGS84). Podane wprost albo wyszukane w gazeterze po {@link #localization}, mogą być puste.
+     */
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(name = "start_event")
     private LocalDateTime startEvent;
 
@@ -63,6 +71,29 @@ public class Event {
 
     private String creator;
 
+    /**
+     * Reguła powtarzania (null = pojedyncze wydarzenie). Pierwsze wystąpienie to {@link #startEvent}/{@link #endEvent},
+     * kolejne wyliczane są dopiero dla odpytywanego okna.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recurrence_frequency", length = 10)
+    private RecurrenceFrequency recurrenceFrequency;
+
+    @Column(name = "recurrence_interval")
+    private Integer recurrenceInterval;
+
+    @Column(name = "recurrence_count")
+    private Integer recurrenceCount;
+
+    @Column(name = "recurrence_until")
+    private LocalDateTime recurrenceUntil;
+
+    /**
+     * Koniec ostatniego wystąpienia serii, null dla serii bez końca. Pozwala odfiltrować serie spoza okna w zapytaniu.
+     */
+    @Column(name = "series_end")
+    private LocalDateTime seriesEnd;
+
     @OneToMany(mappedBy = "event")
     private List<UserEvent> users;
 
@@ -0,0 +1,51 @@
+package org.example.springprojektzespolowy.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Zmiana lub odwołanie jednego wystąpienia wydarzenia cyklicznego, identyfikowanego pierwotnym początkiem.
+ * Pola null oznaczają wartości z serii.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "event_occurrence_override",
+        uniqueConstraints = @UniqueConstraint(name = "uk_occurrence_event_start", columnNames = {"event_id", "occurrence_start"}))
+public class EventOccurrenceOverride {
+
+    public EventOccurrenceOverride(Event event, LocalDateTime occurrenceStart) {
+        this.event = event;
+        this.occurrenceStart = occurrenceStart;
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    private Event event;
+
+    @Column(name = "occurrence_start", nullable = false)
+    private LocalDateTime occurrenceStart;
+
+    private boolean cancelled;
+
+    @Column(name = "start_event")
+    private LocalDateTime startEvent;
+
+    @Column(name = "end_event")
+    private LocalDateTime endEvent;
+
+    private String name;
+
+    private String description;
+
+    private String localization;
+}
@@ -0,0 +1,40 @@
+package org.example.springprojektzespolowy.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Oczekujące przypomnienie o wydarzeniu. Wiersz usuwany jest po wysłaniu, więc tabela zawiera tylko przypomnienia,
+ * które po restarcie trzeba ponownie załadować do koła czasowego.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "event_reminder", indexes = @Index(name = "idx_event_reminder_event", columnList = "event_id"))
+public class EventReminder {
+
+    public EventReminder(Event event, LocalDateTime fireAt, int leadMinutes) {
+        this.event = event;
+        this.fireAt = fireAt;
+        this.leadMinutes = leadMinutes;
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    private Event event;
+
+    @Column(name = "fire_at", nullable = false)
+    private LocalDateTime fireAt;
+
+    @Column(name = "lead_minutes")
+    private int leadMinutes;
+}
@@ -17,6 +17,11 @@ import java.util.Set;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(name = "expense", indexes = {
+        @Index(name = "idx_expense_group_date", columnList = "group_id, date_of_expense, id"),
+        @Index(name = "idx_expense_group_category_date", columnList = "group_id, category, date_of_expense, id"),
+        @Index(name = "idx_expense_group_creator_date", columnList = "group_id, creator, date_of_expense, id")
+})
 public class Expense {
 
     public Expense(String name, String description, String category, BigDecimal price, LocalDateTime dateOfExpense, LocalDateTime dateOfAdding) {
@@ -72,6 +77,18 @@ public class Expense {
 
     private BigDecimal price;
 
+    @Column(length = 3)
+    private String currency;
+
+    @Column(name = "original_price", precision = 19, scale = 2)
+    private BigDecimal originalPrice;
+
+    @Column(name = "original_currency", length = 3)
+    private String originalCurrency;
+
+    @Column(name = "fx_rate", precision = 19, scale = 8)
+    private BigDecimal fxRate;
+
     private LocalDateTime dateOfExpense;
 
     private LocalDateTime dateOfAdding;
@@ -0,0 +1,38 @@
+package org.example.springprojektzespolowy.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Suma wydatków grupy w danej kategorii i dniu. Aktualizowana przy każdym zapisie wydatku,
+ * wydatki bez kategorii trafiają do {@link #NO_CATEGORY}.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "expense_rollup")
+public class ExpenseRollup {
+
+    public static final String NO_CATEGORY = "";
+
+    @EmbeddedId
+    private ExpenseRollupKey id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("groupId")
+    @JoinColumn(name = "group_id", referencedColumnName = "id")
+    private Group group;
+
+    @Column(precision = 19, scale = 2, nullable = false)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private long expenseCount;
+}
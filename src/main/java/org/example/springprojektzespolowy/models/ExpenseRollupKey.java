@@ -0,0 +1,39 @@
+package org.example.springprojektzespolowy.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ExpenseRollupKey implements Serializable {
+
+    private Long groupId;
+
+    private String category;
+
+    @Column(name = "expense_day")
+    private LocalDate day;
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ExpenseRollupKey that = (ExpenseRollupKey) o;
+        return Objects.equals(groupId, that.groupId) && Objects.equals(category, that.category) && Objects.equals(day, that.day);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupId, category, day);
+    }
+}
@@ -85,6 +85,15 @@ public class Group {
     @Column(name = "end_date")
     private LocalDateTime endDate;
 
+    /**
+     * Zwiększana przy każdej zmianie wydarzeń grupy (tylko zapytaniem w {@code GroupRepository}), służy za ETag feedu iCalendar.
+     */
+    @Column(name = "event_version", insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long eventVersion;
+
+    @Column(name = "events_updated_at", insertable = false, updatable = false)
+    private LocalDateTime eventsUpdatedAt;
+
     @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JoinColumn(name = "profile_id", referencedColumnName = "id"
     , unique = true)
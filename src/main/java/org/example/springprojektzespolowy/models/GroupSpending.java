@@ -0,0 +1,33 @@
+package org.example.springprojektzespolowy.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Bieżąca suma wydatków grupy, aktualizowana przy każdym zapisie wydatku. Pozwala sprawdzić progi budżetu
+ * bez sumowania tabeli expense.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "group_spending")
+public class GroupSpending {
+
+    @Id
+    private Long groupId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "group_id", referencedColumnName = "id")
+    private Group group;
+
+    @Column(precision = 19, scale = 2, nullable = false)
+    private BigDecimal spent;
+}
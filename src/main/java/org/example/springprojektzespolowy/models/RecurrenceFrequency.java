@@ -0,0 +1,7 @@
+package org.example.springprojektzespolowy.models;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY
+}
@@ -0,0 +1,43 @@
+package org.example.springprojektzespolowy.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "reminder_inbox", indexes = @Index(name = "idx_reminder_inbox_user", columnList = "user_uid, id"))
+public class ReminderInboxEntry {
+
+    public ReminderInboxEntry(String userUId, Long eventId, String eventName, LocalDateTime startEvent, LocalDateTime createdAt) {
+        this.userUId = userUId;
+        this.eventId = eventId;
+        this.eventName = eventName;
+        this.startEvent = startEvent;
+        this.createdAt = createdAt;
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_uid", nullable = false)
+    private String userUId;
+
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "event_name")
+    private String eventName;
+
+    @Column(name = "start_event")
+    private LocalDateTime startEvent;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -1,19 +1,26 @@
 package org.example.springprojektzespolowy.models.intermediateTable;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.example.springprojektzespolowy.models.Document;
 import org.example.springprojektzespolowy.models.Expense;
+import org.springframework.data.domain.Persistable;
 
 @Setter
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
-public class ExpensesDocument {
+public class ExpensesDocument implements Persistable<ExpensesDocumentKey> {
+
+    public ExpensesDocument(ExpensesDocumentKey expensesDocumentKey, Expense expense, Document document, String role) {
+        this.expensesDocumentKey = expensesDocumentKey;
+        this.expense = expense;
+        this.document = document;
+        this.role = role;
+    }
 
     @EmbeddedId
     private ExpensesDocumentKey expensesDocumentKey;
@@ -30,5 +37,24 @@ public class ExpensesDocument {
 
     private String role;
 
-
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public ExpensesDocumentKey getId() {
+        return expensesDocumentKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
@@ -2,20 +2,26 @@ package org.example.springprojektzespolowy.models.intermediateTable;
 
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.example.springprojektzespolowy.models.Event;
 import org.example.springprojektzespolowy.models.Expense;
-import org.example.springprojektzespolowy.models.User;
+import org.springframework.data.domain.Persistable;
 
 @Setter
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
-public class ExpensesEvent {
+public class ExpensesEvent implements Persistable<ExpensesEventKey> {
+
+    public ExpensesEvent(ExpensesEventKey expensesEventKey, Event event, Expense expense, String role) {
+        this.expensesEventKey = expensesEventKey;
+        this.event = event;
+        this.expense = expense;
+        this.role = role;
+    }
 
     @EmbeddedId
     private ExpensesEventKey expensesEventKey;
@@ -32,4 +38,24 @@ public class ExpensesEvent {
 
     private String role;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public ExpensesEventKey getId() {
+        return expensesEventKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
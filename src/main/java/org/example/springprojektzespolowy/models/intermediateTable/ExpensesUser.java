@@ -2,19 +2,26 @@ package org.example.springprojektzespolowy.models.intermediateTable;
 
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.example.springprojektzespolowy.models.Expense;
 import org.example.springprojektzespolowy.models.User;
+import org.springframework.data.domain.Persistable;
 
 @Setter
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
-public class ExpensesUser {
+public class ExpensesUser implements Persistable<ExpensesUserKey> {
+
+    public ExpensesUser(ExpensesUserKey expensesUserKey, User user, Expense expense, String role) {
+        this.expensesUserKey = expensesUserKey;
+        this.user = user;
+        this.expense = expense;
+        this.role = role;
+    }
 
 
     @EmbeddedId
@@ -33,5 +40,28 @@ public class ExpensesUser {
 
     private String role;
 
+    /**
+     * Klucz jest nadawany ręcznie, więc bez tej flagi saveAll robiłby merge (SELECT przed każdym INSERT)
+     * zamiast persist, co wyłączałoby batchowanie.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public ExpensesUserKey getId() {
+        return expensesUserKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
 
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
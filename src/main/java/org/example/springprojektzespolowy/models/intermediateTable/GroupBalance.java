@@ -0,0 +1,47 @@
+package org.example.springprojektzespolowy.models.intermediateTable;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.springprojektzespolowy.models.Group;
+import org.example.springprojektzespolowy.models.User;
+
+import java.math.BigDecimal;
+
+/**
+ * Saldo użytkownika w grupie: dodatnie - grupa jest mu winna, ujemne - on jest winny grupie.
+ * Aktualizowane transakcyjnie przy każdym zapisie wydatku, suma sald w grupie wynosi zawsze zero.
+ * Obok salda trzymane są sumy zapłacone przez użytkownika i jego części wydatków ({@code balance = paid - share}).
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "group_balance", indexes = @Index(name = "idx_group_balance_user", columnList = "user_id"))
+public class GroupBalance {
+
+    @EmbeddedId
+    private GroupBalanceKey id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("groupId")
+    @JoinColumn(name = "group_id", referencedColumnName = "id")
+    private Group group;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("userId")
+    @JoinColumn(name = "user_id", referencedColumnName = "id")
+    private User user;
+
+    @Column(precision = 19, scale = 2, nullable = false)
+    private BigDecimal balance;
+
+    @Column(precision = 19, scale = 2, nullable = false, columnDefinition = "numeric(19,2) not null default 0")
+    private BigDecimal paid;
+
+    @Column(precision = 19, scale = 2, nullable = false, columnDefinition = "numeric(19,2) not null default 0")
+    private BigDecimal share;
+}
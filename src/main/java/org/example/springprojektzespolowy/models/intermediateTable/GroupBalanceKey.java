@@ -0,0 +1,34 @@
+package org.example.springprojektzespolowy.models.intermediateTable;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class GroupBalanceKey implements Serializable {
+
+    private Long groupId;
+
+    private Long userId;
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        GroupBalanceKey that = (GroupBalanceKey) o;
+        return Objects.equals(groupId, that.groupId) && Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupId, userId);
+    }
+}
@@ -1,19 +1,26 @@
 package org.example.springprojektzespolowy.models.intermediateTable;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.example.springprojektzespolowy.models.Event;
 import org.example.springprojektzespolowy.models.User;
+import org.springframework.data.domain.Persistable;
 
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
-public class UserEvent {
+public class UserEvent implements Persistable<UserEventKey> {
+
+    public UserEvent(UserEventKey id, User user, Event event, String role) {
+        this.id = id;
+        this.user = user;
+        this.event = event;
+        this.role = role;
+    }
 
     @EmbeddedId
     private UserEventKey id;
@@ -30,4 +37,23 @@ public class UserEvent {
 
 
     String role;
+
+    /**
+     * Jak w {@link ExpensesUser}: klucz nadawany ręcznie, więc saveAll musi wiedzieć, że to nowy wiersz.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
@@ -1,10 +1,13 @@
 package org.example.springprojektzespolowy.repositories;
 
 import org.example.springprojektzespolowy.models.Document;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 @Repository
@@ -14,9 +17,18 @@ public interface DocumentsRepository extends JpaRepository<Document, Long> {
     @Query("SELECT d FROM Document d WHERE d.group.id =:groupId AND d.name =:name")
     Document getDocumentFromGroupByIdAndByDocName(@Param("groupId") Long groupId, @Param("name") String name);
 
+    /**
+     * Dokumenty, których nazwa zaczyna się od prefiksu, najkrótsza nazwa pierwsza (dokładne dopasowanie wygrywa).
+     */
+    @Query("SELECT d FROM Document d WHERE d.group.id =:groupId AND d.name ILIKE :pattern ESCAPE '\\' ORDER BY LENGTH(d.name), d.name, d.id")
+    List<Document> findByGroupIdAndNamePrefix(@Param("groupId") Long groupId, @Param("pattern") String pattern, Pageable pageable);
+
     Set<Document> findAllByGroup_Id(Long groupId);
 
     Set<Document> deleteTicketsByGroup_Id(Long groupId);
 
     Document findByIdAndGroup_Id(Long id, Long groupId);
+
+    @Query("SELECT d.id FROM Document d WHERE d.group.id=:groupId AND d.id IN :ids")
+    List<Long> findIdsInGroup(@Param("groupId") Long groupId, @Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,35 @@
+package org.example.springprojektzespolowy.repositories;
+
+import jakarta.transaction.Transactional;
+import org.example.springprojektzespolowy.models.EventOccurrenceOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EventOccurrenceOverrideRepository extends JpaRepository<EventOccurrenceOverride, Long> {
+
+    Optional<EventOccurrenceOverride> findByEvent_IdAndOccurrenceStart(Long eventId, LocalDateTime occurrenceStart);
+
+    /**
+     * Zmiany wystąpień, które mogą trafić do okna [from, to): pierwotnie zaczynające się w [originFrom, to)
+     * (originFrom = from - najdłuższy czas trwania) albo przeniesione tak, że nakładają się na okno.
+     */
+    @Query("SELECT o FROM EventOccurrenceOverride o WHERE o.event.id IN :eventIds AND (" +
+            "(o.occurrenceStart >= :originFrom AND o.occurrenceStart < :to) " +
+            "OR (COALESCE(o.startEvent, o.occurrenceStart) < :to AND (o.endEvent > :from OR COALESCE(o.startEvent, o.occurrenceStart) >= :from)))")
+    List<EventOccurrenceOverride> findInWindow(@Param("eventIds") Collection<Long> eventIds, @Param("originFrom") LocalDateTime originFrom,
+                                               @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EventOccurrenceOverride o WHERE o.event.id=:eventId")
+    void deleteByEventId(@Param("eventId") Long eventId);
+}
@@ -1,15 +1,28 @@
 package org.example.springprojektzespolowy.repositories;
 
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 import org.checkerframework.checker.units.qual.A;
+import org.example.springprojektzespolowy.dto.event.EventFeedRow;
+import org.example.springprojektzespolowy.dto.event.EventGeoRow;
+import org.example.springprojektzespolowy.dto.event.EventWindowRow;
+import org.example.springprojektzespolowy.dto.userEvent.EventWindowDto;
 import org.example.springprojektzespolowy.models.Event;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -20,6 +33,12 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("SELECT e FROM Event e LEFT JOIN FETCH e.users eu LEFT JOIN FETCH e.group eg WHERE e.name=:eventName AND e.group.id=:groupId")
     Set<Event> getEventsByNameAndGroupId(@Param("eventName") String eventName, @Param("groupId") Long groupId);
 
+    /**
+     * Nazwa po prefiksie bez względu na wielkość liter, {@code pattern} z {@code SearchPatterns.prefix}. Indeks trigramowy z db/search.sql.
+     */
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.users eu LEFT JOIN FETCH e.group eg WHERE e.name ILIKE :pattern ESCAPE '\\' AND e.group.id=:groupId")
+    Set<Event> getEventsByNamePrefixAndGroupId(@Param("pattern") String pattern, @Param("groupId") Long groupId);
+
     @Query("SELECT e FROM Event e WHERE e.name=:eventName AND e.group.name=:groupName")
     Set<Event> getEventsAllByName(@Param("eventName") String eventName, @Param("groupName") String groupName);
 
@@ -34,4 +53,70 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     boolean existsEventByName(String name);
 
     Set<Event> findByGroup_Id(Long groupId);
+
+    @Query("SELECT e.id FROM Event e WHERE e.group.id=:groupId AND e.id IN :ids")
+    List<Long> findIdsInGroup(@Param("groupId") Long groupId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new org.example.springprojektzespolowy.dto.event.EventWindowRow(e.id, e.startEvent, e.endEvent) " +
+            "FROM Event e WHERE e.group.id=:groupId AND e.startEvent IS NOT NULL")
+    List<EventWindowRow> findWindowsByGroupId(@Param("groupId") Long groupId);
+
+    @Query("SELECT new org.example.springprojektzespolowy.dto.event.EventGeoRow(e.id, e.latitude, e.longitude) " +
+            "FROM Event e WHERE e.group.id=:groupId AND e.latitude IS NOT NULL AND e.longitude IS NOT NULL")
+    List<EventGeoRow> findGeoRowsByGroupId(@Param("groupId") Long groupId);
+
+    @Query("SELECT new org.example.springprojektzespolowy.dto.userEvent.EventWindowDto(e.id, e.name, g.id, g.name, e.startEvent, e.endEvent) " +
+            "FROM Event e JOIN e.group g WHERE e.id=:eventId")
+    Optional<EventWindowDto> findWindowById(@Param("eventId") Long eventId);
+
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.users eu LEFT JOIN FETCH eu.user WHERE e.id IN :ids")
+    List<Event> findWithMembersByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.users eu LEFT JOIN FETCH eu.user WHERE e.group.id=:groupId")
+    List<Event> findWithMembersByGroupId(@Param("groupId") Long groupId);
+
+    /**
+     * Wydarzenia nakładające się na [from, to). Zakres po start_event korzysta z indeksu (group_id, start_event).
+     */
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.users eu LEFT JOIN FETCH eu.user " +
+            "WHERE e.group.id=:groupId AND e.startEvent < :to AND (e.endEvent > :from OR e.startEvent >= :from)")
+    List<Event> findOverlapping(@Param("groupId") Long groupId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT e.id FROM Event e WHERE e.group.id=:groupId AND e.startEvent >= :after ORDER BY e.startEvent, e.id")
+    List<Long> findUpcomingIds(@Param("groupId") Long groupId, @Param("after") LocalDateTime after, Pageable pageable);
+
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.users eu LEFT JOIN FETCH eu.user " +
+            "WHERE e.id IN (SELECT ue.event.id FROM UserEvent ue WHERE ue.user.UId=:UId) " +
+            "AND e.startEvent < :to AND (e.endEvent > :from OR e.startEvent >= :from)")
+    List<Event> findOverlappingForUser(@Param("UId") String UId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Pojedyncze wydarzenia nakładające się na [from, to) i serie, które mogą mieć w nim wystąpienia.
+     */
+    @Query("SELECT e FROM Event e WHERE e.group.id=:groupId AND e.startEvent < :to AND (" +
+            "(e.recurrenceFrequency IS NULL AND (e.endEvent > :from OR e.startEvent >= :from)) " +
+            "OR (e.recurrenceFrequency IS NOT NULL AND (e.seriesEnd IS NULL OR e.seriesEnd >= :from)))")
+    List<Event> findOccurrenceCandidates(@Param("groupId") Long groupId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.example.springprojektzespolowy.dto.event.EventFeedRow(e.id, e.name, e.category, e.description, " +
+            "e.localization, e.startEvent, e.endEvent, g.eventsUpdatedAt) " +
+            "FROM Event e JOIN e.group g WHERE g.id=:groupId AND e.startEvent IS NOT NULL ORDER BY e.startEvent, e.id")
+    Stream<EventFeedRow> streamFeedRowsByGroupId(@Param("groupId") Long groupId);
+
+    /**
+     * Wydarzenia użytkownika tylko z grup, do których nadal należy, bo ETag feedu liczony jest z wersji tych grup.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.example.springprojektzespolowy.dto.event.EventFeedRow(e.id, e.name, e.category, e.description, " +
+            "e.localization, e.startEvent, e.endEvent, g.eventsUpdatedAt) " +
+            "FROM UserEvent ue JOIN ue.event e JOIN e.group g WHERE ue.user.UId=:UId AND e.startEvent IS NOT NULL " +
+            "AND EXISTS (SELECT ug FROM UserGroup ug WHERE ug.user = ue.user AND ug.group = g) ORDER BY e.startEvent, e.id")
+    Stream<EventFeedRow> streamFeedRowsByUId(@Param("UId") String UId);
 }
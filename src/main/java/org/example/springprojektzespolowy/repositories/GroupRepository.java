@@ -1,11 +1,20 @@
 package org.example.springprojektzespolowy.repositories;
 
+import jakarta.transaction.Transactional;
+import org.example.springprojektzespolowy.dto.event.GroupEventVersion;
+import org.example.springprojektzespolowy.dto.search.GroupSearchRow;
 import org.example.springprojektzespolowy.models.Group;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 
 @Repository
 public interface GroupRepository extends JpaRepository<Group, Long> {
@@ -16,6 +25,49 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
     @Query("SELECT g FROM Group g LEFT JOIN FETCH g.events LEFT JOIN FETCH g.documents WHERE g.id=:id")
     Group findGroupDetailsById(@Param("id") Long id);
 
+    @Query("SELECT g.id FROM Group g")
+    List<Long> findAllIds();
+
+    @Query("SELECT g.eventVersion FROM Group g WHERE g.id=:groupId")
+    Optional<Long> findEventVersionById(@Param("groupId") Long groupId);
+
+    @Query("SELECT new org.example.springprojektzespolowy.dto.event.GroupEventVersion(g.id, g.eventVersion) " +
+            "FROM UserGroup ug JOIN ug.group g WHERE ug.user.UId=:UId ORDER BY g.id")
+    List<GroupEventVersion> findEventVersionsByUId(@Param("UId") String UId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE groups SET event_version = event_version + 1, events_updated_at = :now WHERE id = :groupId", nativeQuery = true)
+    void bumpEventVersion(@Param("groupId") Long groupId, @Param("now") LocalDateTime now);
+
+    /**
+     * Wyszukiwanie pełnotekstowe w wydarzeniach, wydatkach, dokumentach i zdjęciach grupy po kolumnach
+     * {@code search_vector} (indeksy GIN, db/search.sql). Kolejność (rank DESC, type, id), stronicowanie keyset
+     * od pozycji {@code after*}; bez kursora {@code afterRank} to największa wartość real.
+     */
+    @Query(value = "SELECT h.type AS \"type\", h.id AS \"id\", h.title AS \"title\", h.date AS \"date\", h.rank AS \"rank\" FROM (" +
+            "SELECT 'EVENT' AS type, e.id, e.name AS title, e.start_event AS date, " +
+            "ts_rank(e.search_vector, to_tsquery('simple', :query), 1) AS rank " +
+            "FROM event e WHERE e.group_id = :groupId AND e.search_vector @@ to_tsquery('simple', :query) " +
+            "UNION ALL " +
+            "SELECT 'EXPENSE', x.id, x.name, COALESCE(x.date_of_expense, x.date_of_adding), " +
+            "ts_rank(x.search_vector, to_tsquery('simple', :query), 1) " +
+            "FROM expense x WHERE x.group_id = :groupId AND x.search_vector @@ to_tsquery('simple', :query) " +
+            "UNION ALL " +
+            "SELECT 'DOCUMENT', d.id, d.name, CAST(NULL AS timestamp), " +
+            "ts_rank(d.search_vector, to_tsquery('simple', :query), 1) " +
+            "FROM document d WHERE d.group_id = :groupId AND d.search_vector @@ to_tsquery('simple', :query) " +
+            "UNION ALL " +
+            "SELECT 'PHOTO', p.id, p.name, CAST(NULL AS timestamp), " +
+            "ts_rank(p.search_vector, to_tsquery('simple', :query), 1) " +
+            "FROM photo p WHERE p.group_id = :groupId AND p.search_vector @@ to_tsquery('simple', :query)) h " +
+            "WHERE h.type IN (:types) AND (h.rank < CAST(:afterRank AS real) OR (h.rank = CAST(:afterRank AS real) " +
+            "AND (h.type > :afterType OR (h.type = :afterType AND h.id > :afterId)))) " +
+            "ORDER BY h.rank DESC, h.type, h.id LIMIT :limit", nativeQuery = true)
+    List<GroupSearchRow> search(@Param("groupId") Long groupId, @Param("query") String query, @Param("types") Collection<String> types,
+                                @Param("afterRank") float afterRank, @Param("afterType") String afterType, @Param("afterId") long afterId,
+                                @Param("limit") int limit);
+
 }
 
 
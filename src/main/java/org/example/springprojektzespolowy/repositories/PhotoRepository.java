@@ -1,7 +1,12 @@
 package org.example.springprojektzespolowy.repositories;
 
+import org.example.springprojektzespolowy.dto.photo.PhotoDto;
+import org.example.springprojektzespolowy.dto.photo.PhotoDtoWithoutFile;
 import org.example.springprojektzespolowy.models.Photo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,9 +15,23 @@ import java.util.List;
 public interface PhotoRepository extends JpaRepository<Photo,Long> {
     Photo findPhotoByNameAndGroup_Id(String name, Long groupId);
 
+    /**
+     * Zdjęcia, których nazwa zaczyna się od prefiksu, najkrótsza nazwa pierwsza (dokładne dopasowanie wygrywa).
+     */
+    @Query("SELECT p FROM Photo p WHERE p.group.id=:groupId AND p.name ILIKE :pattern ESCAPE '\\' ORDER BY LENGTH(p.name), p.name, p.id")
+    List<Photo> findByGroupIdAndNamePrefix(@Param("groupId") Long groupId, @Param("pattern") String pattern, Pageable pageable);
+
     void deletePhotosByGroup_Id(Long groupId);
 
     List<Photo> findPhotoByGroup_Id(Long groupId);
 
     List<Photo> getPhotoByGroup_Id(Long groupId);
+
+    @Query("SELECT new org.example.springprojektzespolowy.dto.photo.PhotoDtoWithoutFile(p.id, p.name) FROM Photo p " +
+            "WHERE p.group.id=:groupId ORDER BY p.id")
+    List<PhotoDtoWithoutFile> findPhotoSummariesByGroupId(@Param("groupId") Long groupId);
+
+    @Query("SELECT new org.example.springprojektzespolowy.dto.photo.PhotoDto(p.id, p.name, p.fileType, p.photoFile) FROM Photo p " +
+            "WHERE p.id=:photoId AND p.group.id=:groupId")
+    PhotoDto findPhotoFileByIdAndGroupId(@Param("photoId") Long photoId, @Param("groupId") Long groupId);
 }
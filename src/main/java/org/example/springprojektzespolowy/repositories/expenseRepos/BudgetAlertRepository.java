@@ -0,0 +1,24 @@
+package org.example.springprojektzespolowy.repositories.expenseRepos;
+
+import org.example.springprojektzespolowy.dto.expenses.BudgetAlertDto;
+import org.example.springprojektzespolowy.models.BudgetAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    @Query("SELECT new org.example.springprojektzespolowy.dto.expenses.BudgetAlertDto(a.id, a.group.id, a.thresholdPercent, a.spent, a.maxBudget, a.createdAt) " +
+            "FROM BudgetAlert a WHERE a.group.id=:groupId ORDER BY a.id DESC")
+    List<BudgetAlertDto> findRecentByGroupId(@Param("groupId") Long groupId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM BudgetAlert a WHERE a.group.id=:groupId")
+    void deleteByGroupId(@Param("groupId") Long groupId);
+}
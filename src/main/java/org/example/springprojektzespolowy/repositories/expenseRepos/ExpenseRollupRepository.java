@@ -0,0 +1,44 @@
+package org.example.springprojektzespolowy.repositories.expenseRepos;
+
+import org.example.springprojektzespolowy.models.ExpenseRollup;
+import org.example.springprojektzespolowy.models.ExpenseRollupKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ExpenseRollupRepository extends JpaRepository<ExpenseRollup, ExpenseRollupKey> {
+
+    @Query("SELECT r FROM ExpenseRollup r JOIN FETCH r.group WHERE r.id.groupId=:groupId ORDER BY r.id.day")
+    List<ExpenseRollup> findRollupsByGroupId(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query(value = "INSERT INTO expense_rollup (group_id, category, expense_day, total, expense_count) " +
+            "VALUES (:groupId, :category, :day, :total, :count) " +
+            "ON CONFLICT (group_id, category, expense_day) DO UPDATE SET total = expense_rollup.total + EXCLUDED.total, " +
+            "expense_count = expense_rollup.expense_count + EXCLUDED.expense_count", nativeQuery = true)
+    void addToRollup(@Param("groupId") Long groupId, @Param("category") String category, @Param("day") LocalDate day,
+                     @Param("total") BigDecimal total, @Param("count") long count);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseRollup r WHERE r.id.groupId=:groupId AND r.expenseCount<=0")
+    void deleteEmptyRollups(@Param("groupId") Long groupId);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM ExpenseRollup r WHERE r.id.groupId=:groupId")
+    void deleteByGroupId(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query(value = "INSERT INTO expense_rollup (group_id, category, expense_day, total, expense_count) " +
+            "SELECT e.group_id, COALESCE(e.category, ''), CAST(COALESCE(e.date_of_expense, e.date_of_adding) AS date), SUM(e.price), COUNT(*) " +
+            "FROM expense e WHERE e.group_id=:groupId AND e.price IS NOT NULL " +
+            "AND COALESCE(e.date_of_expense, e.date_of_adding) IS NOT NULL " +
+            "GROUP BY e.group_id, COALESCE(e.category, ''), CAST(COALESCE(e.date_of_expense, e.date_of_adding) AS date)", nativeQuery = true)
+    void insertRollupsFromExpenses(@Param("groupId") Long groupId);
+}
@@ -0,0 +1,76 @@
+package org.example.springprojektzespolowy.repositories.expenseRepos;
+
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.example.springprojektzespolowy.models.Expense;
+import org.example.springprojektzespolowy.models.intermediateTable.ExpensesUser;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Warunki wyszukiwania wydatków. Każdy filtr zaczyna się od group_id, żeby zapytanie trafiało
+ * w indeksy (group_id, ..., date_of_expense, id) z encji {@link Expense}.
+ */
+public final class ExpenseSpecifications {
+
+    private ExpenseSpecifications() {
+    }
+
+    public static Specification<Expense> inGroup(Long groupId) {
+        return (root, query, cb) -> cb.equal(root.get("group").get("id"), groupId);
+    }
+
+    public static Specification<Expense> hasCategory(String category) {
+        return category == null ? null : (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Expense> dateFrom(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dateOfExpense"), from);
+    }
+
+    public static Specification<Expense> dateTo(LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("dateOfExpense"), to);
+    }
+
+    public static Specification<Expense> priceAtLeast(BigDecimal minPrice) {
+        return minPrice == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Expense> priceAtMost(BigDecimal maxPrice) {
+        return maxPrice == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Expense> createdBy(String creatorUId) {
+        return creatorUId == null ? null : (root, query, cb) -> cb.equal(root.get("creator"), creatorUId);
+    }
+
+    public static Specification<Expense> hasParticipant(String participantUId) {
+        if (participantUId == null) return null;
+        return (root, query, cb) -> {
+            Subquery<Long> participant = query.subquery(Long.class);
+            Root<ExpensesUser> expensesUser = participant.from(ExpensesUser.class);
+            participant.select(expensesUser.get("expense").get("id"))
+                    .where(cb.equal(expensesUser.get("expense").get("id"), root.get("id")),
+                            cb.equal(expensesUser.get("user").get("UId"), participantUId));
+            return cb.exists(participant);
+        };
+    }
+
+    /**
+     * Warunek keyset dla sortowania (date_of_expense DESC, id DESC). W Postgresie przy DESC wartości null
+     * są pierwsze, więc po kursorze z pustą datą następują pozostałe puste daty z mniejszym id i wszystkie daty niepuste.
+     */
+    public static Specification<Expense> after(LocalDateTime cursorDate, Long cursorId) {
+        if (cursorId == null) return null;
+        return (root, query, cb) -> {
+            var date = root.<LocalDateTime>get("dateOfExpense");
+            var id = root.<Long>get("id");
+            if (cursorDate == null) {
+                return cb.or(cb.isNotNull(date), cb.and(cb.isNull(date), cb.lessThan(id, cursorId)));
+            }
+            return cb.or(cb.lessThan(date, cursorDate), cb.and(cb.equal(date, cursorDate), cb.lessThan(id, cursorId)));
+        };
+    }
+}
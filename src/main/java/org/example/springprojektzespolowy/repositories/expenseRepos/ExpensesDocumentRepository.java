@@ -3,8 +3,33 @@ package org.example.springprojektzespolowy.repositories.expenseRepos;
 import org.example.springprojektzespolowy.models.intermediateTable.ExpensesDocument;
 import org.example.springprojektzespolowy.models.intermediateTable.ExpensesDocumentKey;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ExpensesDocumentRepository extends JpaRepository<ExpensesDocument, ExpensesDocumentKey> {
+
+    @Query("SELECT ed.expensesDocumentKey FROM ExpensesDocument ed WHERE ed.expense.id IN :expenseIds AND ed.document.id IN :documentIds")
+    List<ExpensesDocumentKey> findExistingLinks(@Param("expenseIds") Collection<Long> expenseIds, @Param("documentIds") Collection<Long> documentIds);
+
+    @Modifying
+    @Query("DELETE FROM ExpensesDocument ed WHERE ed.expense.id IN :expenseIds AND ed.document.id IN :documentIds")
+    int deleteLinks(@Param("expenseIds") Collection<Long> expenseIds, @Param("documentIds") Collection<Long> documentIds);
+
+    @Modifying
+    @Query("DELETE FROM ExpensesDocument ed WHERE ed.expense.id=:expenseId")
+    void deleteByExpenseId(@Param("expenseId") Long expenseId);
+
+    @Modifying
+    @Query("DELETE FROM ExpensesDocument ed WHERE ed.document.id=:documentId")
+    void deleteByDocumentId(@Param("documentId") Long documentId);
+
+    @Modifying
+    @Query("DELETE FROM ExpensesDocument ed WHERE ed.document.group.id=:groupId")
+    void deleteByDocumentGroupId(@Param("groupId") Long groupId);
 }
@@ -1,10 +1,50 @@
 package org.example.springprojektzespolowy.repositories.expenseRepos;
 
+import org.example.springprojektzespolowy.dto.event.EventBudgetRow;
 import org.example.springprojektzespolowy.models.intermediateTable.ExpensesEvent;
 import org.example.springprojektzespolowy.models.intermediateTable.ExpensesEventKey;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ExpensesEventRepository extends JpaRepository<ExpensesEvent, ExpensesEventKey> {
+
+    @Query("SELECT ee.expensesEventKey FROM ExpensesEvent ee WHERE ee.expense.id IN :expenseIds AND ee.event.id IN :eventIds")
+    List<ExpensesEventKey> findExistingLinks(@Param("expenseIds") Collection<Long> expenseIds, @Param("eventIds") Collection<Long> eventIds);
+
+    @Modifying
+    @Query("DELETE FROM ExpensesEvent ee WHERE ee.expense.id IN :expenseIds AND ee.event.id IN :eventIds")
+    int deleteLinks(@Param("expenseIds") Collection<Long> expenseIds, @Param("eventIds") Collection<Long> eventIds);
+
+    /**
+     * Koszty wszystkich wydarzeń grupy jednym zapytaniem: sumy wydarzeń i części uczestników w groszach.
+     * Podział jak w SettlementService - po równo, reszta groszy dla kolejnych uczestników w porządku id.
+     */
+    @Query(value = "WITH linked AS (" +
+            "SELECT ee.event_id, e.id AS expense_id, CAST(ROUND(e.price * 100) AS bigint) AS cents " +
+            "FROM expenses_event ee JOIN expense e ON e.id = ee.expense_id WHERE e.group_id = :groupId AND e.price IS NOT NULL), " +
+            "parts AS (" +
+            "SELECT eu.expense_id, eu.user_id, ROW_NUMBER() OVER (PARTITION BY eu.expense_id ORDER BY eu.user_id) - 1 AS idx, " +
+            "COUNT(*) OVER (PARTITION BY eu.expense_id) AS n " +
+            "FROM expenses_user eu WHERE eu.expense_id IN (SELECT expense_id FROM linked)) " +
+            "SELECT l.event_id AS \"eventId\", CAST(NULL AS bigint) AS \"userId\", CAST(SUM(l.cents) AS bigint) AS \"cents\", COUNT(*) AS \"expenses\" " +
+            "FROM linked l GROUP BY l.event_id " +
+            "UNION ALL " +
+            "SELECT l.event_id, p.user_id, CAST(SUM(l.cents / p.n + CASE WHEN p.idx < l.cents % p.n THEN 1 ELSE 0 END) AS bigint), COUNT(*) " +
+            "FROM linked l JOIN parts p ON p.expense_id = l.expense_id GROUP BY l.event_id, p.user_id", nativeQuery = true)
+    List<EventBudgetRow> aggregateEventBudgets(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query("DELETE FROM ExpensesEvent ee WHERE ee.expense.id=:expenseId")
+    void deleteByExpenseId(@Param("expenseId") Long expenseId);
+
+    @Modifying
+    @Query("DELETE FROM ExpensesEvent ee WHERE ee.event.id=:eventId")
+    void deleteByEventId(@Param("eventId") Long eventId);
 }
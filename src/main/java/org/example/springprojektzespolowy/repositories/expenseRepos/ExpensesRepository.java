@@ -1,17 +1,46 @@
 package org.example.springprojektzespolowy.repositories.expenseRepos;
 
+import jakarta.persistence.QueryHint;
+import org.example.springprojektzespolowy.dto.expenses.ExpenseExportRow;
 import org.example.springprojektzespolowy.models.Expense;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ExpensesRepository extends JpaRepository<Expense, Long> {
+public interface ExpensesRepository extends JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense> {
 
-    @Query("SELECT e FROM Expense e LEFT JOIN FETCH e.group eg LEFT JOIN FETCH e.events ee LEFT JOIN FETCH e.participants ep " +
-            "LEFT JOIN FETCH e.documents ed WHERE e.group.id=:groupId")
+    @Query("SELECT e FROM Expense e JOIN FETCH e.group WHERE e.group.id=:groupId ORDER BY e.id")
     List<Expense> getExpenseByGroup_Id(@Param("groupId")Long  groupId);
+
+    // Dociągają kolekcje do wydatków już obecnych w persistence context, każda osobnym zapytaniem,
+    // żeby nie mnożyć wierszy uczestnicy × wydarzenia × dokumenty.
+    @Query("SELECT e.id FROM Expense e WHERE e.group.id=:groupId AND e.id IN :ids")
+    List<Long> findIdsInGroup(@Param("groupId") Long groupId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e FROM Expense e LEFT JOIN FETCH e.participants ep LEFT JOIN FETCH ep.user WHERE e.id IN :ids")
+    List<Expense> fetchParticipantsByExpenseIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e FROM Expense e LEFT JOIN FETCH e.events ee LEFT JOIN FETCH ee.event WHERE e.id IN :ids")
+    List<Expense> fetchEventsByExpenseIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e FROM Expense e LEFT JOIN FETCH e.documents ed LEFT JOIN FETCH ed.document WHERE e.id IN :ids")
+    List<Expense> fetchDocumentsByExpenseIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.example.springprojektzespolowy.dto.expenses.ExpenseExportRow(e.id, e.name, e.description, e.category, " +
+            "e.price, e.dateOfExpense, e.dateOfAdding, e.creator, u.id, u.UId, u.name, ep.role) " +
+            "FROM Expense e LEFT JOIN e.participants ep LEFT JOIN ep.user u WHERE e.group.id=:groupId ORDER BY e.id, u.id")
+    Stream<ExpenseExportRow> streamExportRowsByGroupId(@Param("groupId") Long groupId);
 }
@@ -3,13 +3,22 @@ package org.example.springprojektzespolowy.repositories.expenseRepos;
 import org.example.springprojektzespolowy.models.intermediateTable.ExpensesUser;
 import org.example.springprojektzespolowy.models.intermediateTable.ExpensesUserKey;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+
 @Repository
 public interface ExpensesUserRepository extends JpaRepository<ExpensesUser, ExpensesUserKey> {
-    void deleteByExpense_Id(Long expenseId);
+    @Modifying
+    @Query("DELETE FROM ExpensesUser eu WHERE eu.expense.id=:expenseId")
+    void deleteByExpense_Id(@Param("expenseId") Long expenseId);
 
-    void deleteByUser_UId(String userUId);
+    @Modifying
+    @Query("DELETE FROM ExpensesUser eu WHERE eu.expense.id=:expenseId AND eu.user.id IN :userIds")
+    void deleteByExpenseIdAndUserIds(@Param("expenseId") Long expenseId, @Param("userIds") Collection<Long> userIds);
 
-    void deleteByUser_UIdAndExpense_Id(String userUId, Long expenseId);
+    void deleteByUser_UId(String userUId);
 }
@@ -0,0 +1,32 @@
+package org.example.springprojektzespolowy.repositories.expenseRepos;
+
+import org.example.springprojektzespolowy.models.intermediateTable.GroupBalance;
+import org.example.springprojektzespolowy.models.intermediateTable.GroupBalanceKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface GroupBalanceRepository extends JpaRepository<GroupBalance, GroupBalanceKey> {
+
+    @Query("SELECT b FROM GroupBalance b JOIN FETCH b.user WHERE b.id.groupId=:groupId ORDER BY b.balance DESC")
+    List<GroupBalance> findBalancesByGroupId(@Param("groupId") Long groupId);
+
+    @Query("SELECT b FROM GroupBalance b JOIN FETCH b.group WHERE b.id.userId=:userId ORDER BY b.id.groupId")
+    List<GroupBalance> findBalancesByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO group_balance (group_id, user_id, balance, paid, share) VALUES (:groupId, :userId, :paid - :share, :paid, :share) " +
+            "ON CONFLICT (group_id, user_id) DO UPDATE SET balance = group_balance.balance + EXCLUDED.balance, " +
+            "paid = group_balance.paid + EXCLUDED.paid, share = group_balance.share + EXCLUDED.share", nativeQuery = true)
+    void addToBalance(@Param("groupId") Long groupId, @Param("userId") Long userId, @Param("paid") BigDecimal paid, @Param("share") BigDecimal share);
+
+    @Modifying
+    @Query("DELETE FROM GroupBalance b WHERE b.id.groupId=:groupId")
+    void deleteByGroupId(@Param("groupId") Long groupId);
+}
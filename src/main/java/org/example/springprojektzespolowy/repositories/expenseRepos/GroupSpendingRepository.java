@@ -0,0 +1,34 @@
+package org.example.springprojektzespolowy.repositories.expenseRepos;
+
+import org.example.springprojektzespolowy.models.GroupSpending;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface GroupSpendingRepository extends JpaRepository<GroupSpending, Long> {
+
+    /**
+     * Atomowo dodaje zmianę do sumy grupy i zwraca nową wartość (blokada wiersza serializuje równoległe zapisy).
+     * Brakujący wiersz (grupa sprzed wprowadzenia tabeli) zakładany jest z sumy w expense_rollup, które
+     * wywołujący aktualizuje wcześniej w tej samej transakcji, więc ta suma zawiera już {@code delta}.
+     */
+    @Query(value = "INSERT INTO group_spending (group_id, spent) " +
+            "SELECT :groupId, COALESCE(SUM(r.total), 0) FROM expense_rollup r WHERE r.group_id=:groupId " +
+            "ON CONFLICT (group_id) DO UPDATE SET spent = group_spending.spent + :delta RETURNING spent", nativeQuery = true)
+    BigDecimal addAndGetSpent(@Param("groupId") Long groupId, @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO group_spending (group_id, spent) " +
+            "SELECT :groupId, COALESCE(SUM(r.total), 0) FROM expense_rollup r WHERE r.group_id=:groupId " +
+            "ON CONFLICT (group_id) DO UPDATE SET spent = EXCLUDED.spent", nativeQuery = true)
+    void resetSpentFromRollups(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query("DELETE FROM GroupSpending s WHERE s.groupId=:groupId")
+    void deleteByGroupId(@Param("groupId") Long groupId);
+}
@@ -0,0 +1,41 @@
+package org.example.springprojektzespolowy.repositories.reminderRepos;
+
+import jakarta.persistence.QueryHint;
+import org.example.springprojektzespolowy.dto.reminder.EventReminderRow;
+import org.example.springprojektzespolowy.models.EventReminder;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface EventReminderRepository extends JpaRepository<EventReminder, Long> {
+
+    @Query("SELECT r.id FROM EventReminder r WHERE r.event.id=:eventId")
+    List<Long> findIdsByEventId(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("DELETE FROM EventReminder r WHERE r.event.id=:eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("DELETE FROM EventReminder r WHERE r.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r FROM EventReminder r JOIN FETCH r.event e JOIN FETCH e.group WHERE r.id IN :ids")
+    List<EventReminder> findWithEventByIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.example.springprojektzespolowy.dto.reminder.EventReminderRow(r.id, r.fireAt) FROM EventReminder r")
+    Stream<EventReminderRow> streamPending();
+}
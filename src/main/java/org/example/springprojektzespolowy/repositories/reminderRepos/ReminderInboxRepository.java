@@ -0,0 +1,9 @@
+package org.example.springprojektzespolowy.repositories.reminderRepos;
+
+import org.example.springprojektzespolowy.models.ReminderInboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReminderInboxRepository extends JpaRepository<ReminderInboxEntry, Long> {
+}
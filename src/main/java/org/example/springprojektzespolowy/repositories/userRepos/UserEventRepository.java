@@ -1,12 +1,17 @@
 package org.example.springprojektzespolowy.repositories.userRepos;
 
+import org.example.springprojektzespolowy.dto.reminder.ReminderRecipientRow;
+import org.example.springprojektzespolowy.dto.userEvent.EventWindowDto;
 import org.example.springprojektzespolowy.models.intermediateTable.UserEvent;
 import org.example.springprojektzespolowy.models.intermediateTable.UserEventKey;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,4 +25,29 @@ public interface UserEventRepository extends JpaRepository<UserEvent, UserEventK
     boolean existsUserEventByEvent_Id(Long eventId);
 
     void deleteByUser_UId(String userUId);
+
+    @Query("SELECT new org.example.springprojektzespolowy.dto.userEvent.EventWindowDto(e.id, e.name, g.id, g.name, e.startEvent, e.endEvent) " +
+            "FROM UserEvent ue JOIN ue.event e JOIN e.group g WHERE ue.user.UId=:UId AND e.startEvent IS NOT NULL ORDER BY e.startEvent, e.id")
+    List<EventWindowDto> findEventWindowsByUId(@Param("UId") String UId);
+
+    @Query("SELECT new org.example.springprojektzespolowy.dto.userEvent.EventWindowDto(e.id, e.name, g.id, g.name, e.startEvent, e.endEvent) " +
+            "FROM UserEvent ue JOIN ue.event e JOIN e.group g WHERE ue.user.UId=:UId AND e.id<>:eventId " +
+            "AND e.startEvent < :to AND (e.endEvent > :from OR e.startEvent >= :from) ORDER BY e.startEvent, e.id")
+    List<EventWindowDto> findOverlappingEventWindowsByUId(@Param("UId") String UId, @Param("eventId") Long eventId,
+                                                          @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT ue.id.userId FROM UserEvent ue WHERE ue.id.eventId=:eventId AND ue.id.userId IN :userIds")
+    List<Long> findMemberIds(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Usuwa członków wydarzenia jednym zapytaniem. Twórca wydarzenia nie jest usuwany.
+     */
+    @Modifying
+    @Query("DELETE FROM UserEvent ue WHERE ue.id.eventId=:eventId AND ue.role<>'CREATOR' " +
+            "AND ue.id.userId IN (SELECT u.id FROM User u WHERE u.UId IN :UIds)")
+    int deleteMembers(@Param("eventId") Long eventId, @Param("UIds") Collection<String> UIds);
+
+    @Query("SELECT new org.example.springprojektzespolowy.dto.reminder.ReminderRecipientRow(ue.event.id, ue.user.UId) " +
+            "FROM UserEvent ue WHERE ue.event.id IN :eventIds")
+    List<ReminderRecipientRow> findRecipientsByEventIds(@Param("eventIds") Collection<Long> eventIds);
 }
@@ -1,10 +1,16 @@
 package org.example.springprojektzespolowy.repositories.userRepos;
 
+import org.example.springprojektzespolowy.models.User;
 import org.example.springprojektzespolowy.models.intermediateTable.UserGroup;
 import org.example.springprojektzespolowy.models.intermediateTable.UserGroupKey;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface UserGroupRepository extends JpaRepository<UserGroup, UserGroupKey> {
 
@@ -20,4 +26,10 @@ public interface UserGroupRepository extends JpaRepository<UserGroup, UserGroupK
     void deleteUserGroupByGroup_Id(Long groupId);
 
     UserGroup findUserGroupByUser_UIdAndGroup_Id(String userUId, Long groupId);
+
+    /**
+     * Istniejący użytkownicy z podanego zbioru, którzy należą do grupy - brakujący UId to nieistniejący lub spoza grupy.
+     */
+    @Query("SELECT u FROM UserGroup ug JOIN ug.user u WHERE ug.group.id=:groupId AND u.UId IN :UIds")
+    List<User> findGroupMembersByUIds(@Param("groupId") Long groupId, @Param("UIds") Collection<String> UIds);
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -22,6 +23,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     User findByUId(String uId);
 
+    List<User> findAllByUIdIn(Collection<String> uIds);
+
     void deleteUserByUId(String uId);
 
     User  findUserByEmail(String email);
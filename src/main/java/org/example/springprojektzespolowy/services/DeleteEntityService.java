@@ -5,6 +5,9 @@ import org.example.springprojektzespolowy.dto.event.EventDto;
 import org.example.springprojektzespolowy.dto.groupDto.GroupDto;
 import org.example.springprojektzespolowy.dto.photo.PhotoDto;
 import org.example.springprojektzespolowy.dto.userDto.UserDto;
+import org.example.springprojektzespolowy.services.expenseServices.BudgetAlertService;
+import org.example.springprojektzespolowy.services.expenseServices.ExpenseRollupService;
+import org.example.springprojektzespolowy.services.expenseServices.SettlementService;
 import org.example.springprojektzespolowy.services.userServices.UserEventService;
 import org.example.springprojektzespolowy.services.userServices.UserGroupServices;
 import org.example.springprojektzespolowy.services.userServices.UserService;
@@ -25,9 +28,12 @@ public class DeleteEntityService {
     private final UserEventService userEventService;
     private final PhotoService photoService;
     private final InvitationService invitationService;
+    private final SettlementService settlementService;
+    private final ExpenseRollupService expenseRollupService;
+    private final BudgetAlertService budgetAlertService;
 
 
-    public DeleteEntityService(DocumentService ticketService, GroupService groupService, EventService eventService, UserGroupServices userGroupServices, UserService userService, UserEventService userEventService, PhotoService photoService, InvitationService invitationService) {
+    public DeleteEntityService(DocumentService ticketService, GroupService groupService, EventService eventService, UserGroupServices userGroupServices, UserService userService, UserEventService userEventService, PhotoService photoService, InvitationService invitationService, SettlementService settlementService, ExpenseRollupService expenseRollupService, BudgetAlertService budgetAlertService) {
         this.documentService = ticketService;
         this.groupService = groupService;
         this.eventService = eventService;
@@ -36,6 +42,9 @@ public class DeleteEntityService {
         this.userEventService = userEventService;
         this.photoService = photoService;
         this.invitationService = invitationService;
+        this.settlementService = settlementService;
+        this.expenseRollupService = expenseRollupService;
+        this.budgetAlertService = budgetAlertService;
     }
 
     @PreAuthorize("@securityService.isGroupAdministrator(authentication.name, #groupId)")
@@ -47,6 +56,9 @@ public class DeleteEntityService {
         deleteEventsByGroupId(groupId);
         deletePhotosByGroupId(groupId);
         documentService.deleteDocumentsByGroupId(groupId);
+        settlementService.deleteLedger(groupId);
+        expenseRollupService.deleteRollups(groupId);
+        budgetAlertService.deleteByGroupId(groupId);
         if (userGroupServices.existByGroupId(groupId)){
             userGroupServices.deleteUserGroupByGroupId(groupId);
         }
@@ -12,6 +12,9 @@ import org.example.springprojektzespolowy.dto.mappers.GroupDtoMapper;
 import org.example.springprojektzespolowy.models.Document;
 import org.example.springprojektzespolowy.models.Group;
 import org.example.springprojektzespolowy.repositories.DocumentsRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesDocumentRepository;
+import org.example.springprojektzespolowy.utils.SearchPatterns;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -30,12 +33,14 @@ public class DocumentService {
     private final DocumentsRepository documentsRepository;
     private final GroupService groupService;
     private final GroupDtoMapper groupDtoMapper;
+    private final ExpensesDocumentRepository expensesDocumentRepository;
 
-    public DocumentService(DocumentDtoMapper ticketDtoMapper, DocumentsRepository ticketsRepository, GroupService groupService, GroupDtoMapper groupDtoMapper){
+    public DocumentService(DocumentDtoMapper ticketDtoMapper, DocumentsRepository ticketsRepository, GroupService groupService, GroupDtoMapper groupDtoMapper, ExpensesDocumentRepository expensesDocumentRepository){
         this.documentDtoMapper = ticketDtoMapper;
         this.documentsRepository = ticketsRepository;
         this.groupService = groupService;
         this.groupDtoMapper = groupDtoMapper;
+        this.expensesDocumentRepository = expensesDocumentRepository;
     }
     @Transactional
     @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
@@ -68,8 +73,10 @@ public class DocumentService {
     }
     @Transactional
     @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
-    public DocumentDtoWithFile getDocumentsInGroupDocByName(Long groupId, String ticketName){
-        Document ticketFromGroupByName = documentsRepository.getDocumentFromGroupByIdAndByDocName(groupId, ticketName);
+    public DocumentDtoWithFile getDocumentsInGroupDocByName(Long groupId, String ticketName, boolean prefix){
+        Document ticketFromGroupByName = prefix
+                ? documentsRepository.findByGroupIdAndNamePrefix(groupId, SearchPatterns.prefix(ticketName), PageRequest.of(0, 1)).stream().findFirst().orElse(null)
+                : documentsRepository.getDocumentFromGroupByIdAndByDocName(groupId, ticketName);
         if (ticketFromGroupByName == null) throw new EntityNotFoundException("Document not found");
         return documentDtoMapper.convertWithFiles(ticketFromGroupByName);
     }
@@ -103,6 +110,7 @@ public class DocumentService {
     @Transactional
     public DocumentDto deleteDocument(Long id, Long groupId){
         Document document = documentsRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Document not found"));
+        expensesDocumentRepository.deleteByDocumentId(id);
         documentsRepository.deleteById(id);
 
         return documentDtoMapper.convert(document);
@@ -110,6 +118,7 @@ public class DocumentService {
 
     @PreAuthorize("@securityService.isGroupMember(authentication.name, #id)")
     public Set<DocumentDto> deleteDocumentsByGroupId(Long id){
+        expensesDocumentRepository.deleteByDocumentGroupId(id);
         Set<Document> tickets = documentsRepository.deleteTicketsByGroup_Id(id);
         return documentDtoMapper.convert(tickets);
     }
@@ -0,0 +1,101 @@
+package org.example.springprojektzespolowy.services;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.event.EventDto;
+import org.example.springprojektzespolowy.dto.mappers.EventDtoMapper;
+import org.example.springprojektzespolowy.models.Event;
+import org.example.springprojektzespolowy.repositories.EventRepository;
+import org.example.springprojektzespolowy.utils.GroupCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Widok kalendarza: wydarzenia nakładające się na [from, to) i najbliższe wydarzenia grupy. Dla grup trzymane
+ * jest w pamięci {@link EventIntervalTree} (LRU, budowane przy pierwszym odczycie, usuwane przy każdej zmianie
+ * terminów), bez niego zapytania idą po indeksie (group_id, start_event).
+ */
+@Service
+public class EventCalendarService {
+
+    static final int DEFAULT_UPCOMING = 10;
+    static final int MAX_UPCOMING = 100;
+
+    private final EventRepository eventRepository;
+    private final EventDtoMapper eventDtoMapper;
+    private final GroupService groupService;
+    private final boolean intervalIndex;
+    private final GroupCache<EventIntervalTree> trees;
+
+    public EventCalendarService(EventRepository eventRepository, EventDtoMapper eventDtoMapper, GroupService groupService,
+                                @Value("${app.event-calendar.interval-index:true}") boolean intervalIndex,
+                                @Value("${app.event-calendar.max-groups:1000}") int maxGroups) {
+        this.eventRepository = eventRepository;
+        this.eventDtoMapper = eventDtoMapper;
+        this.groupService = groupService;
+        this.intervalIndex = intervalIndex;
+        this.trees = new GroupCache<>(maxGroups);
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public List<EventDto> getGroupCalendar(Long groupId, LocalDateTime from, LocalDateTime to) throws BadRequestException {
+        validateWindow(from, to);
+        if (!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
+
+        if (!intervalIndex) return toDtos(eventRepository.findOverlapping(groupId, from, to));
+        return loadInOrder(tree(groupId).overlapping(from, to));
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public List<EventDto> getUpcoming(Long groupId, LocalDateTime after, Integer limit) throws BadRequestException {
+        int size = limit == null ? DEFAULT_UPCOMING : limit;
+        if (size < 1 || size > MAX_UPCOMING) throw new BadRequestException("limit must be between 1 and " + MAX_UPCOMING);
+        if (!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
+        LocalDateTime start = after == null ? LocalDateTime.now() : after;
+
+        if (!intervalIndex) return loadInOrder(eventRepository.findUpcomingIds(groupId, start, PageRequest.of(0, size)));
+        return loadInOrder(tree(groupId).startingFrom(start, size));
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isRequestingUserisAuthorizedForAccount(authentication.name, #UId)")
+    public List<EventDto> getUserCalendar(String UId, LocalDateTime from, LocalDateTime to) throws BadRequestException {
+        validateWindow(from, to);
+        return toDtos(eventRepository.findOverlappingForUser(UId, from, to));
+    }
+
+    public void evict(Long groupId) {
+        trees.evict(groupId);
+    }
+
+    private EventIntervalTree tree(Long groupId) {
+        return trees.get(groupId, () -> EventIntervalTree.build(eventRepository.findWindowsByGroupId(groupId)));
+    }
+
+    private List<EventDto> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Event> events = new HashMap<>();
+        eventRepository.findWithMembersByIdIn(ids).forEach(event -> events.put(event.getId(), event));
+        return ids.stream().map(events::get).filter(Objects::nonNull).map(eventDtoMapper::convert).toList();
+    }
+
+    private List<EventDto> toDtos(List<Event> events) {
+        return events.stream()
+                .sorted(Comparator.comparing(Event::getStartEvent).thenComparing(Event::getId))
+                .map(eventDtoMapper::convert)
+                .toList();
+    }
+
+    private static void validateWindow(LocalDateTime from, LocalDateTime to) throws BadRequestException {
+        if (from == null || to == null) throw new BadRequestException("from and to are required");
+        if (!from.isBefore(to)) throw new BadRequestException("from must be before to");
+    }
+}
@@ -7,39 +7,53 @@ import org.example.springprojektzespolowy.dto.event.CreateEventDto;
 import org.example.springprojektzespolowy.dto.event.EventDto;
 import org.example.springprojektzespolowy.dto.event.UpdateEventDto;
 import org.example.springprojektzespolowy.dto.mappers.EventDtoMapper;
+import org.example.springprojektzespolowy.dto.expenses.LinkResultDto;
 import org.example.springprojektzespolowy.dto.mappers.GroupDtoMapper;
+import org.example.springprojektzespolowy.dto.userEvent.EventMembersDto;
 import org.example.springprojektzespolowy.dto.userEvent.UserEventDto;
 import org.example.springprojektzespolowy.dto.userEvent.UserWithRoleDto;
 import org.example.springprojektzespolowy.models.Event;
 import org.example.springprojektzespolowy.models.Group;
 import org.example.springprojektzespolowy.repositories.EventRepository;
 import org.example.springprojektzespolowy.repositories.userRepos.UserEventRepository;
+import org.example.springprojektzespolowy.services.geoServices.EventGeoService;
+import org.example.springprojektzespolowy.services.reminderServices.EventReminderService;
 import org.example.springprojektzespolowy.services.userServices.UserEventService;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 @Service
 public class EventCreateService {
 
+    static final int MAX_MEMBERS = 1000;
+
     private final UserEventService userEventService;
     private final GroupDtoMapper groupDtoMapper;
     private final EventDtoMapper eventDtoMapper;
     private final EventRepository eventRepository;
     private final GroupService groupService;
     private final UserEventRepository userEventRepository;
+    private final EventCalendarService eventCalendarService;
+    private final ScheduleConflictService scheduleConflictService;
+    private final EventFeedService eventFeedService;
+    private final EventReminderService eventReminderService;
+    private final EventGeoService eventGeoService;
 
-    public EventCreateService(UserEventService userEventService, GroupDtoMapper groupDtoMapper, EventDtoMapper eventDtoMapper, EventRepository eventRepository, GroupService groupService, UserEventRepository userEventRepository) {
+    public EventCreateService(UserEventService userEventService, GroupDtoMapper groupDtoMapper, EventDtoMapper eventDtoMapper, EventRepository eventRepository, GroupService groupService, UserEventRepository userEventRepository, EventCalendarService eventCalendarService, ScheduleConflictService scheduleConflictService, EventFeedService eventFeedService, EventReminderService eventReminderService, EventGeoService eventGeoService) {
         this.userEventService = userEventService;
         this.groupDtoMapper = groupDtoMapper;
         this.eventDtoMapper = eventDtoMapper;
         this.eventRepository = eventRepository;
         this.groupService = groupService;
         this.userEventRepository = userEventRepository;
+        this.eventCalendarService = eventCalendarService;
+        this.scheduleConflictService = scheduleConflictService;
+        this.eventFeedService = eventFeedService;
+        this.eventReminderService = eventReminderService;
+        this.eventGeoService = eventGeoService;
     }
 
     @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
@@ -49,18 +63,19 @@ public class EventCreateService {
             Group group = groupDtoMapper.convert(groupService.getGroupDTOById(groupId));
             Event event = eventDtoMapper.convert(createEvent, group);
             event.setCreator(creatorUId);
+            EventRecurrence.apply(event, createEvent.recurrence());
+            eventGeoService.applyLocation(event, createEvent.latitude(), createEvent.longitude());
             eventRepository.save(event);
+            eventCalendarService.evict(groupId);
+            eventGeoService.evict(groupId);
+            eventFeedService.markChanged(groupId);
+            eventReminderService.scheduleForEvent(event);
 
         List<UserWithRoleDto> participants = new ArrayList<>();
 
         UserWithRoleDto userWithRoleDto = userEventService.addEventCreator(event, creatorUId);
         participants.add(userWithRoleDto);
-        createEvent.participants().forEach(participantUId ->{
-            if (!participantUId.equals(creatorUId)){
-                UserWithRoleDto userWithRole = userEventService.addEventMember(event.getId(), participantUId, groupId);
-                participants.add(userWithRole);
-            }
-        });
+        participants.addAll(userEventService.addEventMembers(event, withoutCreator(createEvent.participants(), creatorUId), groupId));
         return eventDtoMapper.convert(event, participants);
     }
 
@@ -69,39 +84,73 @@ public class EventCreateService {
     public UserEventDto addMemberToEvent(String UId, Long eventId, Long groupId){
         UserWithRoleDto userWithRoleDto = userEventService.addEventMember(eventId, UId, groupId);
         Event event = eventRepository.findById(eventId).orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        eventFeedService.markChanged(event.getGroup().getId());
         EventDto convert = eventDtoMapper.convert(event);
-        return new UserEventDto(convert,Set.of(userWithRoleDto));
+        return new UserEventDto(convert,Set.of(userWithRoleDto), scheduleConflictService.conflictsWithEvent(UId, eventId));
     }
 
     @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
     @Transactional
     public EventDto updateWholeEvent(UpdateEventDto updateEventDto, Long groupId) throws BadRequestException {
         if (!updateEventDto.participants().contains(updateEventDto.creator())) throw new BadRequestException();
-        return eventRepository.findById(updateEventDto.id())
-                .map(existingEvent ->{
-                    existingEvent.setName(updateEventDto.eventName());
-                    existingEvent.setCategory(updateEventDto.category());
-                    existingEvent.setDescription(updateEventDto.description());
-                    existingEvent.setStartEvent(updateEventDto.startEvent());
-                    existingEvent.setEndEvent(updateEventDto.endEvent());
-                    existingEvent.setLocalization(updateEventDto.localization());
-
-                    userEventRepository.deleteUserEventByEvent_Id(existingEvent.getId());
-
-                    List<UserWithRoleDto> updatedParticipants = new ArrayList<>();
-                    updateEventDto.participants().forEach(participant -> {
-                        if (updateEventDto.creator().equals(participant)){
-                            UserWithRoleDto userWithRoleDto = userEventService.addEventCreator(existingEvent, participant);
-                            updatedParticipants.add(userWithRoleDto);
-                        }else {
-                            UserWithRoleDto userWithRoleDto = userEventService.addEventMember(existingEvent.getId(), participant, groupId);
-                            updatedParticipants.add(userWithRoleDto);
-                        }
-                    });
-
-                    eventRepository.save(existingEvent);
-                    return eventDtoMapper.convert(existingEvent, updatedParticipants);
-                })
+        Event existingEvent = eventRepository.findById(updateEventDto.id())
                 .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        existingEvent.setName(updateEventDto.eventName());
+        existingEvent.setCategory(updateEventDto.category());
+        existingEvent.setDescription(updateEventDto.description());
+        existingEvent.setStartEvent(updateEventDto.startEvent());
+        existingEvent.setEndEvent(updateEventDto.endEvent());
+        existingEvent.setLocalization(updateEventDto.localization());
+        EventRecurrence.refreshSeriesEnd(existingEvent);
+        eventGeoService.applyLocation(existingEvent, updateEventDto.latitude(), updateEventDto.longitude());
+
+        userEventRepository.deleteUserEventByEvent_Id(existingEvent.getId());
+
+        List<UserWithRoleDto> updatedParticipants = new ArrayList<>();
+        updatedParticipants.add(userEventService.addEventCreator(existingEvent, updateEventDto.creator()));
+        updatedParticipants.addAll(userEventService.addEventMembers(existingEvent,
+                withoutCreator(updateEventDto.participants(), updateEventDto.creator()), groupId));
+
+        eventRepository.save(existingEvent);
+        eventCalendarService.evict(existingEvent.getGroup().getId());
+        eventGeoService.evict(existingEvent.getGroup().getId());
+        eventFeedService.markChanged(existingEvent.getGroup().getId());
+        eventReminderService.scheduleForEvent(existingEvent);
+        return eventDtoMapper.convert(existingEvent, updatedParticipants);
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isGroupAdministrator(authentication.name, #groupId)")
+    public LinkResultDto addMembersToEvent(Long groupId, Long eventId, EventMembersDto membersDto) throws BadRequestException {
+        validateMembers(membersDto);
+        Event event = getEventInGroup(eventId, groupId);
+        int added = userEventService.addEventMembers(event, membersDto.members(), groupId).size();
+        if (added > 0) eventFeedService.markChanged(groupId);
+        return new LinkResultDto(membersDto.members().size(), added);
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isGroupAdministrator(authentication.name, #groupId)")
+    public LinkResultDto removeMembersFromEvent(Long groupId, Long eventId, EventMembersDto membersDto) throws BadRequestException {
+        validateMembers(membersDto);
+        Event event = getEventInGroup(eventId, groupId);
+        int removed = userEventService.removeEventMembers(event.getId(), membersDto.members());
+        if (removed > 0) eventFeedService.markChanged(groupId);
+        return new LinkResultDto(membersDto.members().size(), removed);
+    }
+
+    private Event getEventInGroup(Long eventId, Long groupId) {
+        return eventRepository.findById(eventId)
+                .filter(event -> event.getGroup().getId().equals(groupId))
+                .orElseThrow(() -> new EntityNotFoundException("Event not found in group"));
+    }
+
+    private static void validateMembers(EventMembersDto membersDto) throws BadRequestException {
+        if (membersDto.members() == null || membersDto.members().isEmpty()) throw new BadRequestException("members must not be empty");
+        if (membersDto.members().size() > MAX_MEMBERS) throw new BadRequestException("Too many members in one request, max " + MAX_MEMBERS);
+    }
+
+    private static List<String> withoutCreator(Collection<String> participants, String creatorUId) {
+        return participants.stream().filter(participant -> !participant.equals(creatorUId)).toList();
     }
 }
@@ -0,0 +1,186 @@
+package org.example.springprojektzespolowy.services;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springprojektzespolowy.dto.event.EventFeedRow;
+import org.example.springprojektzespolowy.dto.event.GroupEventVersion;
+import org.example.springprojektzespolowy.repositories.EventRepository;
+import org.example.springprojektzespolowy.repositories.GroupRepository;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Feed iCalendar (RFC 5545) wydarzeń grupy i użytkownika. ETag liczony jest tylko z {@code groups.event_version},
+ * więc powtarzane odpytywanie przez aplikacje kalendarza kończy się 304 bez czytania wydarzeń. Wydarzenia
+ * czytane są kursorem bazy i od razu zapisywane do odpowiedzi.
+ */
+@Slf4j
+@Service
+public class EventFeedService {
+
+    static final String PRODID = "-//springProjektZespolowy//Events//PL";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final int FLUSH_EVENTS = 200;
+    private static final DateTimeFormatter LOCAL_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final EventRepository eventRepository;
+    private final GroupRepository groupRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public EventFeedService(EventRepository eventRepository, GroupRepository groupRepository, PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.groupRepository = groupRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Wywoływane przy każdej zmianie wydarzeń grupy lub ich uczestników.
+     */
+    public void markChanged(Long groupId) {
+        groupRepository.bumpEventVersion(groupId, LocalDateTime.now());
+    }
+
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public String groupFeedETag(Long groupId) {
+        long version = groupRepository.findEventVersionById(groupId).orElseThrow(() -> new EntityNotFoundException("Group not found"));
+        return "\"group-" + groupId + "-" + version + "\"";
+    }
+
+    @PreAuthorize("@securityService.isRequestingUserisAuthorizedForAccount(authentication.name, #UId)")
+    public String userFeedETag(String UId) {
+        return userETag(UId, groupRepository.findEventVersionsByUId(UId));
+    }
+
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public StreamingResponseBody groupFeed(Long groupId) {
+        return stream("group " + groupId, () -> eventRepository.streamFeedRowsByGroupId(groupId));
+    }
+
+    @PreAuthorize("@securityService.isRequestingUserisAuthorizedForAccount(authentication.name, #UId)")
+    public StreamingResponseBody userFeed(String UId) {
+        return stream("user " + UId, () -> eventRepository.streamFeedRowsByUId(UId));
+    }
+
+    /**
+     * Skrót z par (grupa, wersja) w porządku id grupy. Zmienia się po zmianie wydarzeń w którejkolwiek
+     * z grup użytkownika oraz po dołączeniu do grupy lub jej opuszczeniu.
+     */
+    static String userETag(String UId, List<GroupEventVersion> versions) {
+        StringBuilder key = new StringBuilder(UId);
+        versions.forEach(version -> key.append('|').append(version.groupId()).append(':').append(version.version()));
+        return "\"user-" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private StreamingResponseBody stream(String feed, Supplier<Stream<EventFeedRow>> rows) {
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 16 * 1024);
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<EventFeedRow> feedRows = rows.get()) {
+                        write(feedRows.iterator(), writer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                log.warn("Przerwano feed kalendarza ({}): {}", feed, e.getCause().getMessage());
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    static void write(Iterator<EventFeedRow> rows, Writer writer) throws IOException {
+        line(writer, "BEGIN:VCALENDAR");
+        line(writer, "VERSION:2.0");
+        line(writer, "PRODID:" + PRODID);
+        line(writer, "CALSCALE:GREGORIAN");
+        long written = 0;
+        while (rows.hasNext()) {
+            writeEvent(rows.next(), writer);
+            if (++written % FLUSH_EVENTS == 0) writer.flush();
+        }
+        line(writer, "END:VCALENDAR");
+    }
+
+    /**
+     * Terminy zapisywane są jako czas lokalny (bez strefy), tak jak są przechowywane. Wydarzenie bez końca
+     * lub z końcem przed początkiem traktowane jest jak chwila, jak w widoku kalendarza.
+     */
+    private static void writeEvent(EventFeedRow row, Writer writer) throws IOException {
+        line(writer, "BEGIN:VEVENT");
+        line(writer, "UID:event-" + row.id() + "@springprojektzespolowy");
+        LocalDateTime stamp = row.updatedAt() == null ? row.startEvent() : row.updatedAt();
+        line(writer, "DTSTAMP:" + stamp.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(LOCAL_TIME) + "Z");
+        line(writer, "DTSTART:" + row.startEvent().format(LOCAL_TIME));
+        if (row.endEvent() != null && !row.endEvent().isBefore(row.startEvent())) {
+            line(writer, "DTEND:" + row.endEvent().format(LOCAL_TIME));
+        }
+        line(writer, "SUMMARY:" + escape(row.name()));
+        if (row.description() != null) line(writer, "DESCRIPTION:" + escape(row.description()));
+        if (row.localization() != null) line(writer, "LOCATION:" + escape(row.localization()));
+        if (row.category() != null) line(writer, "CATEGORIES:" + escape(row.category()));
+        line(writer, "END:VEVENT");
+    }
+
+    /**
+     * Escapowanie wartości TEXT wg RFC 5545 3.3.11.
+     */
+    static String escape(String value) {
+        if (value == null) return "";
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    if (i + 1 >= value.length() || value.charAt(i + 1) != '\n') escaped.append("\\n");
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Linia zawinięta co najwyżej co 75 bajtów UTF-8 (kontynuacja zaczyna się spacją), bez rozcinania znaków.
+     */
+    static String fold(String line) {
+        StringBuilder folded = new StringBuilder(line.length() + 8);
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > MAX_LINE_OCTETS) {
+                folded.append("\r\n ");
+                octets = 1;
+            }
+            folded.appendCodePoint(codePoint);
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        return folded.toString();
+    }
+
+    private static void line(Writer writer, String line) throws IOException {
+        writer.write(fold(line));
+        writer.write("\r\n");
+    }
+}
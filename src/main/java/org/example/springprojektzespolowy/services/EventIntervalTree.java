@@ -0,0 +1,99 @@
+package org.example.springprojektzespolowy.services;
+
+import org.example.springprojektzespolowy.dto.event.EventWindowRow;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Niezmienne drzewo przedziałów wydarzeń jednej grupy: tablica posortowana po początku, traktowana jako
+ * zbalansowane BST (korzeń w środku zakresu), z maksymalnym końcem poddrzewa w każdym węźle.
+ * Zapytanie o nakładanie się z [from, to) kosztuje O(log n + k), "następne od chwili" O(log n + limit).
+ * Wydarzenie bez końca (albo z końcem przed początkiem) traktowane jest jak chwila w {@code startEvent}.
+ */
+final class EventIntervalTree {
+
+    private final long[] ids;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private EventIntervalTree(long[] ids, long[] starts, long[] ends) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[ids.length];
+        buildMaxEnds(0, ids.length);
+    }
+
+    static EventIntervalTree build(List<EventWindowRow> events) {
+        List<EventWindowRow> sorted = events.stream()
+                .filter(event -> event.startEvent() != null)
+                .sorted(Comparator.comparing(EventWindowRow::startEvent).thenComparing(EventWindowRow::id))
+                .toList();
+
+        long[] ids = new long[sorted.size()];
+        long[] starts = new long[sorted.size()];
+        long[] ends = new long[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            EventWindowRow event = sorted.get(i);
+            ids[i] = event.id();
+            starts[i] = micros(event.startEvent());
+            ends[i] = event.endEvent() == null ? starts[i] + 1 : Math.max(micros(event.endEvent()), starts[i] + 1);
+        }
+        return new EventIntervalTree(ids, starts, ends);
+    }
+
+    /**
+     * Id wydarzeń nakładających się na [from, to), w kolejności początku.
+     */
+    List<Long> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<Long> result = new ArrayList<>();
+        collect(0, ids.length, micros(from), micros(to), result);
+        return result;
+    }
+
+    /**
+     * Id maksymalnie {@code limit} wydarzeń zaczynających się w chwili {@code after} lub później.
+     */
+    List<Long> startingFrom(LocalDateTime after, int limit) {
+        long from = micros(after);
+        int index = Arrays.binarySearch(starts, from);
+        if (index < 0) index = -index - 1;
+        else while (index > 0 && starts[index - 1] == from) index--;
+
+        List<Long> result = new ArrayList<>(Math.min(limit, ids.length - index));
+        for (int i = index; i < ids.length && result.size() < limit; i++) result.add(ids[i]);
+        return result;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    private long buildMaxEnds(int lo, int hi) {
+        if (lo >= hi) return Long.MIN_VALUE;
+        int mid = (lo + hi) >>> 1;
+        maxEnds[mid] = Math.max(ends[mid], Math.max(buildMaxEnds(lo, mid), buildMaxEnds(mid + 1, hi)));
+        return maxEnds[mid];
+    }
+
+    private void collect(int lo, int hi, long from, long to, List<Long> result) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        if (maxEnds[mid] <= from) return;
+
+        collect(lo, mid, from, to, result);
+        if (starts[mid] >= to) return;
+        if (ends[mid] > from) result.add(ids[mid]);
+        collect(mid + 1, hi, from, to, result);
+    }
+
+    static long micros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+}
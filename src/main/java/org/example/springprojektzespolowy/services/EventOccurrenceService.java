@@ -0,0 +1,182 @@
+package org.example.springprojektzespolowy.services;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.event.EventOccurrenceDto;
+import org.example.springprojektzespolowy.dto.event.OccurrenceOverrideDto;
+import org.example.springprojektzespolowy.dto.event.RecurrenceDto;
+import org.example.springprojektzespolowy.models.Event;
+import org.example.springprojektzespolowy.models.EventOccurrenceOverride;
+import org.example.springprojektzespolowy.repositories.EventOccurrenceOverrideRepository;
+import org.example.springprojektzespolowy.repositories.EventRepository;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Wystąpienia wydarzeń w oknie [from, to). Seria zapisana jest raz na {@link Event}, a jej wystąpienia
+ * rozwijane są dopiero tutaj, tylko dla odpytywanego okna, razem ze zmianami i odwołaniami pojedynczych wystąpień.
+ */
+@Service
+public class EventOccurrenceService {
+
+    static final int MAX_OCCURRENCES = 5000;
+
+    private final EventRepository eventRepository;
+    private final EventOccurrenceOverrideRepository overrideRepository;
+    private final GroupService groupService;
+
+    public EventOccurrenceService(EventRepository eventRepository, EventOccurrenceOverrideRepository overrideRepository, GroupService groupService) {
+        this.eventRepository = eventRepository;
+        this.overrideRepository = overrideRepository;
+        this.groupService = groupService;
+    }
+
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public List<EventOccurrenceDto> getOccurrences(Long groupId, LocalDateTime from, LocalDateTime to) throws BadRequestException {
+        if (from == null || to == null) throw new BadRequestException("from and to are required");
+        if (!from.isBefore(to)) throw new BadRequestException("from must be before to");
+        if (!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
+
+        List<Event> candidates = eventRepository.findOccurrenceCandidates(groupId, from, to);
+        List<EventOccurrenceDto> occurrences = new ArrayList<>();
+        Map<Long, EventRecurrence> series = new HashMap<>();
+        Duration longest = Duration.ZERO;
+        for (Event event : candidates) {
+            EventRecurrence recurrence = EventRecurrence.of(event);
+            if (recurrence == null) {
+                occurrences.add(single(event));
+            } else {
+                series.put(event.getId(), recurrence);
+                if (recurrence.duration().compareTo(longest) > 0) longest = recurrence.duration();
+            }
+        }
+
+        if (!series.isEmpty()) {
+            Map<Long, Map<LocalDateTime, EventOccurrenceOverride>> overrides = new HashMap<>();
+            overrideRepository.findInWindow(series.keySet(), from.minus(longest), from, to).forEach(override ->
+                    overrides.computeIfAbsent(override.getEvent().getId(), id -> new HashMap<>()).put(override.getOccurrenceStart(), override));
+            for (Event event : candidates) {
+                EventRecurrence recurrence = series.get(event.getId());
+                if (recurrence != null) {
+                    expand(event, recurrence, overrides.getOrDefault(event.getId(), new HashMap<>()), from, to, occurrences);
+                }
+                if (occurrences.size() > MAX_OCCURRENCES) {
+                    throw new BadRequestException("Window contains more than " + MAX_OCCURRENCES + " occurrences");
+                }
+            }
+        }
+
+        occurrences.sort(Comparator.comparing(EventOccurrenceDto::startEvent).thenComparing(EventOccurrenceDto::eventId));
+        return occurrences;
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public RecurrenceDto setRecurrence(Long groupId, Long eventId, RecurrenceDto recurrence) throws BadRequestException {
+        Event event = getEventInGroup(eventId, groupId);
+        EventRecurrence.apply(event, recurrence);
+        eventRepository.save(event);
+        if (event.getRecurrenceFrequency() == null) overrideRepository.deleteByEventId(eventId);
+        return event.getRecurrenceFrequency() == null ? null : new RecurrenceDto(event.getRecurrenceFrequency(),
+                event.getRecurrenceInterval(), event.getRecurrenceCount(), event.getRecurrenceUntil());
+    }
+
+    /**
+     * Zmienia lub odwołuje jedno wystąpienie. Przeniesione wystąpienie musi zostać w ramach serii, żeby
+     * filtr po {@code series_end} w zapytaniu dalej je obejmował.
+     */
+    @Transactional
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public EventOccurrenceDto overrideOccurrence(Long groupId, Long eventId, OccurrenceOverrideDto overrideDto) throws BadRequestException {
+        Event event = getEventInGroup(eventId, groupId);
+        EventRecurrence recurrence = EventRecurrence.of(event);
+        if (recurrence == null) throw new BadRequestException("Event is not recurring");
+        if (overrideDto.occurrenceStart() == null || !recurrence.isOccurrence(overrideDto.occurrenceStart())) {
+            throw new BadRequestException("occurrenceStart is not an occurrence of this event");
+        }
+
+        EventOccurrenceOverride override = overrideRepository.findByEvent_IdAndOccurrenceStart(eventId, overrideDto.occurrenceStart())
+                .orElseGet(() -> new EventOccurrenceOverride(event, overrideDto.occurrenceStart()));
+        override.setCancelled(overrideDto.cancelled());
+        override.setStartEvent(overrideDto.startEvent());
+        override.setEndEvent(overrideDto.endEvent());
+        override.setName(overrideDto.eventName());
+        override.setDescription(overrideDto.description());
+        override.setLocalization(overrideDto.localization());
+
+        EventOccurrenceDto occurrence = occurrence(event, recurrence, overrideDto.occurrenceStart(), override);
+        LocalDateTime latest = occurrence.endEvent() != null && occurrence.endEvent().isAfter(occurrence.startEvent())
+                ? occurrence.endEvent() : occurrence.startEvent();
+        if (occurrence.startEvent().isBefore(event.getStartEvent()) || (event.getSeriesEnd() != null && latest.isAfter(event.getSeriesEnd()))) {
+            throw new BadRequestException("Occurrence cannot be moved outside of its series");
+        }
+        overrideRepository.save(override);
+        return occurrence;
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public void restoreOccurrence(Long groupId, Long eventId, LocalDateTime occurrenceStart) {
+        getEventInGroup(eventId, groupId);
+        EventOccurrenceOverride override = overrideRepository.findByEvent_IdAndOccurrenceStart(eventId, occurrenceStart)
+                .orElseThrow(() -> new EntityNotFoundException("Occurrence override not found"));
+        overrideRepository.delete(override);
+    }
+
+    /**
+     * Zmiany zdejmowane są z mapy przy dopasowaniu, więc to, co zostaje, to wystąpienia przeniesione do okna spoza niego.
+     */
+    static void expand(Event event, EventRecurrence recurrence, Map<LocalDateTime, EventOccurrenceOverride> overrides,
+                       LocalDateTime from, LocalDateTime to, List<EventOccurrenceDto> occurrences) {
+        for (LocalDateTime start : recurrence.startsOverlapping(from, to, MAX_OCCURRENCES)) {
+            EventOccurrenceOverride override = overrides.remove(start);
+            addIfVisible(occurrence(event, recurrence, start, override), override, from, to, occurrences);
+        }
+        overrides.forEach((start, override) -> {
+            if (recurrence.isOccurrence(start)) addIfVisible(occurrence(event, recurrence, start, override), override, from, to, occurrences);
+        });
+    }
+
+    private static void addIfVisible(EventOccurrenceDto occurrence, EventOccurrenceOverride override, LocalDateTime from, LocalDateTime to,
+                                     List<EventOccurrenceDto> occurrences) {
+        if (override != null && override.isCancelled()) return;
+        LocalDateTime end = occurrence.endEvent() == null ? occurrence.startEvent() : occurrence.endEvent();
+        if (EventRecurrence.overlaps(occurrence.startEvent(), end, from, to)) occurrences.add(occurrence);
+    }
+
+    static EventOccurrenceDto occurrence(Event event, EventRecurrence recurrence, LocalDateTime occurrenceStart, EventOccurrenceOverride override) {
+        LocalDateTime start = occurrenceStart;
+        LocalDateTime end = event.getEndEvent() == null ? null : occurrenceStart.plus(recurrence.duration());
+        String name = event.getName();
+        String description = event.getDescription();
+        String localization = event.getLocalization();
+        if (override != null) {
+            if (override.getStartEvent() != null) {
+                start = override.getStartEvent();
+                if (end != null) end = start.plus(recurrence.duration());
+            }
+            if (override.getEndEvent() != null) end = override.getEndEvent();
+            if (override.getName() != null) name = override.getName();
+            if (override.getDescription() != null) description = override.getDescription();
+            if (override.getLocalization() != null) localization = override.getLocalization();
+        }
+        return new EventOccurrenceDto(event.getId(), name, event.getCategory(), description, localization,
+                occurrenceStart, start, end, true, override != null);
+    }
+
+    private static EventOccurrenceDto single(Event event) {
+        return new EventOccurrenceDto(event.getId(), event.getName(), event.getCategory(), event.getDescription(), event.getLocalization(),
+                event.getStartEvent(), event.getStartEvent(), event.getEndEvent(), false, false);
+    }
+
+    private Event getEventInGroup(Long eventId, Long groupId) {
+        return eventRepository.findById(eventId)
+                .filter(event -> event.getGroup().getId().equals(groupId))
+                .orElseThrow(() -> new EntityNotFoundException("Event not found in group"));
+    }
+}
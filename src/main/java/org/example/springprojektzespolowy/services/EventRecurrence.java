@@ -0,0 +1,171 @@
+package org.example.springprojektzespolowy.services;
+
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.event.RecurrenceDto;
+import org.example.springprojektzespolowy.models.Event;
+import org.example.springprojektzespolowy.models.RecurrenceFrequency;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reguła powtarzania wydarzenia (podzbiór RRULE: FREQ, INTERVAL, COUNT, UNTIL). Wystąpienie n zaczyna się
+ * w start + n × interval jednostek, więc pierwsze wystąpienie w oknie wyznaczane jest arytmetycznie, a koszt
+ * rozwinięcia zależy od liczby wystąpień w oknie, nie od długości serii. Wystąpienia miesięczne liczone są
+ * zawsze od startu serii, więc 31. dnia w krótszym miesiącu przypada na jego ostatni dzień.
+ */
+final class EventRecurrence {
+
+    static final int MAX_INTERVAL = 366;
+    static final int MAX_COUNT = 10_000;
+
+    private final LocalDateTime start;
+    private final Duration duration;
+    private final RecurrenceFrequency frequency;
+    private final int interval;
+    private final Integer count;
+    private final LocalDateTime until;
+
+    EventRecurrence(LocalDateTime start, LocalDateTime end, RecurrenceFrequency frequency, int interval, Integer count, LocalDateTime until) {
+        this.start = start;
+        this.duration = end == null || end.isBefore(start) ? Duration.ZERO : Duration.between(start, end);
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+    }
+
+    /**
+     * Reguła wydarzenia albo null, gdy wydarzenie się nie powtarza.
+     */
+    static EventRecurrence of(Event event) {
+        if (event.getRecurrenceFrequency() == null || event.getStartEvent() == null) return null;
+        int interval = event.getRecurrenceInterval() == null ? 1 : event.getRecurrenceInterval();
+        return new EventRecurrence(event.getStartEvent(), event.getEndEvent(), event.getRecurrenceFrequency(), interval,
+                event.getRecurrenceCount(), event.getRecurrenceUntil());
+    }
+
+    /**
+     * Ustawia regułę na wydarzeniu (null ją usuwa) i przelicza koniec serii.
+     */
+    static void apply(Event event, RecurrenceDto recurrence) throws BadRequestException {
+        if (recurrence == null || recurrence.frequency() == null) {
+            event.setRecurrenceFrequency(null);
+            event.setRecurrenceInterval(null);
+            event.setRecurrenceCount(null);
+            event.setRecurrenceUntil(null);
+        } else {
+            int interval = recurrence.interval() == null ? 1 : recurrence.interval();
+            if (event.getStartEvent() == null) throw new BadRequestException("Recurring event needs startEvent");
+            if (interval < 1 || interval > MAX_INTERVAL) throw new BadRequestException("interval must be between 1 and " + MAX_INTERVAL);
+            if (recurrence.count() != null && (recurrence.count() < 1 || recurrence.count() > MAX_COUNT)) {
+                throw new BadRequestException("count must be between 1 and " + MAX_COUNT);
+            }
+            if (recurrence.until() != null && recurrence.until().isBefore(event.getStartEvent())) {
+                throw new BadRequestException("until must not be before startEvent");
+            }
+            event.setRecurrenceFrequency(recurrence.frequency());
+            event.setRecurrenceInterval(interval);
+            event.setRecurrenceCount(recurrence.count());
+            event.setRecurrenceUntil(recurrence.until());
+        }
+        refreshSeriesEnd(event);
+    }
+
+    /**
+     * Wywoływane po każdej zmianie terminu lub reguły wydarzenia. Seria kończąca się poza zakresem
+     * {@link LocalDateTime} jest błędem żądania, a nie serwera.
+     */
+    static void refreshSeriesEnd(Event event) throws BadRequestException {
+        EventRecurrence recurrence = of(event);
+        try {
+            event.setSeriesEnd(recurrence == null ? null : recurrence.seriesEnd());
+        } catch (DateTimeException | ArithmeticException e) {
+            throw new BadRequestException("Recurring event ends too far in the future");
+        }
+    }
+
+    Duration duration() {
+        return duration;
+    }
+
+    LocalDateTime occurrence(long index) {
+        long units = index * interval;
+        return switch (frequency) {
+            case DAILY -> start.plusDays(units);
+            case WEEKLY -> start.plusWeeks(units);
+            case MONTHLY -> start.plusMonths(units);
+        };
+    }
+
+    /**
+     * Koniec ostatniego wystąpienia albo null dla serii bez końca.
+     */
+    LocalDateTime seriesEnd() {
+        if (count == null && until == null) return null;
+        long last = count == null ? Long.MAX_VALUE : count - 1L;
+        if (until != null) last = Math.min(last, lastIndexNotAfter(until));
+        return occurrence(last).plus(duration);
+    }
+
+    /**
+     * Początki wystąpień nakładających się na [from, to), rosnąco. Zwraca co najwyżej {@code limit + 1} pozycji,
+     * żeby wywołujący mógł wykryć przekroczenie limitu.
+     */
+    List<LocalDateTime> startsOverlapping(LocalDateTime from, LocalDateTime to, int limit) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (long index = Math.max(0, indexEstimate(from.minus(duration)) - 1); ; index++) {
+            LocalDateTime occurrenceStart = occurrence(index);
+            if (!occurrenceStart.isBefore(to) || !allowed(index, occurrenceStart)) break;
+            if (overlaps(occurrenceStart, occurrenceStart.plus(duration), from, to)) {
+                starts.add(occurrenceStart);
+                if (starts.size() > limit) break;
+            }
+        }
+        return starts;
+    }
+
+    boolean isOccurrence(LocalDateTime occurrenceStart) {
+        if (occurrenceStart.isBefore(start)) return false;
+        long estimate = indexEstimate(occurrenceStart);
+        for (long index = Math.max(0, estimate - 1); index <= estimate + 1; index++) {
+            if (occurrence(index).equals(occurrenceStart)) return allowed(index, occurrenceStart);
+        }
+        return false;
+    }
+
+    /**
+     * Ta sama semantyka co w kalendarzu: wystąpienie bez czasu trwania traktowane jest jak chwila.
+     */
+    static boolean overlaps(LocalDateTime start, LocalDateTime end, LocalDateTime from, LocalDateTime to) {
+        return start.isBefore(to) && (end.isAfter(from) || !start.isBefore(from));
+    }
+
+    private boolean allowed(long index, LocalDateTime occurrenceStart) {
+        return (count == null || index < count) && (until == null || !occurrenceStart.isAfter(until));
+    }
+
+    private long lastIndexNotAfter(LocalDateTime limit) {
+        long index = Math.max(0, indexEstimate(limit));
+        while (occurrence(index + 1).compareTo(limit) <= 0) index++;
+        while (index > 0 && occurrence(index).isAfter(limit)) index--;
+        return index;
+    }
+
+    /**
+     * Numer wystąpienia zaczynającego się w pobliżu {@code time}, z dokładnością do jednego.
+     */
+    private long indexEstimate(LocalDateTime time) {
+        if (!time.isAfter(start)) return 0;
+        ChronoUnit unit = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS;
+            case WEEKLY -> ChronoUnit.WEEKS;
+            case MONTHLY -> ChronoUnit.MONTHS;
+        };
+        return unit.between(start, time) / interval;
+    }
+}
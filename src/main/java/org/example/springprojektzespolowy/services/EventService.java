@@ -2,12 +2,19 @@ package org.example.springprojektzespolowy.services;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import org.apache.coyote.BadRequestException;
 import org.example.springprojektzespolowy.dto.event.EventDto;
 import org.example.springprojektzespolowy.dto.event.UpdateEventDto;
 import org.example.springprojektzespolowy.dto.mappers.EventDtoMapper;
 import org.example.springprojektzespolowy.models.Event;
+import org.example.springprojektzespolowy.repositories.EventOccurrenceOverrideRepository;
 import org.example.springprojektzespolowy.repositories.EventRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesEventRepository;
+import org.example.springprojektzespolowy.services.geoServices.EventGeoService;
+import org.example.springprojektzespolowy.services.reminderServices.EventReminderService;
 import org.example.springprojektzespolowy.repositories.userRepos.UserEventRepository;
+import org.example.springprojektzespolowy.services.expenseServices.EventBudgetService;
+import org.example.springprojektzespolowy.utils.SearchPatterns;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
@@ -20,13 +27,27 @@ public class EventService {
     private final EventDtoMapper eventDtoMapper;
     private final GroupService groupService;
     private final UserEventRepository userEventRepository;
+    private final ExpensesEventRepository expensesEventRepository;
+    private final EventBudgetService eventBudgetService;
+    private final EventCalendarService eventCalendarService;
+    private final EventFeedService eventFeedService;
+    private final EventOccurrenceOverrideRepository eventOccurrenceOverrideRepository;
+    private final EventReminderService eventReminderService;
+    private final EventGeoService eventGeoService;
 
 
-    public EventService(EventRepository eventRepository, EventDtoMapper eventDtoMapper, GroupService groupService, UserEventRepository userEventRepository) {
+    public EventService(EventRepository eventRepository, EventDtoMapper eventDtoMapper, GroupService groupService, UserEventRepository userEventRepository, ExpensesEventRepository expensesEventRepository, EventBudgetService eventBudgetService, EventCalendarService eventCalendarService, EventFeedService eventFeedService, EventOccurrenceOverrideRepository eventOccurrenceOverrideRepository, EventReminderService eventReminderService, EventGeoService eventGeoService) {
         this.eventRepository = eventRepository;
         this.eventDtoMapper = eventDtoMapper;
         this.groupService = groupService;
         this.userEventRepository = userEventRepository;
+        this.expensesEventRepository = expensesEventRepository;
+        this.eventBudgetService = eventBudgetService;
+        this.eventCalendarService = eventCalendarService;
+        this.eventFeedService = eventFeedService;
+        this.eventOccurrenceOverrideRepository = eventOccurrenceOverrideRepository;
+        this.eventReminderService = eventReminderService;
+        this.eventGeoService = eventGeoService;
     }
 
     public Event getEventById(Long eventId){
@@ -42,8 +63,17 @@ public class EventService {
         return eventDtoMapper.convert(events);
     }
 
+    /**
+     * Z {@code prefix} zwraca wydarzenia, których nazwa zaczyna się od {@code eventName}, bez względu na wielkość liter.
+     */
     @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
-    public Set<EventDto> getEventsByNameAndGroupId(String eventName, Long groupId){
+    public Set<EventDto> getEventsByNameAndGroupId(String eventName, Long groupId, boolean prefix){
+        if (prefix) {
+            if (!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
+            Set<Event> events = eventRepository.getEventsByNamePrefixAndGroupId(SearchPatterns.prefix(eventName), groupId);
+            if (events.isEmpty()) throw new EntityNotFoundException("Event not found");
+            return eventDtoMapper.convert(events);
+        }
         if (!eventRepository.existsEventByName(eventName)) throw new EntityNotFoundException("Event not found");
         if (!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
         Set<Event> events = eventRepository.getEventsByNameAndGroupId(eventName, groupId);
@@ -64,27 +94,41 @@ public class EventService {
 
     @PreAuthorize("@securityService.isGroupAdministrator(authentication.name, #groupId)")
     public void deleteEvent(Long id, Long groupId){
+        expensesEventRepository.deleteByEventId(id);
+        eventOccurrenceOverrideRepository.deleteByEventId(id);
+        eventReminderService.cancelForEvent(id);
         eventRepository.deleteById(id);
+        eventBudgetService.evict(groupId);
+        eventCalendarService.evict(groupId);
+        eventGeoService.evict(groupId);
+        eventFeedService.markChanged(groupId);
     }
 
 
 
     @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
     @Transactional
-    public EventDto patchEvent(UpdateEventDto updateEventDto, Long eventId, Long groupId){
-        return eventRepository.findById(eventId)
-                .map(existingEvent ->{
-                    if (updateEventDto.eventName()!=null)existingEvent.setName(updateEventDto.eventName());
-                    if (updateEventDto.category()!=null)existingEvent.setCategory(updateEventDto.category());
-                    if (updateEventDto.description()!=null)existingEvent.setDescription(updateEventDto.description());
-                    if (updateEventDto.startEvent()!=null)existingEvent.setStartEvent(updateEventDto.startEvent());
-                    if (updateEventDto.endEvent()!=null)existingEvent.setEndEvent(updateEventDto.endEvent());
-
-                    eventRepository.save(existingEvent);
-
-                    return eventDtoMapper.convert(existingEvent);
-                })
+    public EventDto patchEvent(UpdateEventDto updateEventDto, Long eventId, Long groupId) throws BadRequestException {
+        Event existingEvent = eventRepository.findById(eventId)
                 .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        if (updateEventDto.eventName()!=null)existingEvent.setName(updateEventDto.eventName());
+        if (updateEventDto.category()!=null)existingEvent.setCategory(updateEventDto.category());
+        if (updateEventDto.description()!=null)existingEvent.setDescription(updateEventDto.description());
+        if (updateEventDto.localization()!=null)existingEvent.setLocalization(updateEventDto.localization());
+        if (updateEventDto.startEvent()!=null)existingEvent.setStartEvent(updateEventDto.startEvent());
+        if (updateEventDto.endEvent()!=null)existingEvent.setEndEvent(updateEventDto.endEvent());
+        EventRecurrence.refreshSeriesEnd(existingEvent);
+        if (updateEventDto.localization()!=null || updateEventDto.latitude()!=null || updateEventDto.longitude()!=null) {
+            eventGeoService.applyLocation(existingEvent, updateEventDto.latitude(), updateEventDto.longitude());
+        }
+
+        eventRepository.save(existingEvent);
+        eventCalendarService.evict(existingEvent.getGroup().getId());
+        eventGeoService.evict(existingEvent.getGroup().getId());
+        eventFeedService.markChanged(existingEvent.getGroup().getId());
+        eventReminderService.scheduleForEvent(existingEvent);
+
+        return eventDtoMapper.convert(existingEvent);
     }
 
     public void deleteMemberWhileDeletingUserByUid(String Uid){
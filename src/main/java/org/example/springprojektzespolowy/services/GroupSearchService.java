@@ -0,0 +1,61 @@
+package org.example.springprojektzespolowy.services;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.search.GroupSearchRow;
+import org.example.springprojektzespolowy.dto.search.SearchHitDto;
+import org.example.springprojektzespolowy.dto.search.SearchHitType;
+import org.example.springprojektzespolowy.dto.search.SearchResultDto;
+import org.example.springprojektzespolowy.repositories.GroupRepository;
+import org.example.springprojektzespolowy.utils.SearchPatterns;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Wyszukiwanie pełnotekstowe w wydarzeniach, wydatkach, dokumentach i zdjęciach grupy. Każda z tabel ma generowaną
+ * kolumnę {@code search_vector} z indeksem GIN (db/search.sql), więc dopasowanie nie przegląda wierszy grupy,
+ * a wyniki wszystkich typów porządkowane są jednym zapytaniem po {@code ts_rank}. Stronicowanie keyset jak w
+ * wyszukiwaniu wydatków: jeden wiersz więcej niż limit zamiast COUNT.
+ */
+@Service
+public class GroupSearchService {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private final GroupRepository groupRepository;
+    private final GroupService groupService;
+
+    public GroupSearchService(GroupRepository groupRepository, GroupService groupService) {
+        this.groupRepository = groupRepository;
+        this.groupService = groupService;
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public SearchResultDto search(Long groupId, String query, Set<SearchHitType> types, Integer limit, String cursor) throws BadRequestException {
+        String tsQuery = SearchPatterns.tsQuery(query);
+        if (tsQuery == null) throw new BadRequestException("q must contain at least one letter or digit");
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        SearchCursor after = SearchCursor.decode(cursor);
+        if (!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
+
+        List<String> typeNames = (types == null || types.isEmpty() ? Arrays.stream(SearchHitType.values()) : types.stream())
+                .map(Enum::name).toList();
+        List<GroupSearchRow> rows = groupRepository.search(groupId, tsQuery, typeNames, after.rank(), after.type(), after.id(), size + 1);
+        boolean hasNext = rows.size() > size;
+        List<GroupSearchRow> page = hasNext ? rows.subList(0, size) : rows;
+
+        GroupSearchRow last = page.isEmpty() ? null : page.getLast();
+        String nextCursor = hasNext ? new SearchCursor(last.getRank(), last.getType(), last.getId()).encode() : null;
+        return new SearchResultDto(page.stream()
+                .map(row -> new SearchHitDto(SearchHitType.valueOf(row.getType()), row.getId(), row.getTitle(), row.getDate(), row.getRank()))
+                .toList(), nextCursor);
+    }
+}
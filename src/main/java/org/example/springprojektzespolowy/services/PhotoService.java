@@ -9,16 +9,21 @@ import org.example.springprojektzespolowy.dto.mappers.GroupDtoMapper;
 import org.example.springprojektzespolowy.dto.mappers.PhotoDtoMapper;
 import org.example.springprojektzespolowy.dto.photo.CreatePhotoDto;
 import org.example.springprojektzespolowy.dto.photo.PhotoDto;
+import org.example.springprojektzespolowy.dto.photo.PhotoDtoWithMediaUrl;
 import org.example.springprojektzespolowy.dto.photo.PhotoDtoWithoutFile;
 import org.example.springprojektzespolowy.models.Group;
 import org.example.springprojektzespolowy.models.Photo;
 import org.example.springprojektzespolowy.repositories.PhotoRepository;
 import org.example.springprojektzespolowy.utils.ImageUtils;
+import org.example.springprojektzespolowy.utils.MediaUrlSigner;
+import org.example.springprojektzespolowy.utils.SearchPatterns;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -31,13 +36,15 @@ public class PhotoService {
     private final GroupService groupService;
     private final GroupDtoMapper groupDtoMapper;
     private final ImageUtils imageUtils;
+    private final MediaUrlSigner mediaUrlSigner;
 
-    public PhotoService(PhotoRepository photoRepository, PhotoDtoMapper photoDtoMapper, GroupService groupService, GroupDtoMapper groupDtoMapper, ImageUtils imageUtils) {
+    public PhotoService(PhotoRepository photoRepository, PhotoDtoMapper photoDtoMapper, GroupService groupService, GroupDtoMapper groupDtoMapper, ImageUtils imageUtils, MediaUrlSigner mediaUrlSigner) {
         this.photoRepository = photoRepository;
         this.photoDtoMapper = photoDtoMapper;
         this.groupService = groupService;
         this.groupDtoMapper = groupDtoMapper;
         this.imageUtils = imageUtils;
+        this.mediaUrlSigner = mediaUrlSigner;
     }
 
     @Transactional
@@ -55,15 +62,27 @@ public class PhotoService {
 
     @Transactional
     @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
-    public List<PhotoDtoWithoutFile> getPhotosInGroup(Long groupId){
-        List<Photo> photoByGroupId = photoRepository.getPhotoByGroup_Id(groupId);
-        return photoDtoMapper.convertWithoutFile(photoByGroupId);
+    public List<PhotoDtoWithMediaUrl> getPhotosInGroup(Long groupId){
+        List<PhotoDtoWithoutFile> photos = photoRepository.findPhotoSummariesByGroupId(groupId);
+        Instant expiresAt = mediaUrlSigner.nextExpiry();
+        return photos.stream()
+                .map(photo -> photoDtoMapper.convertWithMediaUrl(photo, mediaUrlSigner.signPhotoUrl(photo.id(), groupId, expiresAt), expiresAt))
+                .toList();
+    }
+
+    public PhotoDto getSignedPhotoFile(Long photoId, Long groupId){
+        PhotoDto photo = photoRepository.findPhotoFileByIdAndGroupId(photoId, groupId);
+        if (photo == null) throw new EntityNotFoundException("Photo not found");
+        return photo;
     }
 
     @Transactional
     @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
-    public PhotoDto getPhotoByNameAndGroupId(String photoName, Long groupId){
-        Photo photoByNameAndGroupId = photoRepository.findPhotoByNameAndGroup_Id(photoName, groupId);
+    public PhotoDto getPhotoByNameAndGroupId(String photoName, Long groupId, boolean prefix){
+        Photo photoByNameAndGroupId = prefix
+                ? photoRepository.findByGroupIdAndNamePrefix(groupId, SearchPatterns.prefix(photoName), PageRequest.of(0, 1)).stream().findFirst().orElse(null)
+                : photoRepository.findPhotoByNameAndGroup_Id(photoName, groupId);
+        if (photoByNameAndGroupId == null) throw new EntityNotFoundException("Photo not found");
 
         return photoDtoMapper.convert(photoByNameAndGroupId);
     }
@@ -0,0 +1,90 @@
+package org.example.springprojektzespolowy.services;
+
+import org.example.springprojektzespolowy.dto.userEvent.EventWindowDto;
+import org.example.springprojektzespolowy.dto.userEvent.ScheduleConflictDto;
+import org.example.springprojektzespolowy.repositories.EventRepository;
+import org.example.springprojektzespolowy.repositories.userRepos.UserEventRepository;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Nakładające się wydarzenia użytkownika we wszystkich jego grupach. Czytane są tylko projekcje
+ * (id, nazwa, grupa, termin), a konflikty wyznacza przeglądanie posortowanych po początku przedziałów
+ * z kopcem aktywnych wydarzeń: O(n log n + k) dla k konfliktów.
+ */
+@Service
+public class ScheduleConflictService {
+
+    static final int MAX_CONFLICTS = 1000;
+
+    private final UserEventRepository userEventRepository;
+    private final EventRepository eventRepository;
+
+    public ScheduleConflictService(UserEventRepository userEventRepository, EventRepository eventRepository) {
+        this.userEventRepository = userEventRepository;
+        this.eventRepository = eventRepository;
+    }
+
+    @PreAuthorize("@securityService.isRequestingUserisAuthorizedForAccount(authentication.name, #UId)")
+    public List<ScheduleConflictDto> getConflicts(String UId) {
+        return sweep(userEventRepository.findEventWindowsByUId(UId), MAX_CONFLICTS);
+    }
+
+    /**
+     * Konflikty jednego wydarzenia z pozostałymi wydarzeniami użytkownika, np. zaraz po dodaniu go jako członka.
+     */
+    public List<ScheduleConflictDto> conflictsWithEvent(String UId, Long eventId) {
+        EventWindowDto event = eventRepository.findWindowById(eventId).orElse(null);
+        if (event == null || event.startEvent() == null) return List.of();
+
+        LocalDateTime end = effectiveEnd(event);
+        if (!end.isAfter(event.startEvent())) end = event.startEvent().plusNanos(1_000);
+        return userEventRepository.findOverlappingEventWindowsByUId(UId, eventId, event.startEvent(), end).stream()
+                .limit(MAX_CONFLICTS)
+                .map(other -> conflict(event, other))
+                .toList();
+    }
+
+    static List<ScheduleConflictDto> sweep(List<EventWindowDto> events, int limit) {
+        List<EventWindowDto> sorted = events.stream()
+                .filter(event -> event.startEvent() != null)
+                .sorted(Comparator.comparing(EventWindowDto::startEvent).thenComparing(EventWindowDto::eventId))
+                .toList();
+        long[] starts = new long[sorted.size()];
+        long[] ends = new long[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            starts[i] = EventIntervalTree.micros(sorted.get(i).startEvent());
+            ends[i] = Math.max(EventIntervalTree.micros(effectiveEnd(sorted.get(i))), starts[i] + 1);
+        }
+
+        List<ScheduleConflictDto> conflicts = new ArrayList<>();
+        PriorityQueue<Integer> active = new PriorityQueue<>(Comparator.comparingLong(index -> ends[index]));
+        for (int i = 0; i < sorted.size(); i++) {
+            while (!active.isEmpty() && ends[active.peek()] <= starts[i]) active.poll();
+            for (int other : active) {
+                conflicts.add(conflict(sorted.get(other), sorted.get(i)));
+                if (conflicts.size() >= limit) return conflicts;
+            }
+            active.add(i);
+        }
+        return conflicts;
+    }
+
+    private static ScheduleConflictDto conflict(EventWindowDto first, EventWindowDto second) {
+        LocalDateTime overlapStart = first.startEvent().isAfter(second.startEvent()) ? first.startEvent() : second.startEvent();
+        LocalDateTime firstEnd = effectiveEnd(first);
+        LocalDateTime secondEnd = effectiveEnd(second);
+        LocalDateTime overlapEnd = firstEnd.isBefore(secondEnd) ? firstEnd : secondEnd;
+        return new ScheduleConflictDto(first, second, overlapStart, overlapEnd.isBefore(overlapStart) ? overlapStart : overlapEnd);
+    }
+
+    /**
+     * Wydarzenie bez końca (albo z końcem przed początkiem) traktowane jest jak chwila w {@code startEvent}.
+     */
+    private static LocalDateTime effectiveEnd(EventWindowDto event) {
+        return event.endEvent() == null || event.endEvent().isBefore(event.startEvent()) ? event.startEvent() : event.endEvent();
+    }
+}
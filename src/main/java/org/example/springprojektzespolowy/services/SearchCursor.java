@@ -0,0 +1,31 @@
+package org.example.springprojektzespolowy.services;
+
+import org.apache.coyote.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Pozycja ostatniego zwróconego wyniku wyszukiwania (rank, typ, id), przekazywana klientowi jako nieprzezroczysty
+ * token base64url. {@link Float#toString} zapisuje rank tak, że odczyt daje dokładnie tę samą wartość real.
+ */
+record SearchCursor(float rank, String type, long id) {
+
+    static final SearchCursor START = new SearchCursor(Float.MAX_VALUE, "", 0);
+
+    String encode() {
+        String raw = rank + "|" + type + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SearchCursor decode(String cursor) throws BadRequestException {
+        if (cursor == null || cursor.isBlank()) return START;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 3) throw new IllegalArgumentException();
+            return new SearchCursor(Float.parseFloat(parts[0]), parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
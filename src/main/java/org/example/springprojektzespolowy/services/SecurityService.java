@@ -2,15 +2,18 @@ package org.example.springprojektzespolowy.services;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.example.springprojektzespolowy.config.audit.AuthAuditLog;
 import org.example.springprojektzespolowy.models.Expense;
 import org.example.springprojektzespolowy.models.Group;
 import org.example.springprojektzespolowy.models.Photo;
 import org.example.springprojektzespolowy.models.intermediateTable.UserGroup;
+import org.example.springprojektzespolowy.models.intermediateTable.UserGroupKey;
 import org.example.springprojektzespolowy.repositories.DocumentsRepository;
 import org.example.springprojektzespolowy.repositories.PhotoRepository;
 import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesRepository;
 import org.example.springprojektzespolowy.repositories.userRepos.UserGroupRepository;
 import org.example.springprojektzespolowy.repositories.userRepos.UserRepository;
+import org.example.springprojektzespolowy.services.userServices.UserIdResolver;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -27,13 +30,17 @@ public class SecurityService {
     private final DocumentsRepository documentsRepository;
     private final PhotoRepository photoRepository;
     private final ExpensesRepository expesnsesRepository;
+    private final UserIdResolver userIdResolver;
+    private final AuthAuditLog auditLog;
 
-    public SecurityService(UserGroupRepository userGroupRepository, UserRepository userRepository, DocumentsRepository documentsRepository, PhotoRepository photoRepository, ExpensesRepository expesnsesRepository) {
+    public SecurityService(UserGroupRepository userGroupRepository, UserRepository userRepository, DocumentsRepository documentsRepository, PhotoRepository photoRepository, ExpensesRepository expesnsesRepository, UserIdResolver userIdResolver, AuthAuditLog auditLog) {
         this.userGroupRepository = userGroupRepository;
         this.userRepository = userRepository;
         this.documentsRepository = documentsRepository;
         this.photoRepository = photoRepository;
         this.expesnsesRepository = expesnsesRepository;
+        this.userIdResolver = userIdResolver;
+        this.auditLog = auditLog;
     }
 
     @Value("${spring.config.developers.list}")
@@ -60,21 +67,21 @@ public class SecurityService {
 
     public boolean isGroupMember(String UId, Long groupId){
         if (isDeveloper(UId)){
-            log.info("Przyznano dostep Dev", UId);
+            auditLog.developerAccess("isGroupMember", UId, groupId);
             return true;
         }
-        return userGroupRepository.existsUserGroupByUser_UIdAndGroup_Id(UId, groupId);
+        return audited("isGroupMember", UId, groupId, isMemberById(UId, groupId));
     }
 
     public boolean isGroupMemberByDocument(String UId, Long docId){
         Long groupId = documentsRepository.findById(docId).get().getGroup().getId();
-        return userGroupRepository.existsUserGroupByUser_UIdAndGroup_Id(UId, groupId);
+        return audited("isGroupMemberByDocument", UId, docId, isMemberById(UId, groupId));
     }
 
 
     public boolean isGroupMemberByPhoto(String UId, Long photoId){
         if (isDeveloper(UId)){
-            log.info("Przyznano dostep Dev", UId);
+            auditLog.developerAccess("isGroupMemberByPhoto", UId, photoId);
             return true;
         }
         log.debug("Sprawdzanie dostępu dla użytkownika '{}' do zdjęcia '{}'", UId, photoId);
@@ -99,9 +106,9 @@ public class SecurityService {
             }
             log.debug("Zdjęcie '{}' należy do grupy '{}'", photoId, groupId);
 
-            boolean exists = userGroupRepository.existsUserGroupByUser_UIdAndGroup_Id(UId, groupId);
+            boolean exists = isMemberById(UId, groupId);
             log.debug("Członkostwo użytkownika '{}' w grupie '{}': {}", UId, groupId, exists);
-            return exists;
+            return audited("isGroupMemberByPhoto", UId, photoId, exists);
 
         } catch (Exception e) {
             log.error("Nieoczekiwany błąd podczas sprawdzania dostępu dla użytkownika '{}' do zdjęcia '{}'", UId, photoId, e);
@@ -111,36 +118,47 @@ public class SecurityService {
 
     public boolean isRequestingUserisAuthorizedForAccount(String authenticationUId,String UId){
         if (isDeveloper(authenticationUId)){
-            log.info("Przyznano dostep Dev", UId);
+            auditLog.developerAccess("isRequestingUserisAuthorizedForAccount", authenticationUId, null);
             return true;
         }
-        return authenticationUId.equals(UId);
+        return audited("isRequestingUserisAuthorizedForAccount", authenticationUId, null, authenticationUId.equals(UId));
     }
 
     public boolean isGroupAdministrator(String UId, Long groupId){
         if (isDeveloper(UId)){
-            log.info("Przyznano dostep Dev", UId);
+            auditLog.developerAccess("isGroupAdministrator", UId, groupId);
             return true;
         }
         UserGroup userGroup = userGroupRepository.findUserGroupByUser_UIdAndGroup_Id(UId, groupId);
-        return userGroup.getRole().equals("ADMIN");
+        return audited("isGroupAdministrator", UId, groupId, userGroup.getRole().equals("ADMIN"));
     }
 
 
     public Boolean isExpenseCreator(String UId, String creator) {
         if (isDeveloper(UId)){
-            log.info("Przyznano dostep Dev", UId);
+            auditLog.developerAccess("isExpenseCreator", UId, null);
             return true;
         }
-        return UId.equals(creator);
+        return audited("isExpenseCreator", UId, null, UId.equals(creator));
     }
 
     public Boolean isExpenseCreatorByExpId(String UId, Long  expenseId) {
         if (isDeveloper(UId)){
-            log.info("Przyznano dostep Dev", UId);
+            auditLog.developerAccess("isExpenseCreatorByExpId", UId, expenseId);
             return true;
         }
         Expense expense = expesnsesRepository.findById(expenseId).orElseThrow(EntityNotFoundException::new);
-        return UId.equals(expense.getCreator());
+        return audited("isExpenseCreatorByExpId", UId, expenseId, UId.equals(expense.getCreator()));
+    }
+
+    private boolean audited(String check, String UId, Long resourceId, boolean granted){
+        auditLog.authorization(check, UId, resourceId, granted);
+        return granted;
+    }
+
+    private boolean isMemberById(String UId, Long groupId){
+        Long userId = userIdResolver.resolveId(UId);
+        if (userId == null) return false;
+        return userGroupRepository.existsById(new UserGroupKey(userId, groupId));
     }
 }
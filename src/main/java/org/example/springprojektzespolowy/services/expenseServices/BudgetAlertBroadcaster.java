@@ -0,0 +1,59 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.springprojektzespolowy.dto.expenses.BudgetAlertDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Przekazuje alerty budżetu do klientów subskrybujących grupę przez Server-Sent Events.
+ * Alert wysyłany jest dopiero po zatwierdzeniu transakcji, która go wygenerowała.
+ */
+@Slf4j
+@Component
+public class BudgetAlertBroadcaster {
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Duration timeout;
+
+    public BudgetAlertBroadcaster(@Value("${app.budget.alerts.sse-timeout:PT30M}") Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public SseEmitter subscribe(Long groupId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        List<SseEmitter> groupSubscribers = subscribers.computeIfAbsent(groupId, id -> new CopyOnWriteArrayList<>());
+        groupSubscribers.add(emitter);
+        Runnable remove = () -> groupSubscribers.remove(emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBudgetAlert(BudgetAlertDto alert) {
+        List<SseEmitter> groupSubscribers = subscribers.get(alert.groupId());
+        if (groupSubscribers == null) return;
+        for (SseEmitter emitter : groupSubscribers) {
+            try {
+                emitter.send(SseEmitter.event().id(String.valueOf(alert.id())).name("budget-alert").data(alert));
+            } catch (IOException | IllegalStateException e) {
+                groupSubscribers.remove(emitter);
+                log.debug("Nie udało się wysłać alertu budżetu do subskrybenta: {}", e.getMessage());
+            }
+        }
+    }
+}
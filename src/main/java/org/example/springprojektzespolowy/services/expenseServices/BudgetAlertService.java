@@ -0,0 +1,85 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springprojektzespolowy.dto.expenses.BudgetAlertDto;
+import org.example.springprojektzespolowy.models.BudgetAlert;
+import org.example.springprojektzespolowy.models.Group;
+import org.example.springprojektzespolowy.repositories.expenseRepos.BudgetAlertRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.GroupSpendingRepository;
+import org.example.springprojektzespolowy.services.GroupService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pilnuje progów budżetu grupy (domyślnie 50, 80 i 100% {@code maxBudget}). Każdy zapis wydatku zmienia
+ * bieżącą sumę w {@code group_spending} i porównuje wartość przed i po zmianie, bez przeglądania wydatków.
+ * Przekroczenie progu w górę jest zapisywane i publikowane jako {@link BudgetAlertDto}.
+ */
+@Slf4j
+@Service
+public class BudgetAlertService {
+
+    private final GroupSpendingRepository groupSpendingRepository;
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GroupService groupService;
+    private final int[] thresholds;
+
+    public BudgetAlertService(GroupSpendingRepository groupSpendingRepository, BudgetAlertRepository budgetAlertRepository,
+                              ApplicationEventPublisher eventPublisher, GroupService groupService,
+                              @Value("${app.budget.alert-thresholds:50,80,100}") int[] thresholds) {
+        this.groupSpendingRepository = groupSpendingRepository;
+        this.budgetAlertRepository = budgetAlertRepository;
+        this.eventPublisher = eventPublisher;
+        this.groupService = groupService;
+        this.thresholds = Arrays.stream(thresholds).sorted().toArray();
+    }
+
+    public void recordSpending(Group group, BigDecimal delta) {
+        if (delta == null || delta.signum() == 0) return;
+        BigDecimal after = groupSpendingRepository.addAndGetSpent(group.getId(), delta);
+        BigDecimal before = after.subtract(delta);
+
+        for (int threshold : crossedThresholds(before, after, group.getMaxBudget(), thresholds)) {
+            BudgetAlert alert = budgetAlertRepository.save(new BudgetAlert(group, threshold, after, group.getMaxBudget(), LocalDateTime.now()));
+            log.info("Grupa {} przekroczyła {}% budżetu", group.getId(), threshold);
+            eventPublisher.publishEvent(new BudgetAlertDto(alert.getId(), group.getId(), threshold, after, group.getMaxBudget(), alert.getCreatedAt()));
+        }
+    }
+
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public List<BudgetAlertDto> getAlerts(Long groupId, int limit) {
+        if (!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
+        return budgetAlertRepository.findRecentByGroupId(groupId, PageRequest.of(0, Math.min(Math.max(limit, 1), 200)));
+    }
+
+    @Transactional
+    public void deleteByGroupId(Long groupId) {
+        budgetAlertRepository.deleteByGroupId(groupId);
+        groupSpendingRepository.deleteByGroupId(groupId);
+    }
+
+    /**
+     * Progi (w procentach), które suma przekroczyła w górę przy przejściu z {@code before} do {@code after}.
+     */
+    static List<Integer> crossedThresholds(BigDecimal before, BigDecimal after, BigDecimal maxBudget, int[] thresholds) {
+        List<Integer> crossed = new ArrayList<>();
+        if (maxBudget == null || maxBudget.signum() <= 0 || after.compareTo(before) <= 0) return crossed;
+        for (int threshold : thresholds) {
+            BigDecimal limit = maxBudget.multiply(BigDecimal.valueOf(threshold)).movePointLeft(2);
+            if (before.compareTo(limit) < 0 && after.compareTo(limit) >= 0) crossed.add(threshold);
+        }
+        return crossed;
+    }
+}
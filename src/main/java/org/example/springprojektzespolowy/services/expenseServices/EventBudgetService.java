@@ -0,0 +1,101 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import org.example.springprojektzespolowy.dto.event.EventBudgetDto;
+import org.example.springprojektzespolowy.dto.event.EventBudgetRow;
+import org.example.springprojektzespolowy.dto.event.EventMemberShareDto;
+import org.example.springprojektzespolowy.dto.mappers.EventDtoMapper;
+import org.example.springprojektzespolowy.dto.mappers.UserDtoMapper;
+import org.example.springprojektzespolowy.dto.userDto.UserDtoUidNameEmail;
+import org.example.springprojektzespolowy.models.Event;
+import org.example.springprojektzespolowy.repositories.EventRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesEventRepository;
+import org.example.springprojektzespolowy.repositories.userRepos.UserRepository;
+import org.example.springprojektzespolowy.services.GroupService;
+import org.example.springprojektzespolowy.utils.GroupCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Koszty wydarzeń grupy liczone przez powiązania {@code expenses_event}. Agregat całej grupy pochodzi z jednego
+ * zapytania i trzymany jest w cache LRU do czasu zmiany wydatku, jego uczestników albo powiązań z wydarzeniami.
+ */
+@Service
+public class EventBudgetService {
+
+    private final ExpensesEventRepository expensesEventRepository;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final EventDtoMapper eventDtoMapper;
+    private final UserDtoMapper userDtoMapper;
+    private final GroupService groupService;
+    private final GroupCache<Map<Long, EventTotals>> cache;
+
+    public EventBudgetService(ExpensesEventRepository expensesEventRepository, EventRepository eventRepository, UserRepository userRepository,
+                              EventDtoMapper eventDtoMapper, UserDtoMapper userDtoMapper, GroupService groupService,
+                              @Value("${app.event-budget-cache.max-size:1000}") int maxSize) {
+        this.expensesEventRepository = expensesEventRepository;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.eventDtoMapper = eventDtoMapper;
+        this.userDtoMapper = userDtoMapper;
+        this.groupService = groupService;
+        this.cache = new GroupCache<>(maxSize);
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public List<EventBudgetDto> getEventBudgets(Long groupId) {
+        if (!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
+        Map<Long, EventTotals> totals = cache.get(groupId, () -> aggregate(expensesEventRepository.aggregateEventBudgets(groupId)));
+
+        Set<Long> userIds = new HashSet<>();
+        totals.values().forEach(eventTotals -> userIds.addAll(eventTotals.shares().keySet()));
+        Map<Long, UserDtoUidNameEmail> users = new HashMap<>();
+        userRepository.findAllById(userIds).forEach(user -> users.put(user.getId(), userDtoMapper.convertTo(user)));
+
+        return eventRepository.findWithMembersByGroupId(groupId).stream()
+                .sorted(Comparator.comparing(Event::getStartEvent, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Event::getId))
+                .map(event -> {
+                    EventTotals eventTotals = totals.getOrDefault(event.getId(), EventTotals.EMPTY);
+                    List<EventMemberShareDto> shares = eventTotals.shares().entrySet().stream()
+                            .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                            .map(share -> new EventMemberShareDto(users.get(share.getKey()), MinorUnits.toDecimal(share.getValue())))
+                            .toList();
+                    return eventDtoMapper.convertBudget(event, eventTotals.expenses(), MinorUnits.toDecimal(eventTotals.cents()), shares);
+                })
+                .toList();
+    }
+
+    public void evict(Long groupId) {
+        cache.evict(groupId);
+    }
+
+    static Map<Long, EventTotals> aggregate(List<EventBudgetRow> rows) {
+        Map<Long, Long> cents = new HashMap<>();
+        Map<Long, Long> expenses = new HashMap<>();
+        Map<Long, Map<Long, Long>> shares = new HashMap<>();
+        for (EventBudgetRow row : rows) {
+            if (row.getUserId() == null) {
+                cents.put(row.getEventId(), row.getCents());
+                expenses.put(row.getEventId(), row.getExpenses());
+            } else {
+                shares.computeIfAbsent(row.getEventId(), eventId -> new HashMap<>()).put(row.getUserId(), row.getCents());
+            }
+        }
+
+        Map<Long, EventTotals> totals = new HashMap<>();
+        cents.forEach((eventId, eventCents) -> totals.put(eventId,
+                new EventTotals(eventCents, expenses.get(eventId), Map.copyOf(shares.getOrDefault(eventId, Map.of())))));
+        return Map.copyOf(totals);
+    }
+
+    record EventTotals(long cents, long expenses, Map<Long, Long> shares) {
+        static final EventTotals EMPTY = new EventTotals(0, 0, Map.of());
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import org.apache.coyote.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Pozycja ostatniego zwróconego wydatku (data, id), przekazywana klientowi jako nieprzezroczysty token base64url.
+ */
+record ExpenseCursor(LocalDateTime dateOfExpense, Long id) {
+
+    String encode() {
+        String raw = (dateOfExpense == null ? "" : dateOfExpense.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ExpenseCursor decode(String cursor) throws BadRequestException {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String date = raw.substring(0, separator);
+            return new ExpenseCursor(date.isEmpty() ? null : LocalDateTime.parse(date), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -1,7 +1,83 @@
 package org.example.springprojektzespolowy.services.expenseServices;
 
+import jakarta.transaction.Transactional;
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.expenses.ExpenseDocumentLinksDto;
+import org.example.springprojektzespolowy.dto.expenses.LinkResultDto;
+import org.example.springprojektzespolowy.models.intermediateTable.ExpensesDocument;
+import org.example.springprojektzespolowy.models.intermediateTable.ExpensesDocumentKey;
+import org.example.springprojektzespolowy.repositories.DocumentsRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesDocumentRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesRepository;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.example.springprojektzespolowy.services.expenseServices.ExpenseEventService.MAX_LINKS;
+import static org.example.springprojektzespolowy.services.expenseServices.ExpenseEventService.requireAll;
+
+/**
+ * Masowe łączenie wydatków z dokumentami (np. paragonami) grupy, na tych samych zasadach co {@link ExpenseEventService}.
+ */
 @Service
 public class ExpenseDocumentService {
+
+    private final ExpensesDocumentRepository expensesDocumentRepository;
+    private final ExpensesRepository expensesRepository;
+    private final DocumentsRepository documentsRepository;
+
+    public ExpenseDocumentService(ExpensesDocumentRepository expensesDocumentRepository, ExpensesRepository expensesRepository, DocumentsRepository documentsRepository) {
+        this.expensesDocumentRepository = expensesDocumentRepository;
+        this.expensesRepository = expensesRepository;
+        this.documentsRepository = documentsRepository;
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public LinkResultDto linkDocuments(Long groupId, ExpenseDocumentLinksDto links) throws BadRequestException {
+        validate(groupId, links);
+        Set<ExpensesDocumentKey> existing = new HashSet<>(expensesDocumentRepository.findExistingLinks(links.expenseIds(), links.documentIds()));
+
+        List<ExpensesDocument> newLinks = new ArrayList<>();
+        for (Long expenseId : links.expenseIds()) {
+            for (Long documentId : links.documentIds()) {
+                ExpensesDocumentKey key = new ExpensesDocumentKey(documentId, expenseId);
+                if (existing.contains(key)) continue;
+                newLinks.add(new ExpensesDocument(key, expensesRepository.getReferenceById(expenseId),
+                        documentsRepository.getReferenceById(documentId), links.role()));
+            }
+        }
+        expensesDocumentRepository.saveAll(newLinks);
+        return new LinkResultDto(pairs(links), newLinks.size());
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public LinkResultDto unlinkDocuments(Long groupId, ExpenseDocumentLinksDto links) throws BadRequestException {
+        validate(groupId, links);
+        int removed = expensesDocumentRepository.deleteLinks(links.expenseIds(), links.documentIds());
+        return new LinkResultDto(pairs(links), removed);
+    }
+
+    public void deleteByExpenseId(Long expenseId) {
+        expensesDocumentRepository.deleteByExpenseId(expenseId);
+    }
+
+    private void validate(Long groupId, ExpenseDocumentLinksDto links) throws BadRequestException {
+        if (links.expenseIds() == null || links.documentIds() == null || links.expenseIds().isEmpty() || links.documentIds().isEmpty()) {
+            throw new BadRequestException("expenseIds and documentIds must not be empty");
+        }
+        if (pairs(links) > MAX_LINKS) throw new BadRequestException("Too many links in one request, max " + MAX_LINKS);
+
+        requireAll(links.expenseIds(), expensesRepository.findIdsInGroup(groupId, links.expenseIds()), "Expenses");
+        requireAll(links.documentIds(), documentsRepository.findIdsInGroup(groupId, links.documentIds()), "Documents");
+    }
+
+    private static int pairs(ExpenseDocumentLinksDto links) {
+        return (int) Math.min((long) links.expenseIds().size() * links.documentIds().size(), Integer.MAX_VALUE);
+    }
 }
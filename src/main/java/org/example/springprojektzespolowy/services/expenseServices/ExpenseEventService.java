@@ -1,7 +1,92 @@
 package org.example.springprojektzespolowy.services.expenseServices;
 
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.expenses.ExpenseEventLinksDto;
+import org.example.springprojektzespolowy.dto.expenses.LinkResultDto;
+import org.example.springprojektzespolowy.models.intermediateTable.ExpensesEvent;
+import org.example.springprojektzespolowy.models.intermediateTable.ExpensesEventKey;
+import org.example.springprojektzespolowy.repositories.EventRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesEventRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesRepository;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+
+/**
+ * Masowe łączenie wydatków z wydarzeniami grupy. Przynależność wszystkich id do grupy sprawdzana jest jednym
+ * zapytaniem na typ encji, a nowe powiązania zapisywane przez saveAll w batchu JDBC.
+ */
 @Service
 public class ExpenseEventService {
+
+    static final int MAX_LINKS = 5000;
+
+    private final ExpensesEventRepository expensesEventRepository;
+    private final ExpensesRepository expensesRepository;
+    private final EventRepository eventRepository;
+    private final EventBudgetService eventBudgetService;
+
+    public ExpenseEventService(ExpensesEventRepository expensesEventRepository, ExpensesRepository expensesRepository, EventRepository eventRepository, EventBudgetService eventBudgetService) {
+        this.expensesEventRepository = expensesEventRepository;
+        this.expensesRepository = expensesRepository;
+        this.eventRepository = eventRepository;
+        this.eventBudgetService = eventBudgetService;
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public LinkResultDto linkEvents(Long groupId, ExpenseEventLinksDto links) throws BadRequestException {
+        validate(groupId, links);
+        Set<ExpensesEventKey> existing = new HashSet<>(expensesEventRepository.findExistingLinks(links.expenseIds(), links.eventIds()));
+
+        List<ExpensesEvent> newLinks = new ArrayList<>();
+        for (Long expenseId : links.expenseIds()) {
+            for (Long eventId : links.eventIds()) {
+                ExpensesEventKey key = new ExpensesEventKey(eventId, expenseId);
+                if (existing.contains(key)) continue;
+                newLinks.add(new ExpensesEvent(key, eventRepository.getReferenceById(eventId),
+                        expensesRepository.getReferenceById(expenseId), links.role()));
+            }
+        }
+        expensesEventRepository.saveAll(newLinks);
+        if (!newLinks.isEmpty()) eventBudgetService.evict(groupId);
+        return new LinkResultDto(pairs(links), newLinks.size());
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public LinkResultDto unlinkEvents(Long groupId, ExpenseEventLinksDto links) throws BadRequestException {
+        validate(groupId, links);
+        int removed = expensesEventRepository.deleteLinks(links.expenseIds(), links.eventIds());
+        if (removed > 0) eventBudgetService.evict(groupId);
+        return new LinkResultDto(pairs(links), removed);
+    }
+
+    public void deleteByExpenseId(Long expenseId) {
+        expensesEventRepository.deleteByExpenseId(expenseId);
+    }
+
+    private void validate(Long groupId, ExpenseEventLinksDto links) throws BadRequestException {
+        if (links.expenseIds() == null || links.eventIds() == null || links.expenseIds().isEmpty() || links.eventIds().isEmpty()) {
+            throw new BadRequestException("expenseIds and eventIds must not be empty");
+        }
+        if (pairs(links) > MAX_LINKS) throw new BadRequestException("Too many links in one request, max " + MAX_LINKS);
+
+        requireAll(links.expenseIds(), expensesRepository.findIdsInGroup(groupId, links.expenseIds()), "Expenses");
+        requireAll(links.eventIds(), eventRepository.findIdsInGroup(groupId, links.eventIds()), "Events");
+    }
+
+    private static int pairs(ExpenseEventLinksDto links) {
+        return (int) Math.min((long) links.expenseIds().size() * links.eventIds().size(), Integer.MAX_VALUE);
+    }
+
+    static void requireAll(Set<Long> requested, Collection<Long> found, String entity) {
+        if (found.size() == requested.size()) return;
+        Set<Long> missing = new TreeSet<>(requested);
+        missing.removeAll(found);
+        throw new EntityNotFoundException(entity + " not found in group: " + missing);
+    }
 }
@@ -0,0 +1,151 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springprojektzespolowy.dto.expenses.ExpenseExportRow;
+import org.example.springprojektzespolowy.dto.expenses.ExportFormat;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesRepository;
+import org.example.springprojektzespolowy.services.GroupService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Eksport wydatków grupy do CSV lub NDJSON. Wiersze czytane są kursorem bazy (fetch size) i od razu
+ * zapisywane do odpowiedzi, więc zużycie pamięci nie zależy od liczby wydatków. Każdy wiersz to jeden
+ * uczestnik wydatku z jego częścią kwoty.
+ */
+@Slf4j
+@Service
+public class ExpenseExportService {
+
+    private static final String CSV_HEADER = "expense_id,date_of_expense,date_of_adding,name,description,category,price,currency," +
+            "creator,participant_uid,participant_name,role,share";
+
+    private final ExpensesRepository expensesRepository;
+    private final GroupService groupService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int flushRows;
+
+    public ExpenseExportService(ExpensesRepository expensesRepository, GroupService groupService, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.export.flush-rows:500}") int flushRows) {
+        this.expensesRepository = expensesRepository;
+        this.groupService = groupService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.flushRows = flushRows;
+    }
+
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public StreamingResponseBody exportExpenses(Long groupId, ExportFormat format) {
+        String currency = groupService.getGroupById(groupId).getCurrency();
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<ExpenseExportRow> rows = expensesRepository.streamExportRowsByGroupId(groupId)) {
+                        write(rows.iterator(), currency, format, writer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                log.warn("Przerwano eksport wydatków grupy {}: {}", groupId, e.getCause().getMessage());
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private void write(Iterator<ExpenseExportRow> rows, String currency, ExportFormat format, Writer writer) throws IOException {
+        if (format == ExportFormat.CSV) writer.write(CSV_HEADER + "\n");
+
+        List<ExpenseExportRow> expenseRows = new ArrayList<>();
+        long written = 0;
+        while (rows.hasNext()) {
+            ExpenseExportRow row = rows.next();
+            if (!expenseRows.isEmpty() && !expenseRows.getFirst().expenseId().equals(row.expenseId())) {
+                written = writeExpense(expenseRows, currency, format, writer, written);
+                expenseRows.clear();
+            }
+            expenseRows.add(row);
+        }
+        if (!expenseRows.isEmpty()) writeExpense(expenseRows, currency, format, writer, written);
+    }
+
+    /**
+     * Wiersze jednego wydatku, posortowane po id uczestnika, tak jak przy podziale w {@link SettlementService}.
+     */
+    private long writeExpense(List<ExpenseExportRow> rows, String currency, ExportFormat format, Writer writer, long written) throws IOException {
+        int participants = (int) rows.stream().filter(row -> row.participantId() != null).count();
+        long totalCents = rows.getFirst().price() == null ? 0 : MinorUnits.toMinor(rows.getFirst().price());
+
+        for (int i = 0; i < rows.size(); i++) {
+            ExpenseExportRow row = rows.get(i);
+            BigDecimal share = row.participantId() == null
+                    ? null
+                    : MinorUnits.toDecimal(SettlementService.shareInCents(totalCents, participants, i));
+            ExportLine line = new ExportLine(row.expenseId(), row.dateOfExpense(), row.dateOfAdding(), row.name(), row.description(),
+                    row.category(), row.price(), currency, row.creator(), row.participantUId(), row.participantName(), row.role(), share);
+
+            if (format == ExportFormat.CSV) writeCsv(line, writer);
+            else writer.write(objectMapper.writeValueAsString(line) + "\n");
+
+            if (++written % flushRows == 0) writer.flush();
+        }
+        return written;
+    }
+
+    private void writeCsv(ExportLine line, Writer writer) throws IOException {
+        StringBuilder csv = new StringBuilder(256);
+        csv.append(line.expenseId()).append(',')
+                .append(value(line.dateOfExpense())).append(',')
+                .append(value(line.dateOfAdding())).append(',')
+                .append(text(line.name())).append(',')
+                .append(text(line.description())).append(',')
+                .append(text(line.category())).append(',')
+                .append(value(line.price())).append(',')
+                .append(text(line.currency())).append(',')
+                .append(text(line.creator())).append(',')
+                .append(text(line.participantUId())).append(',')
+                .append(text(line.participantName())).append(',')
+                .append(text(line.role())).append(',')
+                .append(value(line.share())).append('\n');
+        writer.write(csv.toString());
+    }
+
+    private static String value(Object value) {
+        if (value == null) return "";
+        return value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+    }
+
+    /**
+     * Pole tekstowe wg RFC 4180. Wartości zaczynające się od znaków formuły poprzedzone są apostrofem,
+     * żeby arkusz nie wykonał ich jako formuły.
+     */
+    static String text(String value) {
+        if (value == null || value.isEmpty()) return "";
+        String escaped = "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        boolean quote = escaped.indexOf(',') >= 0 || escaped.indexOf('"') >= 0 || escaped.indexOf('\n') >= 0 || escaped.indexOf('\r') >= 0;
+        return quote ? "\"" + escaped.replace("\"", "\"\"") + "\"" : escaped;
+    }
+
+    private record ExportLine(Long expenseId, LocalDateTime dateOfExpense, LocalDateTime dateOfAdding, String name,
+                              String description, String category, BigDecimal price, String currency, String creator,
+                              String participantUId, String participantName, String role, BigDecimal share) {}
+}
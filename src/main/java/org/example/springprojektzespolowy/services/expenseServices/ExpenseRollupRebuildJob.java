@@ -0,0 +1,35 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.springprojektzespolowy.repositories.GroupRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Okresowo przelicza sumy wydatków wszystkich grup od zera i loguje grupy, w których wykryto rozbieżność.
+ */
+@Slf4j
+@Component
+public class ExpenseRollupRebuildJob {
+
+    private final ExpenseRollupService expenseRollupService;
+    private final GroupRepository groupRepository;
+
+    public ExpenseRollupRebuildJob(ExpenseRollupService expenseRollupService, GroupRepository groupRepository) {
+        this.expenseRollupService = expenseRollupService;
+        this.groupRepository = groupRepository;
+    }
+
+    @Scheduled(cron = "${app.rollup.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        int drifted = 0;
+        for (Long groupId : groupRepository.findAllIds()) {
+            try {
+                if (expenseRollupService.rebuildRollups(groupId)) drifted++;
+            } catch (RuntimeException e) {
+                log.error("Nie udało się przeliczyć sum wydatków grupy {}: {}", groupId, e.getMessage());
+            }
+        }
+        log.info("Przeliczono sumy wydatków, niespójnych grup: {}", drifted);
+    }
+}
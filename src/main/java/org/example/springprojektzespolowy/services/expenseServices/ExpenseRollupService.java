@@ -0,0 +1,140 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springprojektzespolowy.dto.expenses.CategoryTotalDto;
+import org.example.springprojektzespolowy.dto.expenses.DailyTotalDto;
+import org.example.springprojektzespolowy.dto.expenses.ExpenseSummaryDto;
+import org.example.springprojektzespolowy.models.Expense;
+import org.example.springprojektzespolowy.models.ExpenseRollup;
+import org.example.springprojektzespolowy.models.ExpenseRollupKey;
+import org.example.springprojektzespolowy.models.Group;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpenseRollupRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.GroupSpendingRepository;
+import org.example.springprojektzespolowy.services.GroupService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Sumy wydatków per (grupa, kategoria, dzień). Podsumowanie budżetu czyta tylko te wiersze zamiast
+ * przeliczać całą listę wydatków.
+ */
+@Slf4j
+@Service
+public class ExpenseRollupService {
+
+    private final ExpenseRollupRepository expenseRollupRepository;
+    private final GroupSpendingRepository groupSpendingRepository;
+    private final GroupService groupService;
+
+    public ExpenseRollupService(ExpenseRollupRepository expenseRollupRepository, GroupSpendingRepository groupSpendingRepository, GroupService groupService) {
+        this.expenseRollupRepository = expenseRollupRepository;
+        this.groupSpendingRepository = groupSpendingRepository;
+        this.groupService = groupService;
+    }
+
+    public void applyExpense(Long groupId, Expense expense) {
+        update(groupId, expense, 1);
+    }
+
+    public void reverseExpense(Long groupId, Expense expense) {
+        update(groupId, expense, -1);
+        expenseRollupRepository.deleteEmptyRollups(groupId);
+    }
+
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public ExpenseSummaryDto getSummary(Long groupId) {
+        List<ExpenseRollup> rollups = expenseRollupRepository.findRollupsByGroupId(groupId);
+        Group group = rollups.isEmpty() ? groupService.getGroupById(groupId) : rollups.getFirst().getGroup();
+
+        long total = 0;
+        long expenseCount = 0;
+        MinorUnitAccumulator<String> categories = new MinorUnitAccumulator<>();
+        MinorUnitAccumulator<LocalDate> daily = new MinorUnitAccumulator<>(rollups.size());
+        for (ExpenseRollup rollup : rollups) {
+            long minor = MinorUnits.toMinor(rollup.getTotal());
+            total += minor;
+            expenseCount += rollup.getExpenseCount();
+            daily.add(rollup.getId().getDay(), minor, rollup.getExpenseCount());
+            categories.add(rollup.getId().getCategory(), minor, rollup.getExpenseCount());
+        }
+
+        Map<String, CategoryTotalDto> categoryTotals = new TreeMap<>();
+        categories.forEach((category, categoryTotal, count) ->
+                categoryTotals.put(category, new CategoryTotalDto(displayCategory(category), MinorUnits.toDecimal(categoryTotal), count)));
+        List<DailyTotalDto> dailyTotals = new ArrayList<>(daily.size());
+        daily.forEach((day, dayTotal, count) -> dailyTotals.add(new DailyTotalDto(day, MinorUnits.toDecimal(dayTotal))));
+
+        BigDecimal totalAmount = MinorUnits.toDecimal(total);
+        BigDecimal remaining = group.getMaxBudget() == null ? null : group.getMaxBudget().subtract(totalAmount);
+        return new ExpenseSummaryDto(groupId, group.getCurrency(), totalAmount, expenseCount, group.getMaxBudget(), remaining,
+                List.copyOf(categoryTotals.values()), dailyTotals);
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isDeveloper(authentication.name)")
+    public ExpenseSummaryDto rebuild(Long groupId) {
+        groupService.getGroupById(groupId);
+        rebuildRollups(groupId);
+        return getSummary(groupId);
+    }
+
+    /**
+     * Przelicza sumy grupy od zera (razem z bieżącą sumą w group_spending) i zwraca true, jeśli zapisane wcześniej wartości się różniły.
+     */
+    @Transactional
+    public boolean rebuildRollups(Long groupId) {
+        Map<ExpenseRollupKey, ExpenseRollup> before = byKey(expenseRollupRepository.findRollupsByGroupId(groupId));
+        expenseRollupRepository.deleteByGroupId(groupId);
+        expenseRollupRepository.insertRollupsFromExpenses(groupId);
+        groupSpendingRepository.resetSpentFromRollups(groupId);
+        Map<ExpenseRollupKey, ExpenseRollup> after = byKey(expenseRollupRepository.findRollupsByGroupId(groupId));
+
+        boolean drift = before.size() != after.size() || after.entrySet().stream().anyMatch(entry -> {
+            ExpenseRollup previous = before.get(entry.getKey());
+            return previous == null
+                    || previous.getTotal().compareTo(entry.getValue().getTotal()) != 0
+                    || previous.getExpenseCount() != entry.getValue().getExpenseCount();
+        });
+        if (drift) log.warn("Sumy wydatków grupy {} były niespójne i zostały przeliczone", groupId);
+        return drift;
+    }
+
+    @Transactional
+    public void deleteRollups(Long groupId) {
+        expenseRollupRepository.deleteByGroupId(groupId);
+    }
+
+    /**
+     * Dzień, do którego należy wydatek: data wydatku, a bez niej data dodania. Ta sama reguła co
+     * COALESCE(date_of_expense, date_of_adding) w {@link ExpenseRollupRepository#insertRollupsFromExpenses}.
+     */
+    static LocalDate rollupDay(Expense expense) {
+        LocalDateTime date = expense.getDateOfExpense() != null ? expense.getDateOfExpense() : expense.getDateOfAdding();
+        return date == null ? null : date.toLocalDate();
+    }
+
+    private void update(Long groupId, Expense expense, int sign) {
+        BigDecimal price = expense.getPrice();
+        LocalDate day = rollupDay(expense);
+        if (price == null || day == null) return;
+        String category = expense.getCategory() == null ? ExpenseRollup.NO_CATEGORY : expense.getCategory();
+        expenseRollupRepository.addToRollup(groupId, category, day, sign > 0 ? price : price.negate(), sign);
+    }
+
+    private Map<ExpenseRollupKey, ExpenseRollup> byKey(List<ExpenseRollup> rollups) {
+        Map<ExpenseRollupKey, ExpenseRollup> map = new HashMap<>();
+        rollups.forEach(rollup -> map.put(new ExpenseRollupKey(rollup.getId().getGroupId(), rollup.getId().getCategory(), rollup.getId().getDay()),
+                new ExpenseRollup(null, null, rollup.getTotal(), rollup.getExpenseCount())));
+        return map;
+    }
+
+    private static String displayCategory(String category) {
+        return ExpenseRollup.NO_CATEGORY.equals(category) ? null : category;
+    }
+}
@@ -11,35 +11,56 @@ import org.example.springprojektzespolowy.models.User;
 import org.example.springprojektzespolowy.models.intermediateTable.ExpensesUser;
 import org.example.springprojektzespolowy.models.intermediateTable.ExpensesUserKey;
 import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesUserRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpenseSpecifications;
 import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesRepository;
 import org.example.springprojektzespolowy.services.GroupService;
+import org.example.springprojektzespolowy.services.userServices.UserIdResolver;
 import org.example.springprojektzespolowy.services.userServices.UserService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
 
 @Service
 public class ExpenseService {
 
+    private static final int DEFAULT_SEARCH_LIMIT = 50;
+    private static final int MAX_SEARCH_LIMIT = 200;
+
     
     private final ExpensesRepository expesnsesRepository;
     private final UserService userService;
     private final ExpensesDtoMaper expensesDtoMaper;
     private final GroupService groupService;
     private final ExpensesUserRepository expensesUserRepository;
+    private final SettlementService settlementService;
+    private final ExpenseRollupService expenseRollupService;
+    private final BudgetAlertService budgetAlertService;
+    private final ExpenseEventService expenseEventService;
+    private final ExpenseDocumentService expenseDocumentService;
+    private final EventBudgetService eventBudgetService;
+    private final FxRateService fxRateService;
+    private final UserIdResolver userIdResolver;
 
 
-    public ExpenseService(ExpensesRepository expesnsesRepository, UserService userService, ExpensesDtoMaper expensesDtoMaper, GroupService groupService, ExpensesUserRepository expensesUserRepository) {
+    public ExpenseService(ExpensesRepository expesnsesRepository, UserService userService, ExpensesDtoMaper expensesDtoMaper, GroupService groupService, ExpensesUserRepository expensesUserRepository, SettlementService settlementService, ExpenseRollupService expenseRollupService, BudgetAlertService budgetAlertService, ExpenseEventService expenseEventService, ExpenseDocumentService expenseDocumentService, EventBudgetService eventBudgetService, FxRateService fxRateService, UserIdResolver userIdResolver) {
         this.expesnsesRepository = expesnsesRepository;
         this.userService = userService;
         this.expensesDtoMaper = expensesDtoMaper;
         this.groupService = groupService;
         this.expensesUserRepository = expensesUserRepository;
+        this.settlementService = settlementService;
+        this.expenseRollupService = expenseRollupService;
+        this.budgetAlertService = budgetAlertService;
+        this.expenseEventService = expenseEventService;
+        this.expenseDocumentService = expenseDocumentService;
+        this.eventBudgetService = eventBudgetService;
+        this.fxRateService = fxRateService;
+        this.userIdResolver = userIdResolver;
     }
 
 
@@ -51,18 +72,17 @@ public class ExpenseService {
         String creatorUId =  SecurityContextHolder.getContext().getAuthentication().getName();
         Group group = groupService.getGroupById(groupId);
         Expense convert = expensesDtoMaper.convert(createExpenseDto,group);
+        applyPrice(convert, fxRateService.normalize(createExpenseDto.price(), createExpenseDto.currency(), group.getCurrency()));
+        convert.setCreator(creatorUId);
         Expense expense = expesnsesRepository.save(convert);
-        expense.setCreator(creatorUId);
 
-        List<ExpensesUser> participants = new ArrayList<>();
-        ExpensesUser expensesUser = addParticipant(expense, creatorUId, "CREATOR");
-        participants.add(expensesUser);
-        createExpenseDto.participants().forEach(Uid -> {
-            if (!Uid.equals(creatorUId)) {
-                ExpensesUser participant = addParticipant(expense, Uid, "PAYER");
-                participants.add(participant);
-            }
-        });
+        Set<String> participantUIds = new LinkedHashSet<>();
+        participantUIds.add(creatorUId);
+        participantUIds.addAll(createExpenseDto.participants());
+        List<ExpensesUser> participants = addParticipants(expense, participantUIds);
+        settlementService.applyExpense(groupId, creatorUId, expense.getPrice(), participantIds(participants));
+        expenseRollupService.applyExpense(groupId, expense);
+        budgetAlertService.recordSpending(group, expense.getPrice());
 
         return expensesDtoMaper.convertParticipants(expense, participants);
     }
@@ -73,25 +93,42 @@ public class ExpenseService {
         if (containCreatorAndIsNotEmpty(updateExpenseDto)) throw new BadRequestException();
         Expense expense = expesnsesRepository.findById(updateExpenseDto.id())
                 .orElseThrow(() -> new EntityNotFoundException("Expense not found"));
+        Long groupId = expense.getGroup().getId();
+        FxRateService.FxConversion price = fxRateService.normalize(updateExpenseDto.price(), updateExpenseDto.currency(), expense.getGroup().getCurrency());
+        settlementService.reverseExpense(groupId, expense.getCreator(), expense.getPrice(), participantIds(expense.getParticipants()));
+        expenseRollupService.reverseExpense(groupId, expense);
+        BigDecimal previousPrice = expense.getPrice() == null ? BigDecimal.ZERO : expense.getPrice();
         expense.setName(updateExpenseDto.name());
         expense.setDescription(updateExpenseDto.description());
         expense.setCategory(updateExpenseDto.category());
-        expense.setPrice(updateExpenseDto.price());
+        applyPrice(expense, price);
         expense.setDateOfExpense(updateExpenseDto.dateOfExpense());
 
-        expense.getParticipants().forEach(participant -> expensesUserRepository.deleteByUser_UIdAndExpense_Id(participant.getUser().getUId(), expense.getId()));
-
-        List<ExpensesUser> updatedParticipants = new ArrayList<>();
-        expense.getParticipants().clear();
-        updateExpenseDto.participants().forEach(participant -> {
-            if (participant.equals(expense.getCreator())){
-                ExpensesUser creator = addParticipant(expense, participant, "CREATOR");
-                updatedParticipants.add(creator);
-            }else{
-                ExpensesUser payer = addParticipant(expense, participant, "PAYER");
-                updatedParticipants.add(payer);
-            }
-        });
+        Set<String> requestedUIds = new LinkedHashSet<>(updateExpenseDto.participants());
+        Map<String, Long> requestedIds = userIdResolver.resolveIds(requestedUIds);
+        if (requestedIds.size() < requestedUIds.size()) throw new EntityNotFoundException("User not found");
+        Set<Long> requestedUserIds = new HashSet<>(requestedIds.values());
+
+        Map<Long, ExpensesUser> currentParticipants = new HashMap<>();
+        expense.getParticipants().forEach(participant -> currentParticipants.put(participant.getExpensesUserKey().getUserId(), participant));
+
+        List<Long> removedUserIds = currentParticipants.keySet().stream()
+                .filter(userId -> !requestedUserIds.contains(userId))
+                .toList();
+        if (!removedUserIds.isEmpty()) expensesUserRepository.deleteByExpenseIdAndUserIds(expense.getId(), removedUserIds);
+
+        List<String> addedUIds = requestedUIds.stream().filter(UId -> !currentParticipants.containsKey(requestedIds.get(UId))).toList();
+        Map<Long, ExpensesUser> addedParticipants = new HashMap<>();
+        addParticipants(expense, addedUIds).forEach(participant -> addedParticipants.put(participant.getExpensesUserKey().getUserId(), participant));
+
+        List<ExpensesUser> updatedParticipants = requestedUIds.stream()
+                .map(requestedIds::get)
+                .map(userId -> currentParticipants.containsKey(userId) ? currentParticipants.get(userId) : addedParticipants.get(userId))
+                .toList();
+        settlementService.applyExpense(groupId, expense.getCreator(), expense.getPrice(), participantIds(updatedParticipants));
+        expenseRollupService.applyExpense(groupId, expense);
+        if (expense.getPrice() != null) budgetAlertService.recordSpending(expense.getGroup(), expense.getPrice().subtract(previousPrice));
+        eventBudgetService.evict(groupId);
         return expensesDtoMaper.convertParticipants(expense,updatedParticipants);
     }
 
@@ -99,19 +136,70 @@ public class ExpenseService {
     @PreAuthorize("@securityService.isExpenseCreatorByExpId(authentication.name, #expId)")
     public ExpenseWithoutDocumentsAndEventsDto deleteExpById(Long expId){
         Expense expense = expesnsesRepository.findById(expId).orElseThrow(() -> new EntityNotFoundException("Expense not found"));
+        settlementService.reverseExpense(expense.getGroup().getId(), expense.getCreator(), expense.getPrice(), participantIds(expense.getParticipants()));
+        expenseRollupService.reverseExpense(expense.getGroup().getId(), expense);
+        if (expense.getPrice() != null) budgetAlertService.recordSpending(expense.getGroup(), expense.getPrice().negate());
         expensesUserRepository.deleteByExpense_Id(expId);
+        expenseEventService.deleteByExpenseId(expId);
+        expenseDocumentService.deleteByExpenseId(expId);
         expesnsesRepository.deleteById(expId);
+        eventBudgetService.evict(expense.getGroup().getId());
         return expensesDtoMaper.convertWithout(expense);
     }
 
     @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    @Transactional
     public List<ExpenseDto> getExpensesByGroupId(Long groupId){
         if(!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
-        List<Expense> expenseByGroupId = expesnsesRepository.getExpenseByGroup_Id(groupId);
-        List<Expense> sortedExpenses = expenseByGroupId.stream()
-                .sorted(Comparator.comparing(Expense::getId))
-                .toList();
-        return expensesDtoMaper.convert(sortedExpenses);
+        return expensesDtoMaper.convert(loadGroupExpenses(groupId));
+    }
+
+    /**
+     * Wyszukiwanie z filtrami i stronicowaniem keyset po (date_of_expense DESC, id DESC). Pobierany jest
+     * jeden wiersz więcej niż limit, żeby wiedzieć, czy istnieje następna strona, bez zapytania COUNT.
+     */
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    @Transactional
+    public ExpenseSearchResultDto searchExpenses(Long groupId, ExpenseSearchCriteria criteria) throws BadRequestException {
+        if(!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
+        int limit = criteria.limit() == null ? DEFAULT_SEARCH_LIMIT : criteria.limit();
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) throw new BadRequestException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        ExpenseCursor cursor = ExpenseCursor.decode(criteria.cursor());
+
+        Specification<Expense> specification = Specification.allOf(
+                ExpenseSpecifications.inGroup(groupId),
+                ExpenseSpecifications.hasCategory(criteria.category()),
+                ExpenseSpecifications.dateFrom(criteria.from()),
+                ExpenseSpecifications.dateTo(criteria.to()),
+                ExpenseSpecifications.priceAtLeast(criteria.minPrice()),
+                ExpenseSpecifications.priceAtMost(criteria.maxPrice()),
+                ExpenseSpecifications.createdBy(criteria.creator()),
+                ExpenseSpecifications.hasParticipant(criteria.participant()),
+                cursor == null ? null : ExpenseSpecifications.after(cursor.dateOfExpense(), cursor.id()));
+        Sort order = Sort.by(Sort.Order.desc("dateOfExpense"), Sort.Order.desc("id"));
+
+        List<Expense> page = expesnsesRepository.findBy(specification, query -> query.sortBy(order).limit(limit + 1).all());
+        boolean hasNext = page.size() > limit;
+        List<Expense> expenses = hasNext ? page.subList(0, limit) : page;
+        if (!expenses.isEmpty()) expesnsesRepository.fetchParticipantsByExpenseIds(expenses.stream().map(Expense::getId).toList());
+
+        Expense last = expenses.isEmpty() ? null : expenses.getLast();
+        String nextCursor = hasNext ? new ExpenseCursor(last.getDateOfExpense(), last.getId()).encode() : null;
+        return new ExpenseSearchResultDto(expenses.stream().map(expensesDtoMaper::convertWithout).toList(), nextCursor);
+    }
+
+    /**
+     * Lista wydatków posortowana po id w bazie, a uczestnicy, wydarzenia i dokumenty dociągane osobnymi
+     * zapytaniami po id wydatków. Musi działać w transakcji, żeby kolekcje trafiły do tych samych encji.
+     */
+    List<Expense> loadGroupExpenses(Long groupId){
+        List<Expense> expenses = expesnsesRepository.getExpenseByGroup_Id(groupId);
+        if (expenses.isEmpty()) return expenses;
+        List<Long> ids = expenses.stream().map(Expense::getId).toList();
+        expesnsesRepository.fetchParticipantsByExpenseIds(ids);
+        expesnsesRepository.fetchEventsByExpenseIds(ids);
+        expesnsesRepository.fetchDocumentsByExpenseIds(ids);
+        return expenses;
     }
 
     @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
@@ -122,12 +210,40 @@ public class ExpenseService {
         return expensesDtoMaper.convertWithout(expense);
     }
 
-    public ExpensesUser addParticipant(Expense expense, String uId, String role){
-        User user = userService.getUserByUId(uId);
-        if (user==null) throw new EntityNotFoundException("User not found");
-        ExpensesUserKey key = new ExpensesUserKey(user.getId(),expense.getId());
-        ExpensesUser expensesUser = new ExpensesUser(key, user, expense, role);
-        return expensesUserRepository.save(expensesUser);
+    /**
+     * Cena zapisywana jest już w walucie grupy, więc salda, podsumowania i alerty budżetu nie przeliczają walut.
+     */
+    private static void applyPrice(Expense expense, FxRateService.FxConversion conversion) {
+        expense.setPrice(conversion.price());
+        expense.setCurrency(conversion.currency());
+        expense.setOriginalPrice(conversion.originalPrice());
+        expense.setOriginalCurrency(conversion.originalCurrency());
+        expense.setFxRate(conversion.rate());
+    }
+
+    /**
+     * Użytkownicy pobierani są jednym zapytaniem IN, a wiersze zapisywane przez saveAll,
+     * które Hibernate wysyła jako batch (hibernate.jdbc.batch_size).
+     */
+    private List<ExpensesUser> addParticipants(Expense expense, Collection<String> UIds){
+        if (UIds.isEmpty()) return List.of();
+        Map<String, User> users = new HashMap<>();
+        userService.getUsersByUIds(UIds).forEach(user -> users.put(user.getUId(), user));
+
+        List<ExpensesUser> participants = new ArrayList<>();
+        for (String UId : new LinkedHashSet<>(UIds)) {
+            User user = users.get(UId);
+            if (user == null) throw new EntityNotFoundException("User not found");
+            String role = UId.equals(expense.getCreator()) ? "CREATOR" : "PAYER";
+            participants.add(new ExpensesUser(new ExpensesUserKey(user.getId(), expense.getId()), user, expense, role));
+        }
+        return expensesUserRepository.saveAll(participants);
+    }
+
+    private List<Long> participantIds(Collection<ExpensesUser> participants){
+        return participants.stream()
+                .map(participant -> participant.getExpensesUserKey().getUserId())
+                .toList();
     }
 
     private boolean containCreatorAndIsNotEmpty(UpdateExpenseDto updateExpenseDto){
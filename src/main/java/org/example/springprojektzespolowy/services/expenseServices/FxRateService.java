@@ -0,0 +1,144 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.expenses.FxRatesDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Kursy walut trzymane w pamięci jako niezmienny {@link FxRateSnapshot}. Odświeżenie (z pliku albo przez upload)
+ * parsuje całą tabelę na boku i podmienia referencję atomowo, więc przeliczenie nigdy nie widzi tabeli w połowie
+ * wczytanej. Kwoty przeliczane są przy zapisie wydatku, odczyty nie korzystają z kursów.
+ */
+@Slf4j
+@Service
+public class FxRateService {
+
+    private final Path file;
+    private final AtomicReference<FxRateSnapshot> snapshot = new AtomicReference<>(FxRateSnapshot.EMPTY);
+
+    public FxRateService(@Value("${app.fx.rates-file:config/fx-rates.properties}") String file) {
+        this.file = Path.of(file);
+    }
+
+    @PostConstruct
+    public void loadOnStartup() {
+        if (!Files.exists(file)) {
+            log.info("Brak pliku kursów walut {}, przeliczanie walut wyłączone", file.toAbsolutePath());
+            return;
+        }
+        try {
+            reloadFromFile();
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Nie udało się wczytać kursów walut z {}: {}", file.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    public FxRatesDto getRates() {
+        return toDto(snapshot.get());
+    }
+
+    @PreAuthorize("@securityService.isDeveloper(authentication.name)")
+    public FxRatesDto reload() throws BadRequestException {
+        try {
+            return toDto(reloadFromFile());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestException("Cannot load exchange rates: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Nowa tabela jest najpierw sprawdzana, potem zapisywana do pliku (przez plik tymczasowy i move),
+     * a dopiero na końcu podmieniana w pamięci.
+     */
+    @PreAuthorize("@securityService.isDeveloper(authentication.name)")
+    public FxRatesDto upload(MultipartFile upload) throws BadRequestException {
+        if (upload == null || upload.isEmpty()) throw new BadRequestException("Rate file is empty");
+        try {
+            String content = new String(upload.getBytes(), StandardCharsets.UTF_8);
+            FxRateSnapshot parsed = FxRateSnapshot.parse(content, "upload");
+
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "fx-rates", ".tmp");
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            Files.move(temp, file.toAbsolutePath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            snapshot.set(parsed);
+            log.info("Wgrano kursy walut: baza {}, {} walut", parsed.base(), parsed.rates().size());
+            return toDto(parsed);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid rate file: " + e.getMessage());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot store exchange rates", e);
+        }
+    }
+
+    /**
+     * Przelicza kwotę wpisaną w walucie wydatku na walutę grupy. Brak waluty wydatku oznacza walutę grupy.
+     */
+    public FxConversion normalize(BigDecimal amount, String currency, String groupCurrency) throws BadRequestException {
+        String to = groupCurrencyCode(groupCurrency);
+        if (currency == null || currency.isBlank()) return new FxConversion(amount, to, amount, to, BigDecimal.ONE);
+
+        String from;
+        try {
+            from = FxRateSnapshot.currencyCode(currency);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        if (from.equals(to)) return new FxConversion(amount, to, amount, from, BigDecimal.ONE);
+        if (to == null) throw new BadRequestException("Group has no currency to convert " + from + " into");
+
+        BigDecimal rate = snapshot.get().rate(from, to);
+        if (rate == null) throw new BadRequestException("No exchange rate from " + from + " to " + to);
+        BigDecimal price = amount == null ? null : FxRateSnapshot.convert(amount, rate);
+        return new FxConversion(price, to, amount, from, rate);
+    }
+
+    /**
+     * Waluta grupy nie jest walidowana przy jej tworzeniu, więc wartość spoza ISO 4217 traktujemy jak brak waluty
+     * zamiast zapisywać ją w trzyznakowych kolumnach wydatku.
+     */
+    private static String groupCurrencyCode(String groupCurrency) {
+        if (groupCurrency == null || groupCurrency.isBlank()) return null;
+        try {
+            return FxRateSnapshot.currencyCode(groupCurrency);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private FxRateSnapshot reloadFromFile() throws IOException {
+        FxRateSnapshot parsed;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            parsed = FxRateSnapshot.parse(reader, file.toString());
+        }
+        snapshot.set(parsed);
+        log.info("Wczytano kursy walut z {}: baza {}, {} walut", file.toAbsolutePath(), parsed.base(), parsed.rates().size());
+        return parsed;
+    }
+
+    private static FxRatesDto toDto(FxRateSnapshot snapshot) {
+        return new FxRatesDto(snapshot.base(), snapshot.rates(), snapshot.loadedAt(), snapshot.source());
+    }
+
+    /**
+     * Kwota ({@code price}) w walucie grupy ({@code currency}) razem z kwotą i walutą wpisaną przez użytkownika
+     * oraz użytym kursem.
+     */
+    public record FxConversion(BigDecimal price, String currency, BigDecimal originalPrice, String originalCurrency, BigDecimal rate) {}
+}
@@ -0,0 +1,92 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Niezmienna tabela kursów: ile jednostek waluty bazowej kosztuje jedna jednostka danej waluty.
+ * Kurs między dwiema walutami spoza bazy liczony jest przez walutę bazową.
+ */
+public record FxRateSnapshot(String base, Map<String, BigDecimal> rates, Instant loadedAt, String source) {
+
+    static final FxRateSnapshot EMPTY = new FxRateSnapshot(null, Map.of(), Instant.EPOCH, "none");
+
+    public FxRateSnapshot {
+        rates = Map.copyOf(rates);
+    }
+
+    /**
+     * Kurs przeliczenia {@code from -> to} albo {@code null}, gdy brakuje którejś waluty w tabeli.
+     */
+    public BigDecimal rate(String from, String to) {
+        if (from.equals(to)) return BigDecimal.ONE;
+        BigDecimal fromRate = inBase(from);
+        BigDecimal toRate = inBase(to);
+        if (fromRate == null || toRate == null) return null;
+        return fromRate.divide(toRate, MathContext.DECIMAL64);
+    }
+
+    private BigDecimal inBase(String currency) {
+        return currency.equals(base) ? BigDecimal.ONE : rates.get(currency);
+    }
+
+    /**
+     * Format pliku: {@code base=PLN} i linie {@code EUR=4.2850}, komentarze od {@code #}.
+     */
+    static FxRateSnapshot parse(Reader reader, String source) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+
+        String base = properties.getProperty("base");
+        if (base == null) throw new IllegalArgumentException("Missing base currency");
+        base = currencyCode(base);
+
+        Map<String, BigDecimal> rates = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.equals("base")) continue;
+            BigDecimal rate;
+            try {
+                rate = new BigDecimal(properties.getProperty(key).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid rate for " + key);
+            }
+            if (rate.signum() <= 0) throw new IllegalArgumentException("Rate for " + key + " must be positive");
+            rates.put(currencyCode(key), rate);
+        }
+        return new FxRateSnapshot(base, rates, Instant.now(), source);
+    }
+
+    static FxRateSnapshot parse(String content, String source) {
+        try {
+            return parse(new StringReader(content), source);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Kod ISO 4217 wielkimi literami, np. {@code eur -> EUR}.
+     */
+    static String currencyCode(String code) {
+        String normalized = code.trim().toUpperCase(Locale.ROOT);
+        try {
+            return Currency.getInstance(normalized).getCurrencyCode();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown currency: " + code);
+        }
+    }
+
+    static BigDecimal convert(BigDecimal amount, BigDecimal rate) {
+        return amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sumy i liczniki w groszach per klucz, trzymane w tablicach {@code long[]} w kolejności pierwszego wystąpienia
+ * klucza. Dodawanie nie alokuje nic poza wpisem w indeksie dla nowego klucza.
+ */
+final class MinorUnitAccumulator<K> {
+
+    private final Map<K, Integer> slots = new HashMap<>();
+    private Object[] keys;
+    private long[] totals;
+    private long[] counts;
+    private int size;
+
+    MinorUnitAccumulator() {
+        this(16);
+    }
+
+    MinorUnitAccumulator(int expectedKeys) {
+        int capacity = Math.max(expectedKeys, 4);
+        keys = new Object[capacity];
+        totals = new long[capacity];
+        counts = new long[capacity];
+    }
+
+    void add(K key, long minor) {
+        add(key, minor, 1);
+    }
+
+    void add(K key, long minor, long count) {
+        int slot = slot(key);
+        totals[slot] = Math.addExact(totals[slot], minor);
+        counts[slot] += count;
+    }
+
+    long total(K key) {
+        Integer slot = slots.get(key);
+        return slot == null ? 0 : totals[slot];
+    }
+
+    long count(K key) {
+        Integer slot = slots.get(key);
+        return slot == null ? 0 : counts[slot];
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(Entry<K> consumer) {
+        for (int i = 0; i < size; i++) consumer.accept((K) keys[i], totals[i], counts[i]);
+    }
+
+    private int slot(K key) {
+        Integer slot = slots.get(key);
+        if (slot != null) return slot;
+        if (size == keys.length) grow();
+        keys[size] = key;
+        slots.put(key, size);
+        return size++;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        totals = Arrays.copyOf(totals, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+    }
+
+    @FunctionalInterface
+    interface Entry<K> {
+        void accept(K key, long total, long count);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Kwoty w najmniejszych jednostkach (groszach) jako {@code long}. Wszystkie kolumny pieniężne mają skalę 2,
+ * więc jednostka jest wspólna dla każdej waluty. {@code BigDecimal} pojawia się tylko przy odczycie z bazy
+ * i przy budowaniu odpowiedzi API.
+ */
+final class MinorUnits {
+
+    static final int SCALE = 2;
+
+    private MinorUnits() {
+    }
+
+    static long toMinor(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+}
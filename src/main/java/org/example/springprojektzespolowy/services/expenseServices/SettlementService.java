@@ -0,0 +1,219 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import org.example.springprojektzespolowy.dto.expenses.BalanceDto;
+import org.example.springprojektzespolowy.dto.expenses.SettlementTransferDto;
+import org.example.springprojektzespolowy.dto.expenses.SpendingTotalDto;
+import org.example.springprojektzespolowy.dto.expenses.UserGroupSpendingDto;
+import org.example.springprojektzespolowy.dto.expenses.UserSpendingSummaryDto;
+import org.example.springprojektzespolowy.dto.mappers.UserDtoMapper;
+import org.example.springprojektzespolowy.dto.userDto.UserDtoUidNameEmail;
+import org.example.springprojektzespolowy.models.Expense;
+import org.example.springprojektzespolowy.models.intermediateTable.ExpensesUser;
+import org.example.springprojektzespolowy.models.intermediateTable.GroupBalance;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.GroupBalanceRepository;
+import org.example.springprojektzespolowy.services.GroupService;
+import org.example.springprojektzespolowy.services.userServices.UserIdResolver;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Księga rozliczeń grupy. Wydatek opłaca jego twórca, a kwota dzielona jest po równo między wszystkich
+ * uczestników (łącznie z twórcą). Salda w {@code group_balance} są aktualizowane przyrostowo, więc odczyt
+ * kosztuje O(liczba członków), a nie O(wydatki × uczestnicy).
+ */
+@Service
+public class SettlementService {
+
+    private final GroupBalanceRepository groupBalanceRepository;
+    private final ExpensesRepository expensesRepository;
+    private final UserIdResolver userIdResolver;
+    private final UserDtoMapper userDtoMapper;
+    private final GroupService groupService;
+
+    public SettlementService(GroupBalanceRepository groupBalanceRepository, ExpensesRepository expensesRepository, UserIdResolver userIdResolver, UserDtoMapper userDtoMapper, GroupService groupService) {
+        this.groupBalanceRepository = groupBalanceRepository;
+        this.expensesRepository = expensesRepository;
+        this.userIdResolver = userIdResolver;
+        this.userDtoMapper = userDtoMapper;
+        this.groupService = groupService;
+    }
+
+    public void applyExpense(Long groupId, String creatorUId, BigDecimal price, List<Long> participantIds) {
+        applyDeltas(groupId, expenseTotals(userIdResolver.resolveId(creatorUId), price, participantIds), 1);
+    }
+
+    public void reverseExpense(Long groupId, String creatorUId, BigDecimal price, List<Long> participantIds) {
+        applyDeltas(groupId, expenseTotals(userIdResolver.resolveId(creatorUId), price, participantIds), -1);
+    }
+
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public List<BalanceDto> getBalances(Long groupId) {
+        if (!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
+        return groupBalanceRepository.findBalancesByGroupId(groupId).stream()
+                .map(balance -> new BalanceDto(userDtoMapper.convertTo(balance.getUser()), balance.getBalance()))
+                .toList();
+    }
+
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public List<SettlementTransferDto> settleUp(Long groupId) {
+        if (!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
+        List<GroupBalance> balances = groupBalanceRepository.findBalancesByGroupId(groupId);
+
+        Map<Long, UserDtoUidNameEmail> users = new HashMap<>();
+        Map<Long, Long> cents = new HashMap<>();
+        balances.forEach(balance -> {
+            users.put(balance.getId().getUserId(), userDtoMapper.convertTo(balance.getUser()));
+            cents.put(balance.getId().getUserId(), MinorUnits.toMinor(balance.getBalance()));
+        });
+
+        return minimalTransfers(cents).stream()
+                .map(transfer -> new SettlementTransferDto(users.get(transfer.from()), users.get(transfer.to()),
+                        MinorUnits.toDecimal(transfer.cents())))
+                .toList();
+    }
+
+    /**
+     * Wydatki użytkownika we wszystkich jego grupach, czytane tylko z {@code group_balance} (jeden wiersz na grupę).
+     * Sumy liczone są osobno dla każdej waluty, bo kwot z różnych grup nie da się po prostu dodać.
+     */
+    @PreAuthorize("@securityService.isRequestingUserisAuthorizedForAccount(authentication.name, #UId)")
+    public UserSpendingSummaryDto getUserSpending(String UId) {
+        Long userId = userIdResolver.resolveId(UId);
+        if (userId == null) throw new EntityNotFoundException("User not found");
+
+        List<UserGroupSpendingDto> groups = groupBalanceRepository.findBalancesByUserId(userId).stream()
+                .map(balance -> new UserGroupSpendingDto(balance.getGroup().getId(), balance.getGroup().getName(),
+                        balance.getGroup().getCurrency(), balance.getPaid(), balance.getShare(), balance.getBalance()))
+                .toList();
+
+        MinorUnitAccumulator<String> paid = new MinorUnitAccumulator<>();
+        MinorUnitAccumulator<String> share = new MinorUnitAccumulator<>();
+        groups.forEach(group -> {
+            paid.add(group.currency(), MinorUnits.toMinor(group.paid()));
+            share.add(group.currency(), MinorUnits.toMinor(group.share()));
+        });
+
+        List<SpendingTotalDto> totals = new ArrayList<>(paid.size());
+        paid.forEach((currency, paidTotal, count) -> {
+            long shareTotal = share.total(currency);
+            totals.add(new SpendingTotalDto(currency, MinorUnits.toDecimal(paidTotal), MinorUnits.toDecimal(shareTotal),
+                    MinorUnits.toDecimal(paidTotal - shareTotal)));
+        });
+        totals.sort(Comparator.comparing(SpendingTotalDto::currency, Comparator.nullsLast(Comparator.naturalOrder())));
+        return new UserSpendingSummaryDto(UId, totals, groups);
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isDeveloper(authentication.name)")
+    public List<BalanceDto> rebuildLedger(Long groupId) {
+        if (!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
+        groupBalanceRepository.deleteByGroupId(groupId);
+
+        List<Expense> expenses = expensesRepository.getExpenseByGroup_Id(groupId);
+        if (!expenses.isEmpty()) expensesRepository.fetchParticipantsByExpenseIds(expenses.stream().map(Expense::getId).toList());
+
+        Map<Long, MemberTotals> totals = new HashMap<>();
+        for (Expense expense : expenses) {
+            List<Long> participantIds = expense.getParticipants().stream()
+                    .map(ExpensesUser::getUser)
+                    .map(user -> user.getId())
+                    .toList();
+            expenseTotals(userIdResolver.resolveId(expense.getCreator()), expense.getPrice(), participantIds)
+                    .forEach((userId, memberTotals) -> totals.merge(userId, memberTotals, MemberTotals::plus));
+        }
+        applyDeltas(groupId, totals, 1);
+        return getBalances(groupId);
+    }
+
+    @Transactional
+    public void deleteLedger(Long groupId) {
+        groupBalanceRepository.deleteByGroupId(groupId);
+    }
+
+    /**
+     * Zachłanne dopasowanie największego dłużnika z największym wierzycielem przy użyciu dwóch kopców.
+     * Daje co najwyżej n-1 przelewów w czasie O(n log n).
+     */
+    static List<Transfer> minimalTransfers(Map<Long, Long> balancesInCents) {
+        Comparator<long[]> byAmountDesc = (a, b) -> Long.compare(b[1], a[1]);
+        PriorityQueue<long[]> creditors = new PriorityQueue<>(byAmountDesc);
+        PriorityQueue<long[]> debtors = new PriorityQueue<>(byAmountDesc);
+        balancesInCents.forEach((userId, amount) -> {
+            if (amount > 0) creditors.add(new long[]{userId, amount});
+            else if (amount < 0) debtors.add(new long[]{userId, -amount});
+        });
+
+        List<Transfer> transfers = new ArrayList<>();
+        while (!creditors.isEmpty() && !debtors.isEmpty()) {
+            long[] creditor = creditors.poll();
+            long[] debtor = debtors.poll();
+            long amount = Math.min(creditor[1], debtor[1]);
+            transfers.add(new Transfer(debtor[0], creditor[0], amount));
+
+            if (creditor[1] > amount) creditors.add(new long[]{creditor[0], creditor[1] - amount});
+            if (debtor[1] > amount) debtors.add(new long[]{debtor[0], debtor[1] - amount});
+        }
+        return transfers;
+    }
+
+    /**
+     * Twórca dostaje całą kwotę, każdy uczestnik jest obciążany swoją częścią. Grosze z dzielenia
+     * przypadają kolejnym uczestnikom w porządku id, żeby suma zmian zawsze wynosiła zero.
+     */
+    static Map<Long, Long> expenseDeltas(Long creatorId, BigDecimal price, List<Long> participantIds) {
+        Map<Long, Long> deltas = new HashMap<>();
+        expenseTotals(creatorId, price, participantIds).forEach((userId, totals) -> deltas.put(userId, totals.balance()));
+        return deltas;
+    }
+
+    /**
+     * Zapłacona kwota i część wydatku w groszach dla każdego, kogo wydatek dotyczy.
+     */
+    static Map<Long, MemberTotals> expenseTotals(Long creatorId, BigDecimal price, List<Long> participantIds) {
+        Map<Long, MemberTotals> totals = new HashMap<>();
+        if (creatorId == null || price == null || participantIds.isEmpty()) return totals;
+
+        long total = MinorUnits.toMinor(price);
+        List<Long> sortedParticipants = participantIds.stream().distinct().sorted().toList();
+
+        totals.merge(creatorId, new MemberTotals(total, 0), MemberTotals::plus);
+        for (int i = 0; i < sortedParticipants.size(); i++) {
+            totals.merge(sortedParticipants.get(i), new MemberTotals(0, shareInCents(total, sortedParticipants.size(), i)), MemberTotals::plus);
+        }
+        return totals;
+    }
+
+    /**
+     * Część kwoty przypadająca na uczestnika o danej pozycji (w porządku id użytkownika).
+     */
+    static long shareInCents(long totalCents, int participants, int index) {
+        return totalCents / participants + (index < totalCents % participants ? 1 : 0);
+    }
+
+    private void applyDeltas(Long groupId, Map<Long, MemberTotals> totalsInCents, int sign) {
+        totalsInCents.forEach((userId, totals) -> {
+            if (totals.paid() != 0 || totals.share() != 0) {
+                groupBalanceRepository.addToBalance(groupId, userId, MinorUnits.toDecimal(sign * totals.paid()), MinorUnits.toDecimal(sign * totals.share()));
+            }
+        });
+    }
+
+    record Transfer(Long from, Long to, long cents) {}
+
+    record MemberTotals(long paid, long share) {
+
+        long balance() {
+            return paid - share;
+        }
+
+        MemberTotals plus(MemberTotals other) {
+            return new MemberTotals(paid + other.paid, share + other.share);
+        }
+    }
+}
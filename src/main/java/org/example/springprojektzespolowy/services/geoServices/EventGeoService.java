@@ -0,0 +1,123 @@
+package org.example.springprojektzespolowy.services.geoServices;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.event.EventDto;
+import org.example.springprojektzespolowy.dto.event.NearbyEventDto;
+import org.example.springprojektzespolowy.dto.mappers.EventDtoMapper;
+import org.example.springprojektzespolowy.models.Event;
+import org.example.springprojektzespolowy.repositories.EventRepository;
+import org.example.springprojektzespolowy.services.GroupService;
+import org.example.springprojektzespolowy.utils.GroupCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Wyszukiwanie wydarzeń po miejscu: w promieniu od punktu i w prostokącie mapy. Dla grup trzymane jest w pamięci
+ * {@link EventRTree} (LRU, budowane przy pierwszym odczycie, usuwane przy każdej zmianie wydarzeń), więc zapytanie
+ * nie przegląda wszystkich wydarzeń grupy.
+ */
+@Service
+public class EventGeoService {
+
+    static final double DEFAULT_RADIUS_KM = 10;
+    static final double MAX_RADIUS_KM = 20_000;
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+    static final int MAX_WITHIN = 1000;
+
+    private final EventRepository eventRepository;
+    private final EventDtoMapper eventDtoMapper;
+    private final GroupService groupService;
+    private final GazetteerService gazetteerService;
+    private final GroupCache<EventRTree> trees;
+
+    public EventGeoService(EventRepository eventRepository, EventDtoMapper eventDtoMapper, GroupService groupService, GazetteerService gazetteerService,
+                           @Value("${app.event-geo.max-groups:1000}") int maxGroups) {
+        this.eventRepository = eventRepository;
+        this.eventDtoMapper = eventDtoMapper;
+        this.groupService = groupService;
+        this.gazetteerService = gazetteerService;
+        this.trees = new GroupCache<>(maxGroups);
+    }
+
+    @Transactional
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public List<NearbyEventDto> getNearby(Long groupId, Double latitude, Double longitude, Double radiusKm, Integer limit) throws BadRequestException {
+        if (latitude == null || longitude == null) throw new BadRequestException("lat and lon are required");
+        validatePoint(latitude, longitude);
+        double radius = radiusKm == null ? DEFAULT_RADIUS_KM : radiusKm;
+        if (!(radius > 0 && radius <= MAX_RADIUS_KM)) throw new BadRequestException("radiusKm must be between 0 and " + (int) MAX_RADIUS_KM);
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        if (!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
+
+        List<EventRTree.Hit> hits = tree(groupId).nearby(latitude, longitude, radius, size);
+        Map<Long, EventDto> events = load(hits.stream().map(EventRTree.Hit::id).toList());
+        return hits.stream()
+                .filter(hit -> events.containsKey(hit.id()))
+                .map(hit -> new NearbyEventDto(events.get(hit.id()), hit.distanceKm()))
+                .toList();
+    }
+
+    /**
+     * Wydarzenia w prostokącie mapy, w kolejności początku. {@code minLon > maxLon} oznacza prostokąt przechodzący przez południk 180°.
+     */
+    @Transactional
+    @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
+    public List<EventDto> getWithin(Long groupId, Double minLat, Double minLon, Double maxLat, Double maxLon) throws BadRequestException {
+        if (minLat == null || minLon == null || maxLat == null || maxLon == null) throw new BadRequestException("minLat, minLon, maxLat and maxLon are required");
+        validatePoint(minLat, minLon);
+        validatePoint(maxLat, maxLon);
+        if (minLat > maxLat) throw new BadRequestException("minLat must not be greater than maxLat");
+        if (!groupService.groupExists(groupId)) throw new EntityNotFoundException("Group not found");
+
+        List<Long> ids = tree(groupId).within(minLat, minLon, maxLat, maxLon);
+        if (ids.size() > MAX_WITHIN) throw new BadRequestException("Area contains more than " + MAX_WITHIN + " events");
+        return load(ids).values().stream()
+                .sorted(Comparator.comparing(EventDto::startEvent, Comparator.nullsLast(Comparator.naturalOrder())).thenComparing(EventDto::id))
+                .toList();
+    }
+
+    /**
+     * Ustawia współrzędne wydarzenia. Bez podanych współrzędnych szuka {@code localization} w gazeterze, a gdy go tam
+     * nie ma, czyści stare współrzędne, żeby nie wskazywały poprzedniego miejsca.
+     */
+    public void applyLocation(Event event, Double latitude, Double longitude) throws BadRequestException {
+        if (latitude == null && longitude == null) {
+            GeoPoint point = gazetteerService.resolve(event.getLocalization());
+            event.setLatitude(point == null ? null : point.latitude());
+            event.setLongitude(point == null ? null : point.longitude());
+            return;
+        }
+        if (latitude == null || longitude == null) throw new BadRequestException("latitude and longitude must be given together");
+        validatePoint(latitude, longitude);
+        event.setLatitude(latitude);
+        event.setLongitude(longitude);
+    }
+
+    public void evict(Long groupId) {
+        trees.evict(groupId);
+    }
+
+    private EventRTree tree(Long groupId) {
+        return trees.get(groupId, () -> EventRTree.build(eventRepository.findGeoRowsByGroupId(groupId)));
+    }
+
+    private Map<Long, EventDto> load(List<Long> ids) {
+        if (ids.isEmpty()) return Map.of();
+        Map<Long, EventDto> events = new HashMap<>();
+        eventRepository.findWithMembersByIdIn(ids).forEach(event -> events.put(event.getId(), eventDtoMapper.convert(event)));
+        return events;
+    }
+
+    private static void validatePoint(double latitude, double longitude) throws BadRequestException {
+        if (!GeoPoint.valid(latitude, longitude)) {
+            throw new BadRequestException("latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+    }
+}
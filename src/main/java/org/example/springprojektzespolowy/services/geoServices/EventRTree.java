@@ -0,0 +1,182 @@
+package org.example.springprojektzespolowy.services.geoServices;
+
+import org.example.springprojektzespolowy.dto.event.EventGeoRow;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Niezmienne R-drzewo punktów wydarzeń jednej grupy, pakowane metodą STR (Sort-Tile-Recursive): punkty sortowane
+ * są po długości w pionowe pasy, a w pasie po szerokości, więc kolejne grupy po {@link #NODE_CAPACITY} punktów
+ * tworzą zwarte prostokąty. Węzły każdego poziomu trzymane są w płaskich tablicach, dzieci węzła i to zakres
+ * [i × pojemność, (i + 1) × pojemność) poziomu niżej. Zapytanie o prostokąt schodzi tylko do węzłów, które go przecinają.
+ */
+final class EventRTree {
+
+    static final int NODE_CAPACITY = 16;
+
+    private final long[] ids;
+    private final double[] lats;
+    private final double[] lons;
+    /**
+     * Dla każdego poziomu (0 = liście) czwórki minLat, maxLat, minLon, maxLon kolejnych węzłów.
+     */
+    private final double[][] levels;
+
+    private EventRTree(long[] ids, double[] lats, double[] lons) {
+        this.ids = ids;
+        this.lats = lats;
+        this.lons = lons;
+        List<double[]> built = new ArrayList<>();
+        if (ids.length > 0) {
+            double[] level = pack(null, ids.length);
+            built.add(level);
+            while (level.length / 4 > NODE_CAPACITY) {
+                level = pack(level, level.length / 4);
+                built.add(level);
+            }
+        }
+        this.levels = built.toArray(new double[0][]);
+    }
+
+    static EventRTree build(List<EventGeoRow> events) {
+        List<EventGeoRow> points = new ArrayList<>(events.stream()
+                .filter(event -> event.latitude() != null && event.longitude() != null)
+                .sorted(Comparator.comparing(EventGeoRow::longitude).thenComparing(EventGeoRow::id))
+                .toList());
+
+        int leaves = (points.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int sliceSize = (int) Math.ceil(Math.sqrt(leaves)) * NODE_CAPACITY;
+        for (int from = 0; from < points.size(); from += sliceSize) {
+            points.subList(from, Math.min(from + sliceSize, points.size()))
+                    .sort(Comparator.comparing(EventGeoRow::latitude).thenComparing(EventGeoRow::id));
+        }
+
+        long[] ids = new long[points.size()];
+        double[] lats = new double[points.size()];
+        double[] lons = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            ids[i] = points.get(i).id();
+            lats[i] = points.get(i).latitude();
+            lons[i] = points.get(i).longitude();
+        }
+        return new EventRTree(ids, lats, lons);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Id wydarzeń w prostokącie (brzegi włącznie). {@code minLon > maxLon} oznacza prostokąt przechodzący przez południk 180°.
+     */
+    List<Long> within(double minLat, double minLon, double maxLat, double maxLon) {
+        List<Long> result = new ArrayList<>();
+        IntConsumer collect = entry -> result.add(ids[entry]);
+        if (minLon <= maxLon) {
+            search(minLat, maxLat, minLon, maxLon, collect);
+        } else {
+            search(minLat, maxLat, minLon, 180, collect);
+            search(minLat, maxLat, -180, maxLon, collect);
+        }
+        return result;
+    }
+
+    /**
+     * Wydarzenia w promieniu {@code radiusKm} od punktu, od najbliższego. Drzewo przeszukiwane jest prostokątem
+     * opisanym na kole, a odległość po kole wielkim liczona tylko dla punktów z tego prostokąta.
+     */
+    List<Hit> nearby(double latitude, double longitude, double radiusKm, int limit) {
+        double angle = radiusKm / GeoPoint.EARTH_RADIUS_KM;
+        double dLat = Math.toDegrees(angle);
+        double minLat = Math.max(-90, latitude - dLat);
+        double maxLat = Math.min(90, latitude + dLat);
+
+        List<Hit> hits = new ArrayList<>();
+        IntConsumer collect = entry -> {
+            double distance = GeoPoint.distanceKm(latitude, longitude, lats[entry], lons[entry]);
+            if (distance <= radiusKm) hits.add(new Hit(ids[entry], distance));
+        };
+
+        double sinRatio = Math.sin(angle) / Math.cos(Math.toRadians(latitude));
+        if (angle >= Math.PI / 2 || minLat == -90 || maxLat == 90 || sinRatio >= 1) {
+            search(minLat, maxLat, -180, 180, collect);
+        } else {
+            double dLon = Math.toDegrees(Math.asin(sinRatio));
+            double minLon = longitude - dLon;
+            double maxLon = longitude + dLon;
+            if (minLon < -180) {
+                search(minLat, maxLat, minLon + 360, 180, collect);
+                search(minLat, maxLat, -180, maxLon, collect);
+            } else if (maxLon > 180) {
+                search(minLat, maxLat, minLon, 180, collect);
+                search(minLat, maxLat, -180, maxLon - 360, collect);
+            } else {
+                search(minLat, maxLat, minLon, maxLon, collect);
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(Hit::id));
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    private void search(double minLat, double maxLat, double minLon, double maxLon, IntConsumer collect) {
+        if (levels.length == 0) return;
+        int top = levels.length - 1;
+        for (int node = 0; node < levels[top].length / 4; node++) {
+            search(top, node, minLat, maxLat, minLon, maxLon, collect);
+        }
+    }
+
+    private void search(int level, int node, double minLat, double maxLat, double minLon, double maxLon, IntConsumer collect) {
+        double[] boxes = levels[level];
+        int box = node * 4;
+        if (boxes[box] > maxLat || boxes[box + 1] < minLat || boxes[box + 2] > maxLon || boxes[box + 3] < minLon) return;
+
+        int from = node * NODE_CAPACITY;
+        if (level == 0) {
+            int to = Math.min(from + NODE_CAPACITY, ids.length);
+            for (int entry = from; entry < to; entry++) {
+                if (lats[entry] >= minLat && lats[entry] <= maxLat && lons[entry] >= minLon && lons[entry] <= maxLon) collect.accept(entry);
+            }
+        } else {
+            int to = Math.min(from + NODE_CAPACITY, levels[level - 1].length / 4);
+            for (int child = from; child < to; child++) search(level - 1, child, minLat, maxLat, minLon, maxLon, collect);
+        }
+    }
+
+    /**
+     * Prostokąty węzłów poziomu nad {@code below} (null = nad punktami), po jednym na {@link #NODE_CAPACITY} dzieci.
+     */
+    private double[] pack(double[] below, int children) {
+        int nodes = (children + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        double[] boxes = new double[nodes * 4];
+        for (int node = 0; node < nodes; node++) {
+            double minLat = Double.POSITIVE_INFINITY, maxLat = Double.NEGATIVE_INFINITY;
+            double minLon = Double.POSITIVE_INFINITY, maxLon = Double.NEGATIVE_INFINITY;
+            int to = Math.min((node + 1) * NODE_CAPACITY, children);
+            for (int child = node * NODE_CAPACITY; child < to; child++) {
+                if (below == null) {
+                    minLat = Math.min(minLat, lats[child]);
+                    maxLat = Math.max(maxLat, lats[child]);
+                    minLon = Math.min(minLon, lons[child]);
+                    maxLon = Math.max(maxLon, lons[child]);
+                } else {
+                    minLat = Math.min(minLat, below[child * 4]);
+                    maxLat = Math.max(maxLat, below[child * 4 + 1]);
+                    minLon = Math.min(minLon, below[child * 4 + 2]);
+                    maxLon = Math.max(maxLon, below[child * 4 + 3]);
+                }
+            }
+            boxes[node * 4] = minLat;
+            boxes[node * 4 + 1] = maxLat;
+            boxes[node * 4 + 2] = minLon;
+            boxes[node * 4 + 3] = maxLon;
+        }
+        return boxes;
+    }
+
+    record Hit(long id, double distanceKm) {}
+}
@@ -0,0 +1,87 @@
+package org.example.springprojektzespolowy.services.geoServices;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Niezmienny słownik nazw miejsc. Nazwy porównywane są po normalizacji (małe litery, bez znaków diakrytycznych,
+ * pojedyncze spacje), więc "Kraków" i "krakow" to to samo miejsce.
+ */
+record Gazetteer(Map<String, GeoPoint> places, String source) {
+
+    static final Gazetteer EMPTY = new Gazetteer(Map.of(), "none");
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    Gazetteer {
+        places = Map.copyOf(places);
+    }
+
+    /**
+     * Najpierw cały tekst, potem kolejne części rozdzielone przecinkami, np. "Rynek Główny 1, Kraków" trafia na "Kraków".
+     */
+    GeoPoint resolve(String localization) {
+        if (localization == null || localization.isBlank() || places.isEmpty()) return null;
+        GeoPoint point = places.get(normalize(localization));
+        if (point != null) return point;
+        for (String part : localization.split(",")) {
+            point = places.get(normalize(part));
+            if (point != null) return point;
+        }
+        return null;
+    }
+
+    /**
+     * Format pliku: linie {@code nazwa<TAB>szerokość<TAB>długość[<TAB>alias,alias]}, komentarze od {@code #}.
+     * Przy powtórzonej nazwie wygrywa pierwsza linia.
+     */
+    static Gazetteer parse(Reader reader, String source) throws IOException {
+        Map<String, GeoPoint> places = new HashMap<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int number = 0;
+        while ((line = lines.readLine()) != null) {
+            number++;
+            if (line.isBlank() || line.stripLeading().startsWith("#")) continue;
+            String[] columns = line.split("\t");
+            if (columns.length < 3) throw new IllegalArgumentException("Line " + number + ": expected name, latitude and longitude");
+            GeoPoint point;
+            try {
+                point = new GeoPoint(Double.parseDouble(columns[1].trim()), Double.parseDouble(columns[2].trim()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + number + ": invalid coordinates");
+            }
+            places.putIfAbsent(normalize(columns[0]), point);
+            if (columns.length > 3) {
+                for (String alias : columns[3].split(",")) {
+                    if (!alias.isBlank()) places.putIfAbsent(normalize(alias), point);
+                }
+            }
+        }
+        places.remove("");
+        return new Gazetteer(places, source);
+    }
+
+    static Gazetteer parse(String content, String source) {
+        try {
+            return parse(new StringReader(content), source);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String normalize(String name) {
+        String lower = name.toLowerCase(Locale.ROOT).replace('ł', 'l');
+        String withoutMarks = MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(withoutMarks).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.springprojektzespolowy.services.geoServices;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Lokalny gazeter wczytywany z pliku przy starcie. Bez pliku wyszukiwanie współrzędnych po nazwie jest wyłączone,
+ * a wydarzenia dostają współrzędne tylko wtedy, gdy zostaną podane wprost.
+ */
+@Slf4j
+@Service
+public class GazetteerService {
+
+    private final Path file;
+    private volatile Gazetteer gazetteer = Gazetteer.EMPTY;
+
+    public GazetteerService(@Value("${app.geo.gazetteer-file:config/gazetteer.tsv}") String file) {
+        this.file = Path.of(file);
+    }
+
+    @PostConstruct
+    public void loadOnStartup() {
+        if (!Files.exists(file)) {
+            log.info("Brak pliku gazetera {}, wyszukiwanie współrzędnych po nazwie wyłączone", file.toAbsolutePath());
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            gazetteer = Gazetteer.parse(reader, file.toString());
+            log.info("Wczytano gazeter z {}: {} nazw", file.toAbsolutePath(), gazetteer.places().size());
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Nie udało się wczytać gazetera z {}: {}", file.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Współrzędne dla tekstowej lokalizacji albo null, gdy gazeter jej nie zna.
+     */
+    public GeoPoint resolve(String localization) {
+        return gazetteer.resolve(localization);
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.springprojektzespolowy.services.geoServices;
+
+/**
+ * Punkt WGS84 w stopniach.
+ */
+public record GeoPoint(double latitude, double longitude) {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    public GeoPoint {
+        if (!valid(latitude, longitude)) throw new IllegalArgumentException("Coordinates out of range: " + latitude + ", " + longitude);
+    }
+
+    static boolean valid(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    /**
+     * Odległość po kole wielkim (haversine) w kilometrach.
+     */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
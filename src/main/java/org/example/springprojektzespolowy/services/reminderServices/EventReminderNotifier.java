@@ -0,0 +1,13 @@
+package org.example.springprojektzespolowy.services.reminderServices;
+
+import org.example.springprojektzespolowy.dto.reminder.EventReminderNotification;
+
+/**
+ * Kanał dostarczania przypomnień, wybierany przez {@code app.reminders.notifier}. Wywoływany w transakcji,
+ * która po powrocie usuwa przypomnienie, więc wyjątek powoduje ponowienie.
+ */
+@FunctionalInterface
+public interface EventReminderNotifier {
+
+    void notify(EventReminderNotification notification);
+}
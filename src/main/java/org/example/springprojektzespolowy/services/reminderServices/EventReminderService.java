@@ -0,0 +1,224 @@
+package org.example.springprojektzespolowy.services.reminderServices;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.springprojektzespolowy.dto.reminder.EventReminderNotification;
+import org.example.springprojektzespolowy.dto.reminder.EventReminderRow;
+import org.example.springprojektzespolowy.models.Event;
+import org.example.springprojektzespolowy.models.EventReminder;
+import org.example.springprojektzespolowy.repositories.reminderRepos.EventReminderRepository;
+import org.example.springprojektzespolowy.repositories.userRepos.UserEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Przypomnienia o początku wydarzeń. Oczekujące przypomnienia zapisane są w {@code event_reminder}, a w pamięci
+ * trzymane w {@link HashedTimingWheel}, więc dodanie i anulowanie to O(1) niezależnie od ich liczby. Przy starcie
+ * koło budowane jest od nowa z tabeli. Wysłanie usuwa wiersz w tej samej transakcji co wywołanie
+ * {@link EventReminderNotifier}, więc przypomnienie dostarczane jest co najmniej raz.
+ */
+@Slf4j
+@Service
+public class EventReminderService {
+
+    private final EventReminderRepository eventReminderRepository;
+    private final UserEventRepository userEventRepository;
+    private final EventReminderNotifier notifier;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int[] leadMinutes;
+    private final long tickMillis;
+    private final Duration maxLateness;
+    private final Duration retryDelay;
+    private final int batchSize;
+    private final HashedTimingWheel<Long> wheel;
+    private final Map<Long, HashedTimingWheel.Timeout<Long>> scheduled = new ConcurrentHashMap<>();
+    private final Counter sent;
+    private final ScheduledExecutorService ticker;
+
+    @Autowired
+    public EventReminderService(EventReminderRepository eventReminderRepository, UserEventRepository userEventRepository,
+                                EventReminderNotifier notifier, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                @Value("${app.reminders.enabled:true}") boolean enabled,
+                                @Value("${app.reminders.lead-minutes:60}") int[] leadMinutes,
+                                @Value("${app.reminders.tick:PT1S}") Duration tick,
+                                @Value("${app.reminders.wheel-size:4096}") int wheelSize,
+                                @Value("${app.reminders.max-lateness:PT6H}") Duration maxLateness,
+                                @Value("${app.reminders.retry-delay:PT30S}") Duration retryDelay,
+                                @Value("${app.reminders.batch-size:500}") int batchSize) {
+        this(eventReminderRepository, userEventRepository, notifier, transactionManager, meterRegistry, Clock.systemDefaultZone(),
+                enabled, leadMinutes, tick, wheelSize, maxLateness, retryDelay, batchSize);
+    }
+
+    EventReminderService(EventReminderRepository eventReminderRepository, UserEventRepository userEventRepository,
+                         EventReminderNotifier notifier, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                         Clock clock, boolean enabled, int[] leadMinutes, Duration tick, int wheelSize, Duration maxLateness,
+                         Duration retryDelay, int batchSize) {
+        this.eventReminderRepository = eventReminderRepository;
+        this.userEventRepository = userEventRepository;
+        this.notifier = notifier;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clock = clock;
+        this.enabled = enabled;
+        this.leadMinutes = Arrays.stream(leadMinutes).distinct().toArray();
+        this.tickMillis = tick.toMillis();
+        this.maxLateness = maxLateness;
+        this.retryDelay = retryDelay;
+        this.batchSize = batchSize;
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, clock.millis());
+        this.sent = Counter.builder("event.reminders.sent").description("Event reminders delivered to the notifier").register(meterRegistry);
+        Gauge.builder("event.reminders.pending", wheel, HashedTimingWheel::size).register(meterRegistry);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-reminder-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<EventReminderRow> rows = eventReminderRepository.streamPending()) {
+                rows.forEach(row -> schedule(row.id(), row.fireAt()));
+            }
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("Załadowano oczekujące przypomnienia o wydarzeniach: {}", wheel.size());
+    }
+
+    /**
+     * Zastępuje przypomnienia wydarzenia nowymi, po jednym na każde wyprzedzenie z {@code app.reminders.lead-minutes}.
+     * Wywoływane po każdej zmianie wydarzenia, koło zmieniane jest dopiero po commicie.
+     */
+    public void scheduleForEvent(Event event) {
+        if (!enabled) return;
+        List<Long> previous = eventReminderRepository.findIdsByEventId(event.getId());
+        if (!previous.isEmpty()) eventReminderRepository.deleteByEventId(event.getId());
+
+        List<EventReminder> reminders = new ArrayList<>();
+        if (event.getStartEvent() != null) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            for (int lead : leadMinutes) {
+                LocalDateTime fireAt = event.getStartEvent().minusMinutes(lead);
+                if (fireAt.isAfter(now)) reminders.add(new EventReminder(event, fireAt, lead));
+            }
+            eventReminderRepository.saveAll(reminders);
+        }
+        afterCommit(() -> {
+            previous.forEach(this::unschedule);
+            reminders.forEach(reminder -> schedule(reminder.getId(), reminder.getFireAt()));
+        });
+    }
+
+    public void cancelForEvent(Long eventId) {
+        List<Long> previous = eventReminderRepository.findIdsByEventId(eventId);
+        if (previous.isEmpty()) return;
+        eventReminderRepository.deleteByEventId(eventId);
+        afterCommit(() -> previous.forEach(this::unschedule));
+    }
+
+    int pending() {
+        return wheel.size();
+    }
+
+    /**
+     * Jeden krok koła. Paczka, której nie udało się wysłać, wraca do koła z opóźnieniem {@code app.reminders.retry-delay}.
+     */
+    void tick() {
+        try {
+            List<Long> due = new ArrayList<>();
+            wheel.advance(clock.millis(), due::add);
+            due.forEach(scheduled::remove);
+            for (int i = 0; i < due.size(); i += batchSize) {
+                List<Long> batch = due.subList(i, Math.min(i + batchSize, due.size()));
+                try {
+                    dispatch(batch);
+                } catch (RuntimeException e) {
+                    log.error("Nie udało się wysłać {} przypomnień, ponowienie za {}: {}", batch.size(), retryDelay, e.getMessage());
+                    LocalDateTime retryAt = LocalDateTime.now(clock).plus(retryDelay);
+                    batch.forEach(id -> schedule(id, retryAt));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Błąd koła przypomnień: {}", e.getMessage());
+        }
+    }
+
+    private void dispatch(List<Long> ids) {
+        transaction.executeWithoutResult(status -> {
+            List<EventReminder> reminders = eventReminderRepository.findWithEventByIds(ids);
+            if (reminders.isEmpty()) return;
+
+            Map<Long, List<String>> recipients = new HashMap<>();
+            userEventRepository.findRecipientsByEventIds(reminders.stream().map(reminder -> reminder.getEvent().getId()).distinct().toList())
+                    .forEach(row -> recipients.computeIfAbsent(row.eventId(), id -> new ArrayList<>()).add(row.UId()));
+
+            LocalDateTime oldest = LocalDateTime.now(clock).minus(maxLateness);
+            for (EventReminder reminder : reminders) {
+                Event event = reminder.getEvent();
+                if (reminder.getFireAt().isBefore(oldest)) {
+                    log.warn("Pominięto przeterminowane przypomnienie {} o wydarzeniu {}", reminder.getId(), event.getId());
+                    continue;
+                }
+                notifier.notify(new EventReminderNotification(reminder.getId(), event.getId(), event.getGroup().getId(), event.getName(),
+                        event.getStartEvent(), reminder.getLeadMinutes(), recipients.getOrDefault(event.getId(), List.of())));
+                sent.increment();
+            }
+            eventReminderRepository.deleteByIds(reminders.stream().map(EventReminder::getId).toList());
+        });
+    }
+
+    private void schedule(Long reminderId, LocalDateTime fireAt) {
+        HashedTimingWheel.Timeout<Long> timeout = wheel.schedule(reminderId, fireAt.atZone(clock.getZone()).toInstant().toEpochMilli());
+        HashedTimingWheel.Timeout<Long> previous = scheduled.put(reminderId, timeout);
+        if (previous != null) wheel.cancel(previous);
+    }
+
+    private void unschedule(Long reminderId) {
+        HashedTimingWheel.Timeout<Long> timeout = scheduled.remove(reminderId);
+        if (timeout != null) wheel.cancel(timeout);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.springprojektzespolowy.services.reminderServices;
+
+import java.util.function.Consumer;
+
+/**
+ * Koło czasowe z haszowaniem (Varghese i Lauck). Termin trafia do kubełka {@code tick mod rozmiar}, więc dodanie
+ * i anulowanie to O(1) na liście dwukierunkowej, a każdy tick przegląda tylko jeden kubełek. Terminy dalsze niż
+ * jeden obrót czekają w kubełku, dopóki nie nadejdzie ich tick. Koło nie ma własnego wątku - czas przesuwa {@link #advance}.
+ */
+final class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Timeout<T>[] buckets;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis must be positive");
+        if (wheelSize <= 0 || wheelSize > 1 << 20) throw new IllegalArgumentException("wheelSize must be between 1 and 2^20");
+        int normalized = Integer.highestOneBit(wheelSize);
+        if (normalized < wheelSize) normalized <<= 1;
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = new Timeout[normalized];
+        this.mask = normalized - 1;
+    }
+
+    /**
+     * Termin z przeszłości odpala w następnym ticku.
+     */
+    synchronized Timeout<T> schedule(T value, long deadlineMillis) {
+        long elapsed = deadlineMillis - startMillis;
+        long deadlineTick = Math.max(elapsed <= 0 ? 0 : (elapsed + tickMillis - 1) / tickMillis, currentTick);
+        Timeout<T> timeout = new Timeout<>(value, deadlineTick);
+        link(timeout, (int) (deadlineTick & mask));
+        size++;
+        return timeout;
+    }
+
+    synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket < 0) return false;
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Odpala wszystkie terminy do {@code nowMillis} włącznie. Po dłuższej przerwie przegląda każdy kubełek
+     * co najwyżej raz, a nie raz na każdy zaległy tick.
+     */
+    synchronized int advance(long nowMillis, Consumer<T> expired) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        if (targetTick < currentTick) return 0;
+        long ticks = Math.min(targetTick - currentTick + 1, buckets.length);
+        int fired = 0;
+        for (long tick = currentTick; tick < currentTick + ticks && size > 0; tick++) {
+            Timeout<T> timeout = buckets[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadlineTick <= targetTick) {
+                    unlink(timeout);
+                    size--;
+                    fired++;
+                    expired.accept(timeout.value);
+                }
+                timeout = next;
+            }
+        }
+        currentTick = targetTick + 1;
+        return fired;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void link(Timeout<T> timeout, int bucket) {
+        timeout.bucket = bucket;
+        timeout.next = buckets[bucket];
+        if (timeout.next != null) timeout.next.prev = timeout;
+        buckets[bucket] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) timeout.prev.next = timeout.next;
+        else buckets[timeout.bucket] = timeout.next;
+        if (timeout.next != null) timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+    }
+
+    static final class Timeout<T> {
+
+        private final T value;
+        private final long deadlineTick;
+        private int bucket = -1;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        T value() {
+            return value;
+        }
+    }
+}
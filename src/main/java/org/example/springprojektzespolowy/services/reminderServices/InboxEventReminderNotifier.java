@@ -0,0 +1,31 @@
+package org.example.springprojektzespolowy.services.reminderServices;
+
+import org.example.springprojektzespolowy.dto.reminder.EventReminderNotification;
+import org.example.springprojektzespolowy.models.ReminderInboxEntry;
+import org.example.springprojektzespolowy.repositories.reminderRepos.ReminderInboxRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Zapisuje każde przypomnienie do tabeli {@code reminder_inbox}, po jednym wierszu na odbiorcę. Do testów i środowisk lokalnych.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reminders.notifier", havingValue = "inbox")
+public class InboxEventReminderNotifier implements EventReminderNotifier {
+
+    private final ReminderInboxRepository reminderInboxRepository;
+
+    public InboxEventReminderNotifier(ReminderInboxRepository reminderInboxRepository) {
+        this.reminderInboxRepository = reminderInboxRepository;
+    }
+
+    @Override
+    public void notify(EventReminderNotification notification) {
+        LocalDateTime now = LocalDateTime.now();
+        reminderInboxRepository.saveAll(notification.recipientUIds().stream()
+                .map(UId -> new ReminderInboxEntry(UId, notification.eventId(), notification.eventName(), notification.startEvent(), now))
+                .toList());
+    }
+}
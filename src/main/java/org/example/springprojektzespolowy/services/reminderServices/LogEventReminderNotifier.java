@@ -0,0 +1,18 @@
+package org.example.springprojektzespolowy.services.reminderServices;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.springprojektzespolowy.dto.reminder.EventReminderNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.reminders.notifier", havingValue = "log", matchIfMissing = true)
+public class LogEventReminderNotifier implements EventReminderNotifier {
+
+    @Override
+    public void notify(EventReminderNotification notification) {
+        log.info("Przypomnienie: wydarzenie {} ({}) zaczyna się {}, odbiorcy: {}", notification.eventId(), notification.eventName(),
+                notification.startEvent(), notification.recipientUIds());
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.example.springprojektzespolowy.config.firebase.AuthenticatedUser;
 import org.example.springprojektzespolowy.dto.event.EventDto;
 import org.example.springprojektzespolowy.dto.event.UpdateEventDto;
 import org.example.springprojektzespolowy.dto.mappers.EventDtoMapper;
@@ -15,16 +16,15 @@ import org.example.springprojektzespolowy.models.User;
 import org.example.springprojektzespolowy.models.intermediateTable.UserEvent;
 import org.example.springprojektzespolowy.models.intermediateTable.UserEventKey;
 import org.example.springprojektzespolowy.repositories.userRepos.UserEventRepository;
+import org.example.springprojektzespolowy.repositories.userRepos.UserGroupRepository;
+import org.example.springprojektzespolowy.repositories.userRepos.UserRepository;
 import org.example.springprojektzespolowy.services.EventService;
 import org.example.springprojektzespolowy.services.SecurityService;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 @Slf4j
 @Service
@@ -36,14 +36,20 @@ public class UserEventService {
     private final EventDtoMapper eventDtoMapper;
     private final UserDtoMapper userDtoMapper;
     private final SecurityService securityService;
+    private final UserGroupRepository userGroupRepository;
+    private final UserRepository userRepository;
+    private final UserIdResolver userIdResolver;
 
-    public UserEventService(UserEventRepository userEventRepository, UserService userService, EventService eventService, EventDtoMapper eventDtoMapper, UserDtoMapper userDtoMapper, SecurityService securityService) {
+    public UserEventService(UserEventRepository userEventRepository, UserService userService, EventService eventService, EventDtoMapper eventDtoMapper, UserDtoMapper userDtoMapper, SecurityService securityService, UserGroupRepository userGroupRepository, UserRepository userRepository, UserIdResolver userIdResolver) {
         this.userEventRepository = userEventRepository;
         this.userService = userService;
         this.eventService = eventService;
         this.eventDtoMapper = eventDtoMapper;
         this.userDtoMapper = userDtoMapper;
         this.securityService = securityService;
+        this.userGroupRepository = userGroupRepository;
+        this.userRepository = userRepository;
+        this.userIdResolver = userIdResolver;
     }
 
     @PreAuthorize("@securityService.isGroupMember(authentication.name, #groupId)")
@@ -60,7 +66,7 @@ public class UserEventService {
             members.add(userEventWithoutEventDto);
 
         });
-        return new UserEventDto(eventDto, members);
+        return new UserEventDto(eventDto, members, List.of());
     }
 
     public EventDto deleteUserEventByEventId(Long eventId){
@@ -74,27 +80,62 @@ public class UserEventService {
 
 
 
+    /**
+     * Użytkownik rozwiązywany jest przez {@link UserIdResolver} (zwykle z cache), a wiersz zapisywany z referencją
+     * zamiast wczytanej encji User.
+     */
     public UserWithRoleDto addEventMember(Long eventId, String UId, Long groupId){
-        if (!userService.userExistsByUId(UId)) throw new EntityNotFoundException("User id:"+UId+" not foud");
+        AuthenticatedUser user = userIdResolver.resolve(UId);
+        if (user == null || !user.isRegistered()) throw new EntityNotFoundException("User id:"+UId+" not foud");
         if (!eventService.eventExistsByid(eventId)) throw new EntityNotFoundException("Event id:"+eventId+" not foud");
         if(!securityService.isGroupMember(UId,groupId)) throw new AccessDeniedException("User is not a Member");
 
         Event event = eventService.getEventById(eventId);
-        User user = userService.getUserByUId(UId);
 
-        UserEventKey key = new UserEventKey(user.getId(), eventId);
+        UserEventKey key = new UserEventKey(user.id(), eventId);
 
         if(userEventRepository.existsById(key)) throw new EntityExistsException("User id:"+ UId+" already is MEMBER in Event "+eventId);
 
-        UserEvent member = userEventRepository.save(new UserEvent(key, user, event, "MEMBER"));
+        userEventRepository.save(new UserEvent(key, userRepository.getReferenceById(user.id()), event, "MEMBER"));
 
-        return userDtoMapper.convert(member.getUser(),"MEMBER");
+        return userDtoMapper.convert(user,"MEMBER");
     }
 
-    public UserWithRoleDto addEventCreator(Event event, String UId){
-        if (!userService.userExistsByUId(UId)) throw new EntityNotFoundException("User id:"+UId+" not foud");
+    /**
+     * Dodaje wielu członków naraz. Istnienie użytkowników i przynależność do grupy sprawdzane są jednym zapytaniem,
+     * obecni członkowie drugim, a nowe wiersze zapisywane przez saveAll w batchu JDBC. Kto już jest na wydarzeniu, jest pomijany.
+     */
+    public List<UserWithRoleDto> addEventMembers(Event event, Collection<String> UIds, Long groupId){
+        if (UIds.isEmpty()) return List.of();
+        Set<String> requested = new LinkedHashSet<>(UIds);
+        Map<String, User> users = new HashMap<>();
+        userGroupRepository.findGroupMembersByUIds(groupId, requested).forEach(user -> users.put(user.getUId(), user));
+        if (users.size() != requested.size()) {
+            Set<String> missing = new TreeSet<>(requested);
+            missing.removeAll(users.keySet());
+            throw new EntityNotFoundException("Users not found in group: " + missing);
+        }
+
+        Set<Long> existing = new HashSet<>(userEventRepository.findMemberIds(event.getId(),
+                users.values().stream().map(User::getId).toList()));
+        List<UserEvent> members = new ArrayList<>();
+        for (String UId : requested) {
+            User user = users.get(UId);
+            if (existing.contains(user.getId())) continue;
+            members.add(new UserEvent(new UserEventKey(user.getId(), event.getId()), user, event, "MEMBER"));
+        }
+        userEventRepository.saveAll(members);
+        return members.stream().map(member -> userDtoMapper.convert(member.getUser(), "MEMBER")).toList();
+    }
 
+    public int removeEventMembers(Long eventId, Collection<String> UIds){
+        if (UIds.isEmpty()) return 0;
+        return userEventRepository.deleteMembers(eventId, UIds);
+    }
+
+    public UserWithRoleDto addEventCreator(Event event, String UId){
         User user = userService.getUserByUId(UId);
+        if (user == null) throw new EntityNotFoundException("User id:"+UId+" not foud");
 
         UserEventKey key = new UserEventKey(user.getId(), event.getId());
 
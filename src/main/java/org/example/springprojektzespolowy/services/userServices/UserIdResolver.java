@@ -0,0 +1,84 @@
+package org.example.springprojektzespolowy.services.userServices;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.springprojektzespolowy.config.firebase.AuthenticatedUser;
+import org.example.springprojektzespolowy.models.User;
+import org.example.springprojektzespolowy.repositories.userRepos.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Tłumaczy Firebase UId na wewnętrzne id użytkownika. Wyniki trzymane są w ograniczonym cache LRU,
+ * a brakujące wpisy dla wielu UId doczytywane jednym zapytaniem IN.
+ */
+@Slf4j
+@Service
+public class UserIdResolver {
+
+    private final UserRepository userRepository;
+    private final Map<String, AuthenticatedUser> cache;
+
+    public UserIdResolver(UserRepository userRepository, @Value("${app.user-id-cache.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AuthenticatedUser> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public AuthenticatedUser resolve(String UId) {
+        if (UId == null) return null;
+        AuthenticatedUser cached = cache.get(UId);
+        if (cached != null) return cached;
+
+        User user = userRepository.findByUId(UId);
+        if (user == null) return AuthenticatedUser.unregistered(UId);
+
+        return remember(user);
+    }
+
+    public Long resolveId(String UId) {
+        AuthenticatedUser user = resolve(UId);
+        return user == null ? null : user.id();
+    }
+
+    public Map<String, Long> resolveIds(Collection<String> UIds) {
+        Map<String, Long> ids = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String UId : new LinkedHashSet<>(UIds)) {
+            AuthenticatedUser cached = cache.get(UId);
+            if (cached != null) ids.put(UId, cached.id());
+            else missing.add(UId);
+        }
+
+        if (!missing.isEmpty()) {
+            userRepository.findAllByUIdIn(missing)
+                    .forEach(user -> ids.put(user.getUId(), remember(user).id()));
+        }
+        return ids;
+    }
+
+    public AuthenticatedUser currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) return null;
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user && user.isRegistered()) return user;
+        return resolve(authentication.getName());
+    }
+
+    public void evict(String UId) {
+        if (UId != null) cache.remove(UId);
+    }
+
+    private AuthenticatedUser remember(User user) {
+        AuthenticatedUser resolved = new AuthenticatedUser(user.getUId(), user.getId(), user.getName(), user.getEmail(), user.getProfilePhotoId());
+        cache.put(user.getUId(), resolved);
+        return resolved;
+    }
+}
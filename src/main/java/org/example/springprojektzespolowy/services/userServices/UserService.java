@@ -24,18 +24,25 @@ public class UserService {
     private final UserDtoMapper userDtoMapper;
     private final GroupService groupService;
     private final PhotoService photoService;
+    private final UserIdResolver userIdResolver;
 
-    public UserService(UserRepository userRepository, UserDtoMapper userDtoMapper, GroupService groupService, PhotoService photoService) {
+    public UserService(UserRepository userRepository, UserDtoMapper userDtoMapper, GroupService groupService, PhotoService photoService, UserIdResolver userIdResolver) {
         this.userRepository = userRepository;
         this.userDtoMapper = userDtoMapper ;
         this.groupService = groupService;
         this.photoService = photoService;
+        this.userIdResolver = userIdResolver;
     }
 
     public User getUserByUId(String UId){
         return userRepository.findByUId(UId);
     }
 
+    public List<User> getUsersByUIds(Collection<String> UIds){
+        if (UIds.isEmpty()) return List.of();
+        return userRepository.findAllByUIdIn(UIds);
+    }
+
     @PreAuthorize("@securityService.isRequestingUserisAuthorizedForAccount(authentication.name,#UId)")
     public UserDto getUserByUIdForController(String UId){
         boolean userExists = userRepository.existsUserByUId(UId);
@@ -123,6 +130,7 @@ public class UserService {
     @PreAuthorize("@securityService.isRequestingUserisAuthorizedForAccount(authentication.name,#UId)")
     public void deleteUser(String UId){
         userRepository.deleteUserByUId(UId);
+        userIdResolver.evict(UId);
     }
 
     @Transactional
@@ -145,6 +153,7 @@ public class UserService {
         user.setCountry(userDto.country());
 
         userRepository.save(user);
+        userIdResolver.evict(user.getUId());
         return userDtoMapper.convert(user);
     }
 
@@ -158,6 +167,7 @@ public class UserService {
         if (patchUser.dateOfBirth() != null) user.setDateOfBirth(patchUser.dateOfBirth());
 
         User newUser = userRepository.save(user);
+        userIdResolver.evict(UId);
         return userDtoMapper.convert(newUser);
 
     }
@@ -166,6 +176,7 @@ public class UserService {
     public boolean pathUserProfilePhoto(String Uid, Long photoId){
         try {
             userRepository.findByUId(Uid).setProfilePhotoId(photoId);
+            userIdResolver.evict(Uid);
             return true;
         }catch (Exception e){
             log.warn(e.getMessage());
@@ -0,0 +1,64 @@
+package org.example.springprojektzespolowy.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Ograniczony cache LRU wartości liczonych dla całej grupy (agregaty, indeksy w pamięci). Każda grupa ma licznik
+ * generacji podbijany przy {@link #evict}. Wartość trafia do cache tylko wtedy, gdy generacja nie zmieniła się
+ * od początku jej wczytywania, więc odczyt, który zaczął się przed commitem zmiany, nie zapisze starego stanu.
+ */
+public final class GroupCache<V> {
+
+    private final Map<Long, V> values;
+    private final Map<Long, Long> generations = new HashMap<>();
+
+    public GroupCache(int maxGroups) {
+        this.values = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                return size() > maxGroups;
+            }
+        };
+    }
+
+    public V get(Long groupId, Supplier<V> loader) {
+        long generation;
+        synchronized (this) {
+            V cached = values.get(groupId);
+            if (cached != null) return cached;
+            generation = generations.getOrDefault(groupId, 0L);
+        }
+
+        V loaded = loader.get();
+        synchronized (this) {
+            if (generations.getOrDefault(groupId, 0L) == generation) values.put(groupId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Unieważnia wartość grupy od razu, a w transakcji jeszcze raz po commicie, bo dopiero wtedy odczyty widzą zmianę.
+     */
+    public void evict(Long groupId) {
+        invalidate(groupId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(groupId);
+                }
+            });
+        }
+    }
+
+    private synchronized void invalidate(Long groupId) {
+        generations.merge(groupId, 1L, Long::sum);
+        values.remove(groupId);
+    }
+}
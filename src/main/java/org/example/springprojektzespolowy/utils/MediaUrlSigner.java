@@ -0,0 +1,84 @@
+package org.example.springprojektzespolowy.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Podpisuje krótkotrwałe adresy do plików zdjęć (HMAC-SHA256 z id zdjęcia, id grupy i czasu wygaśnięcia).
+ * Endpoint mediów weryfikuje podpis bez dostępu do bazy i bez tokenu Firebase.
+ */
+@Slf4j
+@Component
+public class MediaUrlSigner {
+
+    public static final String PHOTO_PATH = "/public/media/photo/";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public MediaUrlSigner(@Value("${app.media.signing-key:}") String signingKey,
+                          @Value("${app.media.url-ttl:PT15M}") Duration ttl) {
+        this(signingKey, ttl, Clock.systemUTC());
+    }
+
+    MediaUrlSigner(String signingKey, Duration ttl, Clock clock) {
+        byte[] keyBytes;
+        if (signingKey == null || signingKey.isBlank()) {
+            log.warn("Brak app.media.signing-key - generowany losowy klucz, podpisane adresy nie przetrwają restartu");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = signingKey.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Koniec okna TTL następującego po bieżącym, czyli więcej niż jeden i najwyżej dwa TTL od teraz. Wszystkie
+     * listowania galerii w tym samym oknie dostają ten sam adres, więc przeglądarka może korzystać z cache,
+     * a adres nigdy nie jest ważny krócej niż TTL.
+     */
+    public Instant nextExpiry() {
+        long ttlSeconds = Math.max(ttl.toSeconds(), 1);
+        long now = clock.instant().getEpochSecond();
+        return Instant.ofEpochSecond((now / ttlSeconds + 2) * ttlSeconds);
+    }
+
+    public String signPhotoUrl(Long photoId, Long groupId, Instant expiresAt) {
+        long exp = expiresAt.getEpochSecond();
+        return PHOTO_PATH + photoId + "?g=" + groupId + "&exp=" + exp + "&sig=" + sign(photoId, groupId, exp);
+    }
+
+    public boolean verify(Long photoId, Long groupId, long exp, String signature) {
+        if (signature == null || exp < clock.instant().getEpochSecond()) return false;
+        byte[] expected = sign(photoId, groupId, exp).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String sign(Long photoId, Long groupId, long exp) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal((photoId + ":" + groupId + ":" + exp).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC not available", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.springprojektzespolowy.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Zamiana tekstu wpisanego przez użytkownika na bezpieczne wzorce zapytań: LIKE po prefiksie i tsquery.
+ */
+public final class SearchPatterns {
+
+    public static final int MAX_TERMS = 10;
+
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private SearchPatterns() {
+    }
+
+    /**
+     * Wzorzec {@code prefiks%} dla LIKE/ILIKE z {@code \} jako znakiem ucieczki.
+     */
+    public static String prefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    /**
+     * Zapytanie dla {@code to_tsquery}: słowa (litery i cyfry) połączone przez {@code &}, ostatnie jako prefiks,
+     * żeby wyniki pojawiały się w trakcie pisania. Operatory tsquery z wejścia nigdy nie trafiają do zapytania.
+     * Null, gdy tekst nie zawiera żadnego słowa.
+     */
+    public static String tsQuery(String query) {
+        if (query == null) return null;
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = TERM.matcher(query.toLowerCase(Locale.ROOT));
+        while (matcher.find() && terms.size() < MAX_TERMS) terms.add(matcher.group());
+        if (terms.isEmpty()) return null;
+        return String.join(" & ", terms) + ":*";
+    }
+}
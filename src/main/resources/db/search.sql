@@ -0,0 +1,33 @@
+-- Wyszukiwanie pełnotekstowe w grupie. Uruchamiane po aktualizacji schematu przez Hibernate
+-- (spring.jpa.defer-datasource-initialization), każda instrukcja jest idempotentna.
+-- Kolumny search_vector są generowane (STORED), więc Postgres przelicza je przy każdym zapisie wiersza.
+-- Konfiguracja 'simple' (bez stemmingu), bo Postgres nie ma słownika polskiego.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE event ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(category, '') || ' ' || coalesce(localization, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'C')) STORED;
+
+ALTER TABLE expense ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(category, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'C')) STORED;
+
+ALTER TABLE document ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(path, '')), 'C')) STORED;
+
+ALTER TABLE photo ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A')) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_event_search ON event USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_expense_search ON expense USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_document_search ON document USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_photo_search ON photo USING gin (search_vector);
+
+-- Trigramy dla wyszukiwania nazw po prefiksie (ILIKE 'abc%') w istniejących endpointach po nazwie.
+CREATE INDEX IF NOT EXISTS idx_event_name_trgm ON event USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_document_name_trgm ON document USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_photo_name_trgm ON photo USING gin (name gin_trgm_ops);
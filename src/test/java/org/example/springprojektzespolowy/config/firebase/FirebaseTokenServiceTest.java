@@ -0,0 +1,159 @@
+package org.example.springprojektzespolowy.config.firebase;
+
+import com.google.firebase.ErrorCode;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FirebaseTokenServiceTest {
+
+    private final AtomicBoolean slow = new AtomicBoolean(false);
+    private final FirebaseToken validToken = tokenExpiringIn(Duration.ofHours(1));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TokenVerifier stubVerifier = token -> {
+        if (slow.get()) LockSupport.parkNanos(Duration.ofSeconds(1).toNanos());
+        return validToken;
+    };
+
+    private final FirebaseTokenService service = new FirebaseTokenService(stubVerifier, meterRegistry, Clock.systemUTC(),
+            2, 2, Duration.ofMillis(50), 2, Duration.ofMinutes(1), 100);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after consecutive timeouts and fail fast")
+    void testVerifyToken_whenVerifierIsSlow_shouldOpenCircuit() {
+        slow.set(true);
+
+        assertNull(service.verifyToken("unknown-1"));
+        assertNull(service.verifyToken("unknown-2"));
+        assertEquals(CircuitBreaker.State.OPEN, service.getCircuitState());
+
+        long start = System.nanoTime();
+        assertNull(service.verifyToken("unknown-3"));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 50);
+        assertEquals(1.0, meterRegistry.get("firebase.verify.circuit.transitions").tag("to", "OPEN").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should fall back to a recently verified token when the verifier times out")
+    void testVerifyToken_whenVerifierTimesOut_shouldUseRecentlyVerifiedToken() {
+        assertSame(validToken, service.verifyToken("token"));
+
+        slow.set(true);
+
+        assertSame(validToken, service.verifyToken("token"));
+        assertNull(service.verifyToken("other-token"));
+    }
+
+    @Test
+    @DisplayName("Should treat malformed and rejected tokens as healthy calls that never open the circuit")
+    void testVerifyToken_whenTokensAreRejected_shouldKeepCircuitClosed() {
+        TokenVerifier rejectingVerifier = token -> {
+            if (token.isEmpty() || token.equals("garbage")) throw new IllegalArgumentException("ID token must be a valid JWT");
+            if (token.equals("certs-down")) throw authException(AuthErrorCode.CERTIFICATE_FETCH_FAILED);
+            throw authException(AuthErrorCode.INVALID_ID_TOKEN);
+        };
+        FirebaseTokenService rejecting = new FirebaseTokenService(rejectingVerifier, meterRegistry, Clock.systemUTC(),
+                2, 2, Duration.ofMillis(500), 2, Duration.ofMinutes(1), 100);
+        try {
+            for (String token : new String[]{"", "garbage", "forged", "garbage", "", "forged"}) {
+                assertNull(rejecting.verifyToken(token));
+                assertEquals(CircuitBreaker.State.CLOSED, rejecting.getCircuitState());
+            }
+
+            assertNull(rejecting.verifyToken("certs-down"));
+            assertNull(rejecting.verifyToken("certs-down"));
+            assertEquals(CircuitBreaker.State.OPEN, rejecting.getCircuitState());
+        } finally {
+            rejecting.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reopen the circuit when the half-open probe is interrupted and recover on the next probe")
+    void testVerifyToken_whenHalfOpenProbeIsInterrupted_shouldNotGetStuck() {
+        MutableClock clock = new MutableClock(Instant.now());
+        FirebaseTokenService probing = new FirebaseTokenService(stubVerifier, meterRegistry, clock,
+                2, 2, Duration.ofMillis(50), 2, Duration.ofMinutes(1), 100);
+        try {
+            slow.set(true);
+            probing.verifyToken("unknown-1");
+            probing.verifyToken("unknown-2");
+            assertEquals(CircuitBreaker.State.OPEN, probing.getCircuitState());
+
+            clock.advance(Duration.ofMinutes(1));
+            Thread.currentThread().interrupt();
+            assertNull(probing.verifyToken("token"));
+            assertTrue(Thread.interrupted());
+            assertEquals(CircuitBreaker.State.OPEN, probing.getCircuitState());
+
+            slow.set(false);
+            clock.advance(Duration.ofMinutes(1));
+            assertSame(validToken, probing.verifyToken("token"));
+            assertEquals(CircuitBreaker.State.CLOSED, probing.getCircuitState());
+        } finally {
+            probing.shutdown();
+        }
+    }
+
+    private static FirebaseAuthException authException(AuthErrorCode code) {
+        return new FirebaseAuthException(ErrorCode.INVALID_ARGUMENT, code.name(), null, null, code);
+    }
+
+    private static FirebaseToken tokenExpiringIn(Duration duration) {
+        FirebaseToken token = mock(FirebaseToken.class);
+        when(token.getClaims()).thenReturn(Map.of("exp", Instant.now().plus(duration).getEpochSecond()));
+        when(token.getUid()).thenReturn("test-uid-001");
+        return token;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
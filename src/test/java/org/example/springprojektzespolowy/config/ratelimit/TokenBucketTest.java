@@ -0,0 +1,42 @@
+package org.example.springprojektzespolowy.config.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then report the wait time")
+    void testTryAcquire_whenBurstExceedsCapacity_shouldReject() {
+        TokenBucket bucket = new TokenBucket(3, SECOND, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(SECOND, bucket.tryAcquire(0));
+    }
+
+    @Test
+    @DisplayName("Should refill one token per interval")
+    void testTryAcquire_afterRefillInterval_shouldAllowAgain() {
+        TokenBucket bucket = new TokenBucket(1, SECOND, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(SECOND / 2) > 0);
+        assertEquals(0, bucket.tryAcquire(SECOND));
+    }
+
+    @Test
+    @DisplayName("Should report full bucket once idle long enough")
+    void testIsFull_afterIdle_shouldBeTrue() {
+        TokenBucket bucket = new TokenBucket(2, SECOND, 0);
+        bucket.tryAcquire(0);
+
+        assertFalse(bucket.isFull(0));
+        assertTrue(bucket.isFull(SECOND));
+    }
+}
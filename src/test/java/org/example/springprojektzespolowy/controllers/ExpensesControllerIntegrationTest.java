@@ -1,8 +1,10 @@
 package org.example.springprojektzespolowy.controllers;
 
+import com.jayway.jsonpath.JsonPath;
 import org.example.springprojektzespolowy.config.TestSecurityConfig;
 import org.example.springprojektzespolowy.models.Expense;
 import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesRepository;
+import org.example.springprojektzespolowy.services.expenseServices.ExpenseRollupService;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -21,6 +23,10 @@ import org.testcontainers.containers.PostgreSQLContainer;
 
 import javax.sql.DataSource;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
@@ -65,6 +71,9 @@ class ExpensesControllerIntegrationTest {
     @Autowired
     private ExpensesRepository expensesRepository;
 
+    @Autowired
+    private ExpenseRollupService expenseRollupService;
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
@@ -73,6 +82,10 @@ class ExpensesControllerIntegrationTest {
 
     @BeforeEach
     void setUp() {
+        jdbcTemplate.execute("DELETE FROM group_balance");
+        jdbcTemplate.execute("DELETE FROM expense_rollup");
+        jdbcTemplate.execute("DELETE FROM budget_alert");
+        jdbcTemplate.execute("DELETE FROM group_spending");
         jdbcTemplate.execute("DELETE FROM expenses_user");
         jdbcTemplate.execute("DELETE FROM expenses_document");
         jdbcTemplate.execute("DELETE FROM expenses_event");
@@ -356,6 +369,151 @@ class ExpensesControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Daily rollups")
+    class RollupTests {
+
+        @Test
+        @DisplayName("Should keep incremental rollups equal to a rebuild, also for expenses without a date")
+        void testRollups_afterWrites_shouldMatchRebuild() throws Exception {
+            mockMvc.perform(post("/budget/{groupId}", 2L)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {
+                                        "name": "Z datą",
+                                        "category": "Transport",
+                                        "price": 120.00,
+                                        "dateOfExpense": "2025-03-01T08:00:00",
+                                        "participants": ["test-uid-001"]
+                                    }"""))
+                    .andExpect(status().isOk());
+            for (String name : List.of("Bez daty", "Bez daty do usunięcia")) {
+                mockMvc.perform(post("/budget/{groupId}", 2L)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "name": "%s",
+                                            "price": 40.00,
+                                            "participants": ["test-uid-001"]
+                                        }""".formatted(name)))
+                        .andExpect(status().isOk());
+            }
+            Long updatedId = jdbcTemplate.queryForObject("SELECT id FROM expense WHERE name = 'Bez daty'", Long.class);
+            Long deletedId = jdbcTemplate.queryForObject("SELECT id FROM expense WHERE name = 'Bez daty do usunięcia'", Long.class);
+
+            mockMvc.perform(put("/budget")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {
+                                        "id": %d,
+                                        "name": "Bez daty",
+                                        "category": "Jedzenie",
+                                        "price": 55.00,
+                                        "creator": "test-uid-001",
+                                        "participants": ["test-uid-001"]
+                                    }""".formatted(updatedId)))
+                    .andExpect(status().isAccepted());
+            mockMvc.perform(delete("/budget/{expId}", deletedId))
+                    .andExpect(status().isOk());
+
+            List<Map<String, Object>> incremental = rollups(2L);
+            Assertions.assertEquals(2, incremental.size());
+            Assertions.assertFalse(expenseRollupService.rebuildRollups(2L));
+            Assertions.assertEquals(incremental, rollups(2L));
+        }
+
+        @Test
+        @DisplayName("Should detect and repair a corrupted rollup total")
+        void testRebuildRollups_whenTotalIsCorrupted_shouldReportDriftAndRepair() throws Exception {
+            mockMvc.perform(post("/budget/{groupId}", 2L)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {
+                                        "name": "Do naprawy",
+                                        "category": "Transport",
+                                        "price": 75.00,
+                                        "dateOfExpense": "2025-04-10T12:00:00",
+                                        "participants": ["test-uid-001"]
+                                    }"""))
+                    .andExpect(status().isOk());
+            List<Map<String, Object>> expected = rollups(2L);
+            expenseRollupService.rebuildRollups(2L);
+
+            jdbcTemplate.update("UPDATE expense_rollup SET total = total + 1 WHERE group_id = ? AND category = 'Transport'", 2L);
+
+            Assertions.assertTrue(expenseRollupService.rebuildRollups(2L));
+            Assertions.assertEquals(expected, rollups(2L));
+        }
+
+        @Test
+        @DisplayName("Should seed a missing spending total from the rollups instead of starting from the new expense")
+        void testCreateExpense_whenSpendingRowIsMissing_shouldSeedFromRollups() throws Exception {
+            expenseRollupService.rebuildRollups(1L);
+            jdbcTemplate.update("DELETE FROM group_spending WHERE group_id = ?", 1L);
+
+            mockMvc.perform(post("/budget/{groupId}", 1L)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {
+                                        "name": "Pierwszy po migracji",
+                                        "price": 49.50,
+                                        "dateOfExpense": "2025-07-02T10:00:00",
+                                        "participants": ["test-uid-001"]
+                                    }"""))
+                    .andExpect(status().isOk());
+
+            BigDecimal spent = jdbcTemplate.queryForObject("SELECT spent FROM group_spending WHERE group_id = ?", BigDecimal.class, 1L);
+            Assertions.assertEquals(0, new BigDecimal("3800.00").compareTo(spent));
+        }
+
+        private List<Map<String, Object>> rollups(Long groupId) {
+            return jdbcTemplate.queryForList("SELECT category, expense_day, total, expense_count FROM expense_rollup " +
+                    "WHERE group_id = ? ORDER BY category, expense_day", groupId);
+        }
+    }
+
+    @Nested
+    @DisplayName("Search Tests")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should page through dated and undated expenses without skipping or repeating rows")
+        void testSearchExpenses_pagedWithCursor_shouldMatchFullOrdering() throws Exception {
+            jdbcTemplate.update("""
+                    INSERT INTO expense (id, name, price, date_of_expense, date_of_adding, creator, group_id) VALUES
+                        (10, 'Bez daty A', 10.00, NULL, '2025-02-01 10:00:00', 'test-uid-001', 1),
+                        (11, 'Ta sama data A', 11.00, '2025-06-15 08:00:00', '2025-06-15 09:00:00', 'test-uid-001', 1),
+                        (12, 'Bez daty B', 12.00, NULL, '2025-02-02 10:00:00', 'test-uid-001', 1),
+                        (13, 'Ta sama data B', 13.00, '2025-06-15 08:00:00', '2025-06-15 09:00:00', 'test-uid-001', 1),
+                        (14, 'Bez daty C', 14.00, NULL, '2025-02-03 10:00:00', 'test-uid-001', 1)""");
+            List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM expense WHERE group_id = 1 " +
+                    "ORDER BY date_of_expense DESC NULLS FIRST, id DESC", Long.class);
+
+            List<Long> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                var request = get("/budget/{groupId}/search", 1L).param("limit", "2");
+                if (cursor != null) request.param("cursor", cursor);
+                String body = mockMvc.perform(request)
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                List<Number> ids = JsonPath.read(body, "$.items[*].id");
+                ids.forEach(id -> paged.add(id.longValue()));
+                cursor = JsonPath.read(body, "$.nextCursor");
+            } while (cursor != null);
+
+            Assertions.assertEquals(8, expected.size());
+            Assertions.assertEquals(expected, paged);
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an invalid cursor")
+        void testSearchExpenses_withInvalidCursor_shouldReturn400() throws Exception {
+            mockMvc.perform(get("/budget/{groupId}/search", 1L).param("cursor", "bm90LWEtY3Vyc29y"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("HTTP Status Tests")
     class HttpStatusTests {
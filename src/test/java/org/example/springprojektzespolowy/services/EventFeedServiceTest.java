@@ -0,0 +1,72 @@
+package org.example.springprojektzespolowy.services;
+
+import org.example.springprojektzespolowy.dto.event.EventFeedRow;
+import org.example.springprojektzespolowy.dto.event.GroupEventVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventFeedServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 7, 1, 18, 30);
+
+    @Test
+    @DisplayName("Should escape RFC 5545 text special characters")
+    void testEscape() {
+        assertEquals("a\\, b\\; c\\\\d\\ne\\nf", EventFeedService.escape("a, b; c\\d\r\ne\nf"));
+        assertEquals("", EventFeedService.escape(null));
+    }
+
+    @Test
+    @DisplayName("Should fold long lines at 75 octets without splitting multi-byte characters")
+    void testFold() {
+        String line = "SUMMARY:" + "ż".repeat(100);
+        String folded = EventFeedService.fold(line);
+
+        String[] parts = folded.split("\r\n");
+        assertTrue(parts.length > 1);
+        for (String part : parts) assertTrue(part.getBytes(StandardCharsets.UTF_8).length <= 75);
+        assertEquals(line, folded.replace("\r\n ", ""));
+        assertEquals("DTSTART:20250701T183000", EventFeedService.fold("DTSTART:20250701T183000"));
+    }
+
+    @Test
+    @DisplayName("Should write a VEVENT per row and treat a missing or earlier end as an instant")
+    void testWrite() throws IOException {
+        StringWriter writer = new StringWriter();
+        EventFeedService.write(List.of(
+                new EventFeedRow(1L, "Kolacja, plaża", "Food", null, "Gdańsk", T0, T0.plusHours(2), T0.minusDays(1)),
+                new EventFeedRow(2L, "Start", null, "Opis", null, T0, T0.minusHours(1), null)
+        ).iterator(), writer);
+        String ics = writer.toString();
+
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+        assertEquals(2, ics.split("BEGIN:VEVENT", -1).length - 1);
+        assertTrue(ics.contains("UID:event-1@springprojektzespolowy\r\n"));
+        assertTrue(ics.contains("SUMMARY:Kolacja\\, plaża\r\n"));
+        assertTrue(ics.contains("DTSTART:20250701T183000\r\nDTEND:20250701T203000\r\n"));
+        assertEquals(1, ics.split("DTEND:", -1).length - 1);
+        assertFalse(ics.contains("\n\n"));
+    }
+
+    @Test
+    @DisplayName("Should change the user ETag only when a group version or membership changes")
+    void testUserETag() {
+        List<GroupEventVersion> versions = List.of(new GroupEventVersion(1L, 3), new GroupEventVersion(2L, 0));
+        String eTag = EventFeedService.userETag("uid", versions);
+
+        assertEquals(eTag, EventFeedService.userETag("uid", List.of(new GroupEventVersion(1L, 3), new GroupEventVersion(2L, 0))));
+        assertNotEquals(eTag, EventFeedService.userETag("uid", List.of(new GroupEventVersion(1L, 4), new GroupEventVersion(2L, 0))));
+        assertNotEquals(eTag, EventFeedService.userETag("uid", List.of(new GroupEventVersion(1L, 3))));
+        assertNotEquals(eTag, EventFeedService.userETag("other", versions));
+        assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""));
+    }
+}
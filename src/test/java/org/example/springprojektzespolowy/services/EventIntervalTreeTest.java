@@ -0,0 +1,55 @@
+package org.example.springprojektzespolowy.services;
+
+import org.example.springprojektzespolowy.dto.event.EventWindowRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventIntervalTreeTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 7, 1, 0, 0);
+
+    @Test
+    @DisplayName("Should return the same events as a linear overlap scan")
+    void testOverlapping_shouldMatchLinearScan() {
+        Random random = new Random(7);
+        List<EventWindowRow> events = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            LocalDateTime start = T0.plusHours(random.nextInt(24 * 60));
+            LocalDateTime end = random.nextInt(5) == 0 ? null : start.plusHours(random.nextInt(72));
+            events.add(new EventWindowRow(id, start, end));
+        }
+        EventIntervalTree tree = EventIntervalTree.build(events);
+
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime from = T0.plusHours(random.nextInt(24 * 60));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(48));
+            List<Long> expected = events.stream()
+                    .filter(event -> event.startEvent().isBefore(to)
+                            && ((event.endEvent() != null && event.endEvent().isAfter(from)) || !event.startEvent().isBefore(from)))
+                    .sorted((a, b) -> a.startEvent().equals(b.startEvent()) ? a.id().compareTo(b.id()) : a.startEvent().compareTo(b.startEvent()))
+                    .map(EventWindowRow::id)
+                    .toList();
+            assertEquals(expected, tree.overlapping(from, to));
+        }
+    }
+
+    @Test
+    @DisplayName("Should list events starting at or after the given moment")
+    void testStartingFrom_shouldSkipEarlierEvents() {
+        EventIntervalTree tree = EventIntervalTree.build(List.of(
+                new EventWindowRow(1L, T0, T0.plusDays(3)),
+                new EventWindowRow(2L, T0.plusDays(1), null),
+                new EventWindowRow(3L, T0.plusDays(1), T0.plusDays(2)),
+                new EventWindowRow(4L, T0.plusDays(5), null)));
+
+        assertEquals(List.of(2L, 3L), tree.startingFrom(T0.plusDays(1), 2));
+        assertEquals(List.of(), tree.startingFrom(T0.plusDays(6), 5));
+    }
+}
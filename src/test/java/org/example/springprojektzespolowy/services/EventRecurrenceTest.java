@@ -0,0 +1,106 @@
+package org.example.springprojektzespolowy.services;
+
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.event.EventOccurrenceDto;
+import org.example.springprojektzespolowy.dto.event.RecurrenceDto;
+import org.example.springprojektzespolowy.models.Event;
+import org.example.springprojektzespolowy.models.EventOccurrenceOverride;
+import org.example.springprojektzespolowy.models.RecurrenceFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventRecurrenceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 7, 1, 8, 0);
+
+    @Test
+    @DisplayName("Should expand the same occurrences as walking the whole series")
+    void testStartsOverlapping_shouldMatchFullWalk() {
+        Random random = new Random(11);
+        for (RecurrenceFrequency frequency : RecurrenceFrequency.values()) {
+            for (int i = 0; i < 100; i++) {
+                int interval = 1 + random.nextInt(3);
+                Integer count = random.nextBoolean() ? null : 1 + random.nextInt(40);
+                LocalDateTime until = random.nextBoolean() ? null : T0.plusDays(random.nextInt(400));
+                EventRecurrence recurrence = new EventRecurrence(T0, T0.plusHours(random.nextInt(30)), frequency, interval, count, until);
+                LocalDateTime from = T0.plusDays(random.nextInt(300)).minusDays(10);
+                LocalDateTime to = from.plusDays(1 + random.nextInt(60));
+
+                List<LocalDateTime> expected = new ArrayList<>();
+                for (long index = 0; index < 2000; index++) {
+                    LocalDateTime start = recurrence.occurrence(index);
+                    if ((count != null && index >= count) || (until != null && start.isAfter(until)) || !start.isBefore(to)) break;
+                    if (EventRecurrence.overlaps(start, start.plus(recurrence.duration()), from, to)) expected.add(start);
+                }
+                assertEquals(expected, recurrence.startsOverlapping(from, to, 10_000));
+                expected.forEach(start -> assertTrue(recurrence.isOccurrence(start)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should bound the series by count and until and clamp monthly occurrences to the month end")
+    void testSeriesEnd() {
+        assertEquals(T0.plusDays(9).plusHours(1),
+                new EventRecurrence(T0, T0.plusHours(1), RecurrenceFrequency.DAILY, 1, 10, null).seriesEnd());
+        assertEquals(T0.plusWeeks(4),
+                new EventRecurrence(T0, null, RecurrenceFrequency.WEEKLY, 2, 100, T0.plusWeeks(5)).seriesEnd());
+        assertNull(new EventRecurrence(T0, null, RecurrenceFrequency.DAILY, 1, null, null).seriesEnd());
+
+        EventRecurrence monthly = new EventRecurrence(LocalDateTime.of(2025, 1, 31, 9, 0), null, RecurrenceFrequency.MONTHLY, 1, null, null);
+        assertEquals(LocalDateTime.of(2025, 2, 28, 9, 0), monthly.occurrence(1));
+        assertEquals(LocalDateTime.of(2025, 3, 31, 9, 0), monthly.occurrence(2));
+        assertTrue(monthly.isOccurrence(LocalDateTime.of(2025, 2, 28, 9, 0)));
+        assertFalse(monthly.isOccurrence(LocalDateTime.of(2025, 2, 27, 9, 0)));
+    }
+
+    @Test
+    @DisplayName("Should reject rules whose series would end beyond the supported date range")
+    void testApply_whenSeriesWouldOverflow_shouldThrowBadRequest() throws BadRequestException {
+        Event event = new Event("Zebranie", null, null, null, T0, T0.plusHours(1), "uid", null);
+
+        assertThrows(BadRequestException.class, () -> EventRecurrence.apply(event,
+                new RecurrenceDto(RecurrenceFrequency.MONTHLY, EventRecurrence.MAX_INTERVAL, Integer.MAX_VALUE, null)));
+        assertThrows(BadRequestException.class, () -> EventRecurrence.apply(event,
+                new RecurrenceDto(RecurrenceFrequency.DAILY, 1, null, LocalDateTime.MAX)));
+
+        EventRecurrence.apply(event, new RecurrenceDto(RecurrenceFrequency.MONTHLY, EventRecurrence.MAX_INTERVAL, EventRecurrence.MAX_COUNT, null));
+        assertEquals(T0.plusMonths((long) EventRecurrence.MAX_INTERVAL * (EventRecurrence.MAX_COUNT - 1)).plusHours(1), event.getSeriesEnd());
+    }
+
+    @Test
+    @DisplayName("Should skip cancelled occurrences and include occurrences moved into the window")
+    void testExpand_withOverrides() {
+        Event event = new Event("Śniadanie", null, null, null, T0, T0.plusHours(1), "uid", null);
+        event.setId(1L);
+        event.setRecurrenceFrequency(RecurrenceFrequency.DAILY);
+        EventRecurrence recurrence = EventRecurrence.of(event);
+        LocalDateTime from = T0.plusDays(10);
+        LocalDateTime to = T0.plusDays(13);
+
+        EventOccurrenceOverride cancelled = new EventOccurrenceOverride(event, T0.plusDays(11));
+        cancelled.setCancelled(true);
+        EventOccurrenceOverride movedIn = new EventOccurrenceOverride(event, T0.plusDays(20));
+        movedIn.setStartEvent(T0.plusDays(12).plusHours(4));
+        movedIn.setName("Późne śniadanie");
+        EventOccurrenceOverride movedOut = new EventOccurrenceOverride(event, T0.plusDays(12));
+        movedOut.setStartEvent(T0.plusDays(30));
+        Map<LocalDateTime, EventOccurrenceOverride> overrides = new HashMap<>();
+        List.of(cancelled, movedIn, movedOut).forEach(override -> overrides.put(override.getOccurrenceStart(), override));
+
+        List<EventOccurrenceDto> occurrences = new ArrayList<>();
+        EventOccurrenceService.expand(event, recurrence, overrides, from, to, occurrences);
+
+        assertEquals(List.of(T0.plusDays(10), T0.plusDays(12).plusHours(4)), occurrences.stream().map(EventOccurrenceDto::startEvent).toList());
+        EventOccurrenceDto moved = occurrences.get(1);
+        assertEquals(T0.plusDays(20), moved.occurrenceStart());
+        assertEquals(T0.plusDays(12).plusHours(5), moved.endEvent());
+        assertEquals("Późne śniadanie", moved.eventName());
+        assertTrue(moved.overridden());
+    }
+}
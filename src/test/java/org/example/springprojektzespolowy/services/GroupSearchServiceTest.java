@@ -0,0 +1,93 @@
+package org.example.springprojektzespolowy.services;
+
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.search.GroupSearchRow;
+import org.example.springprojektzespolowy.dto.search.SearchHitType;
+import org.example.springprojektzespolowy.dto.search.SearchResultDto;
+import org.example.springprojektzespolowy.repositories.GroupRepository;
+import org.example.springprojektzespolowy.utils.SearchPatterns;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GroupSearchServiceTest {
+
+    private static final Long GROUP_ID = 1L;
+
+    private final GroupRepository groupRepository = mock(GroupRepository.class);
+    private final GroupService groupService = mock(GroupService.class);
+    private final GroupSearchService groupSearchService = new GroupSearchService(groupRepository, groupService);
+
+    @Test
+    @DisplayName("Should page by (rank, type, id) and continue exactly after the last returned hit")
+    void testSearch_shouldContinueFromCursor() throws BadRequestException {
+        when(groupService.groupExists(GROUP_ID)).thenReturn(true);
+        when(groupRepository.search(eq(GROUP_ID), eq("kolacja & krak:*"), anyCollection(), eq(Float.MAX_VALUE), eq(""), eq(0L), eq(3)))
+                .thenReturn(List.of(row("EVENT", 5L, 0.0759f), row("EXPENSE", 2L, 0.0607927f), row("PHOTO", 9L, 0.01f)));
+
+        SearchResultDto first = groupSearchService.search(GROUP_ID, "Kolacja \"Krak", null, 2, null);
+
+        assertEquals(List.of(5L, 2L), first.items().stream().map(hit -> hit.id()).toList());
+        assertEquals(SearchHitType.EXPENSE, first.items().get(1).type());
+        assertNotNull(first.nextCursor());
+        verify(groupRepository).search(eq(GROUP_ID), anyString(), eq(List.of("DOCUMENT", "EVENT", "EXPENSE", "PHOTO")),
+                anyFloat(), anyString(), anyLong(), anyInt());
+
+        when(groupRepository.search(eq(GROUP_ID), anyString(), eq(List.of("PHOTO")), eq(0.0607927f), eq("EXPENSE"), eq(2L), eq(3)))
+                .thenReturn(List.of(row("PHOTO", 9L, 0.01f)));
+        SearchResultDto second = groupSearchService.search(GROUP_ID, "kolacja krak", Set.of(SearchHitType.PHOTO), 2, first.nextCursor());
+
+        assertEquals(List.of(9L), second.items().stream().map(hit -> hit.id()).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should build safe query patterns and reject queries without words")
+    void testPatterns_andValidation() {
+        assertEquals("a & b & c:*", SearchPatterns.tsQuery("A:* & b | !c"));
+        assertEquals("zażółć:*", SearchPatterns.tsQuery("  Zażółć "));
+        assertNull(SearchPatterns.tsQuery("&|!()"));
+        assertEquals("50\\%\\_a\\\\%", SearchPatterns.prefix("50%_a\\"));
+
+        assertThrows(BadRequestException.class, () -> groupSearchService.search(GROUP_ID, "!!", null, null, null));
+        assertThrows(BadRequestException.class, () -> groupSearchService.search(GROUP_ID, "rynek", null, 101, null));
+        assertThrows(BadRequestException.class, () -> groupSearchService.search(GROUP_ID, "rynek", null, null, "nie-kursor"));
+        verifyNoInteractions(groupRepository);
+    }
+
+    private static GroupSearchRow row(String type, Long id, float rank) {
+        return new GroupSearchRow() {
+            @Override
+            public String getType() {
+                return type;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return type + " " + id;
+            }
+
+            @Override
+            public LocalDateTime getDate() {
+                return null;
+            }
+
+            @Override
+            public Float getRank() {
+                return rank;
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.springprojektzespolowy.services;
+
+import org.example.springprojektzespolowy.dto.userEvent.EventWindowDto;
+import org.example.springprojektzespolowy.dto.userEvent.ScheduleConflictDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleConflictServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 8, 1, 10, 0);
+
+    @Test
+    @DisplayName("Should report overlapping events from different groups and skip back-to-back ones")
+    void testSweep_shouldFindOnlyOverlappingPairs() {
+        List<EventWindowDto> events = List.of(
+                new EventWindowDto(1L, "Flight", 1L, "Italy", T0, T0.plusHours(3)),
+                new EventWindowDto(2L, "Dinner", 2L, "Berlin", T0.plusHours(2), T0.plusHours(4)),
+                new EventWindowDto(3L, "Museum", 1L, "Italy", T0.plusHours(4), T0.plusHours(6)),
+                new EventWindowDto(4L, "Check-in", 2L, "Berlin", T0.plusHours(5), null));
+
+        List<ScheduleConflictDto> conflicts = ScheduleConflictService.sweep(events, 100);
+
+        assertEquals(2, conflicts.size());
+        assertEquals(List.of(1L, 2L), List.of(conflicts.get(0).first().eventId(), conflicts.get(0).second().eventId()));
+        assertEquals(T0.plusHours(2), conflicts.get(0).overlapStart());
+        assertEquals(T0.plusHours(3), conflicts.get(0).overlapEnd());
+        assertEquals(List.of(3L, 4L), List.of(conflicts.get(1).first().eventId(), conflicts.get(1).second().eventId()));
+    }
+}
@@ -3,7 +3,7 @@ package org.example.springprojektzespolowy.services;
 public class TestSecurityService extends SecurityService {
 
     public TestSecurityService() {
-        super(null, null, null, null, null);
+        super(null, null, null, null, null, null, null);
     }
 
     @Override
@@ -0,0 +1,82 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import org.example.springprojektzespolowy.dto.expenses.BudgetAlertDto;
+import org.example.springprojektzespolowy.models.BudgetAlert;
+import org.example.springprojektzespolowy.models.Group;
+import org.example.springprojektzespolowy.repositories.expenseRepos.BudgetAlertRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.GroupSpendingRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BudgetAlertServiceTest {
+
+    private static final int[] THRESHOLDS = {50, 80, 100};
+
+    private final GroupSpendingRepository groupSpendingRepository = mock(GroupSpendingRepository.class);
+    private final BudgetAlertRepository budgetAlertRepository = mock(BudgetAlertRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final BudgetAlertService budgetAlertService =
+            new BudgetAlertService(groupSpendingRepository, budgetAlertRepository, eventPublisher, null, new int[]{100, 50, 80});
+
+    @Test
+    @DisplayName("Should save and publish only the thresholds crossed by the recorded change")
+    void testRecordSpending_shouldAlertOnCrossedThresholds() {
+        Group group = group(new BigDecimal("1000.00"));
+        when(groupSpendingRepository.addAndGetSpent(1L, new BigDecimal("150.00"))).thenReturn(new BigDecimal("850.00"));
+        when(budgetAlertRepository.save(any(BudgetAlert.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        budgetAlertService.recordSpending(group, new BigDecimal("150.00"));
+
+        ArgumentCaptor<BudgetAlertDto> published = ArgumentCaptor.forClass(BudgetAlertDto.class);
+        verify(eventPublisher).publishEvent(published.capture());
+        assertEquals(80, published.getValue().thresholdPercent());
+        assertEquals(new BigDecimal("850.00"), published.getValue().spent());
+        verify(budgetAlertRepository, times(1)).save(any(BudgetAlert.class));
+    }
+
+    @Test
+    @DisplayName("Should skip empty changes and groups without a budget")
+    void testRecordSpending_whenNothingToCheck_shouldNotAlert() {
+        budgetAlertService.recordSpending(group(new BigDecimal("1000.00")), BigDecimal.ZERO);
+        budgetAlertService.recordSpending(group(new BigDecimal("1000.00")), null);
+        verifyNoInteractions(groupSpendingRepository);
+
+        when(groupSpendingRepository.addAndGetSpent(1L, new BigDecimal("5000.00"))).thenReturn(new BigDecimal("5000.00"));
+        budgetAlertService.recordSpending(group(null), new BigDecimal("5000.00"));
+        verifyNoInteractions(budgetAlertRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should report every threshold crossed by a single write")
+    void testCrossedThresholds_whenWriteJumpsOverSeveral_shouldReportAll() {
+        List<Integer> crossed = BudgetAlertService.crossedThresholds(
+                new BigDecimal("400.00"), new BigDecimal("1000.00"), new BigDecimal("1000.00"), THRESHOLDS);
+
+        assertEquals(List.of(50, 80, 100), crossed);
+    }
+
+    @Test
+    @DisplayName("Should not report thresholds that were already exceeded or when spending drops")
+    void testCrossedThresholds_whenAlreadyAboveOrDecreasing_shouldReportNothing() {
+        BigDecimal maxBudget = new BigDecimal("1000.00");
+
+        assertTrue(BudgetAlertService.crossedThresholds(new BigDecimal("850.00"), new BigDecimal("900.00"), maxBudget, THRESHOLDS).isEmpty());
+        assertTrue(BudgetAlertService.crossedThresholds(new BigDecimal("1200.00"), new BigDecimal("100.00"), maxBudget, THRESHOLDS).isEmpty());
+        assertTrue(BudgetAlertService.crossedThresholds(BigDecimal.ZERO, new BigDecimal("100.00"), null, THRESHOLDS).isEmpty());
+    }
+
+    private static Group group(BigDecimal maxBudget) {
+        Group group = new Group("Wyjazd", null, "PLN", maxBudget, null, null);
+        group.setId(1L);
+        return group;
+    }
+}
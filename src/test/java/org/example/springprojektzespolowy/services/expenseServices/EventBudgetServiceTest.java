@@ -0,0 +1,37 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import org.example.springprojektzespolowy.dto.event.EventBudgetRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventBudgetServiceTest {
+
+    @Test
+    @DisplayName("Should split aggregate rows into event totals and member shares")
+    void testAggregate_shouldGroupSharesUnderEventTotals() {
+        List<EventBudgetRow> rows = List.of(
+                row(1L, null, 1000L, 2L),
+                row(1L, 7L, 667L, 2L),
+                row(1L, 8L, 333L, 1L),
+                row(2L, null, 500L, 1L));
+
+        Map<Long, EventBudgetService.EventTotals> totals = EventBudgetService.aggregate(rows);
+
+        assertEquals(new EventBudgetService.EventTotals(1000, 2, Map.of(7L, 667L, 8L, 333L)), totals.get(1L));
+        assertEquals(new EventBudgetService.EventTotals(500, 1, Map.of()), totals.get(2L));
+    }
+
+    private static EventBudgetRow row(Long eventId, Long userId, Long cents, Long expenses) {
+        return new EventBudgetRow() {
+            public Long getEventId() { return eventId; }
+            public Long getUserId() { return userId; }
+            public Long getCents() { return cents; }
+            public Long getExpenses() { return expenses; }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import org.apache.coyote.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseCursorTest {
+
+    @Test
+    @DisplayName("Should decode what it encodes, also for an expense without a date")
+    void testEncodeDecode_shouldRoundTrip() throws BadRequestException {
+        ExpenseCursor dated = new ExpenseCursor(LocalDateTime.of(2025, 6, 15, 8, 0, 30), 42L);
+        ExpenseCursor undated = new ExpenseCursor(null, 7L);
+
+        assertEquals(dated, ExpenseCursor.decode(dated.encode()));
+        assertEquals(undated, ExpenseCursor.decode(undated.encode()));
+        assertNull(ExpenseCursor.decode(null));
+        assertNull(ExpenseCursor.decode(" "));
+    }
+
+    @Test
+    @DisplayName("Should reject tampered or malformed cursors as a bad request")
+    void testDecode_whenCursorIsInvalid_shouldThrowBadRequest() {
+        for (String raw : new String[]{"no-separator", "2025-13-40T00:00|1", "2025-06-15T08:00|abc", "|"}) {
+            String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+            assertThrows(BadRequestException.class, () -> ExpenseCursor.decode(cursor), raw);
+        }
+        assertThrows(BadRequestException.class, () -> ExpenseCursor.decode("%%%"));
+    }
+}
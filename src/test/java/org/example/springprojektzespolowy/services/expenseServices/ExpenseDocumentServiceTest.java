@@ -0,0 +1,86 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.expenses.ExpenseDocumentLinksDto;
+import org.example.springprojektzespolowy.dto.expenses.LinkResultDto;
+import org.example.springprojektzespolowy.models.intermediateTable.ExpensesDocument;
+import org.example.springprojektzespolowy.models.intermediateTable.ExpensesDocumentKey;
+import org.example.springprojektzespolowy.repositories.DocumentsRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesDocumentRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExpenseDocumentServiceTest {
+
+    private static final Long GROUP_ID = 1L;
+
+    private final ExpensesDocumentRepository expensesDocumentRepository = mock(ExpensesDocumentRepository.class);
+    private final ExpensesRepository expensesRepository = mock(ExpensesRepository.class);
+    private final DocumentsRepository documentsRepository = mock(DocumentsRepository.class);
+    private final ExpenseDocumentService expenseDocumentService =
+            new ExpenseDocumentService(expensesDocumentRepository, expensesRepository, documentsRepository);
+
+    @Test
+    @DisplayName("Should save only the missing links")
+    @SuppressWarnings("unchecked")
+    void testLinkDocuments_shouldSkipExistingLinks() throws BadRequestException {
+        ExpenseDocumentLinksDto links = new ExpenseDocumentLinksDto(Set.of(10L), Set.of(30L, 31L), "receipt");
+        when(expensesRepository.findIdsInGroup(GROUP_ID, links.expenseIds())).thenReturn(List.of(10L));
+        when(documentsRepository.findIdsInGroup(GROUP_ID, links.documentIds())).thenReturn(List.of(30L, 31L));
+        when(expensesDocumentRepository.findExistingLinks(links.expenseIds(), links.documentIds()))
+                .thenReturn(List.of(new ExpensesDocumentKey(31L, 10L)));
+
+        assertEquals(new LinkResultDto(2, 1), expenseDocumentService.linkDocuments(GROUP_ID, links));
+
+        ArgumentCaptor<List<ExpensesDocument>> saved = ArgumentCaptor.forClass(List.class);
+        verify(expensesDocumentRepository).saveAll(saved.capture());
+        assertEquals(List.of(new ExpensesDocumentKey(30L, 10L)),
+                saved.getValue().stream().map(ExpensesDocument::getExpensesDocumentKey).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject documents from another group")
+    void testLinkDocuments_whenDocumentIsFromAnotherGroup_shouldThrow() {
+        ExpenseDocumentLinksDto links = new ExpenseDocumentLinksDto(Set.of(10L), Set.of(30L, 77L), null);
+        when(expensesRepository.findIdsInGroup(GROUP_ID, links.expenseIds())).thenReturn(List.of(10L));
+        when(documentsRepository.findIdsInGroup(GROUP_ID, links.documentIds())).thenReturn(List.of(30L));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> expenseDocumentService.linkDocuments(GROUP_ID, links));
+        assertEquals("Documents not found in group: [77]", exception.getMessage());
+        verify(expensesDocumentRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should reject requests over the link limit")
+    void testLinkDocuments_whenTooManyPairs_shouldThrow() {
+        Set<Long> documents = LongStream.rangeClosed(1, ExpenseEventService.MAX_LINKS / 2 + 1).boxed().collect(Collectors.toSet());
+
+        assertThrows(BadRequestException.class,
+                () -> expenseDocumentService.linkDocuments(GROUP_ID, new ExpenseDocumentLinksDto(Set.of(1L, 2L), documents, null)));
+        verifyNoInteractions(expensesRepository, documentsRepository, expensesDocumentRepository);
+    }
+
+    @Test
+    @DisplayName("Should report the number of deleted links")
+    void testUnlinkDocuments_shouldReturnRemovedCount() throws BadRequestException {
+        ExpenseDocumentLinksDto links = new ExpenseDocumentLinksDto(Set.of(10L, 11L), Set.of(30L), null);
+        when(expensesRepository.findIdsInGroup(GROUP_ID, links.expenseIds())).thenReturn(List.of(10L, 11L));
+        when(documentsRepository.findIdsInGroup(GROUP_ID, links.documentIds())).thenReturn(List.of(30L));
+        when(expensesDocumentRepository.deleteLinks(links.expenseIds(), links.documentIds())).thenReturn(1);
+
+        assertEquals(new LinkResultDto(2, 1), expenseDocumentService.unlinkDocuments(GROUP_ID, links));
+    }
+}
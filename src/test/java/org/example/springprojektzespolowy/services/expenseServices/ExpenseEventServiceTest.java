@@ -0,0 +1,117 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.apache.coyote.BadRequestException;
+import org.example.springprojektzespolowy.dto.expenses.ExpenseEventLinksDto;
+import org.example.springprojektzespolowy.dto.expenses.LinkResultDto;
+import org.example.springprojektzespolowy.models.intermediateTable.ExpensesEvent;
+import org.example.springprojektzespolowy.models.intermediateTable.ExpensesEventKey;
+import org.example.springprojektzespolowy.repositories.EventRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesEventRepository;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExpenseEventServiceTest {
+
+    private static final Long GROUP_ID = 1L;
+
+    private final ExpensesEventRepository expensesEventRepository = mock(ExpensesEventRepository.class);
+    private final ExpensesRepository expensesRepository = mock(ExpensesRepository.class);
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final EventBudgetService eventBudgetService = mock(EventBudgetService.class);
+    private final ExpenseEventService expenseEventService =
+            new ExpenseEventService(expensesEventRepository, expensesRepository, eventRepository, eventBudgetService);
+
+    @Test
+    @DisplayName("Should save only the missing links and evict the event budgets")
+    @SuppressWarnings("unchecked")
+    void testLinkEvents_shouldSkipExistingLinks() throws BadRequestException {
+        ExpenseEventLinksDto links = new ExpenseEventLinksDto(Set.of(10L, 11L), Set.of(20L), "paid");
+        when(expensesRepository.findIdsInGroup(GROUP_ID, links.expenseIds())).thenReturn(List.of(10L, 11L));
+        when(eventRepository.findIdsInGroup(GROUP_ID, links.eventIds())).thenReturn(List.of(20L));
+        when(expensesEventRepository.findExistingLinks(links.expenseIds(), links.eventIds()))
+                .thenReturn(List.of(new ExpensesEventKey(20L, 10L)));
+
+        LinkResultDto result = expenseEventService.linkEvents(GROUP_ID, links);
+
+        assertEquals(new LinkResultDto(2, 1), result);
+        ArgumentCaptor<List<ExpensesEvent>> saved = ArgumentCaptor.forClass(List.class);
+        verify(expensesEventRepository).saveAll(saved.capture());
+        assertEquals(List.of(new ExpensesEventKey(20L, 11L)),
+                saved.getValue().stream().map(ExpensesEvent::getExpensesEventKey).toList());
+        verify(eventBudgetService).evict(GROUP_ID);
+    }
+
+    @Test
+    @DisplayName("Should not evict anything when every link already exists")
+    void testLinkEvents_whenAllLinksExist_shouldChangeNothing() throws BadRequestException {
+        ExpenseEventLinksDto links = new ExpenseEventLinksDto(Set.of(10L), Set.of(20L), null);
+        when(expensesRepository.findIdsInGroup(GROUP_ID, links.expenseIds())).thenReturn(List.of(10L));
+        when(eventRepository.findIdsInGroup(GROUP_ID, links.eventIds())).thenReturn(List.of(20L));
+        when(expensesEventRepository.findExistingLinks(links.expenseIds(), links.eventIds()))
+                .thenReturn(List.of(new ExpensesEventKey(20L, 10L)));
+
+        assertEquals(new LinkResultDto(1, 0), expenseEventService.linkEvents(GROUP_ID, links));
+        verify(expensesEventRepository).saveAll(List.of());
+        verifyNoInteractions(eventBudgetService);
+    }
+
+    @Test
+    @DisplayName("Should reject ids from another group before touching any link")
+    void testLinkEvents_whenIdIsFromAnotherGroup_shouldThrow() {
+        ExpenseEventLinksDto links = new ExpenseEventLinksDto(Set.of(10L), Set.of(20L, 99L), null);
+        when(expensesRepository.findIdsInGroup(GROUP_ID, links.expenseIds())).thenReturn(List.of(10L));
+        when(eventRepository.findIdsInGroup(GROUP_ID, links.eventIds())).thenReturn(List.of(20L));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> expenseEventService.linkEvents(GROUP_ID, links));
+        assertEquals("Events not found in group: [99]", exception.getMessage());
+        verify(expensesEventRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should reject empty id sets and requests over the link limit")
+    void testLinkEvents_whenRequestIsEmptyOrTooLarge_shouldThrow() {
+        Set<Long> tooManyExpenses = LongStream.rangeClosed(1, ExpenseEventService.MAX_LINKS + 1).boxed().collect(Collectors.toSet());
+
+        assertThrows(BadRequestException.class,
+                () -> expenseEventService.linkEvents(GROUP_ID, new ExpenseEventLinksDto(Set.of(), Set.of(20L), null)));
+        assertThrows(BadRequestException.class,
+                () -> expenseEventService.linkEvents(GROUP_ID, new ExpenseEventLinksDto(tooManyExpenses, Set.of(20L), null)));
+        verifyNoInteractions(expensesRepository, eventRepository, expensesEventRepository);
+    }
+
+    @Test
+    @DisplayName("Should report the number of deleted links and evict only when something was removed")
+    void testUnlinkEvents_shouldReturnRemovedCount() throws BadRequestException {
+        ExpenseEventLinksDto links = new ExpenseEventLinksDto(Set.of(10L, 11L), Set.of(20L, 21L), null);
+        when(expensesRepository.findIdsInGroup(GROUP_ID, links.expenseIds())).thenReturn(List.of(10L, 11L));
+        when(eventRepository.findIdsInGroup(GROUP_ID, links.eventIds())).thenReturn(List.of(20L, 21L));
+        when(expensesEventRepository.deleteLinks(links.expenseIds(), links.eventIds())).thenReturn(3, 0);
+
+        assertEquals(new LinkResultDto(4, 3), expenseEventService.unlinkEvents(GROUP_ID, links));
+        assertEquals(new LinkResultDto(4, 0), expenseEventService.unlinkEvents(GROUP_ID, links));
+        verify(eventBudgetService, times(1)).evict(GROUP_ID);
+    }
+
+    @Test
+    @DisplayName("Should list all missing ids in order")
+    void testRequireAll() {
+        assertDoesNotThrow(() -> ExpenseEventService.requireAll(Set.of(1L, 2L), List.of(2L, 1L), "Expenses"));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> ExpenseEventService.requireAll(Set.of(3L, 1L, 2L), List.of(2L), "Expenses"));
+        assertEquals("Expenses not found in group: [1, 3]", exception.getMessage());
+    }
+}
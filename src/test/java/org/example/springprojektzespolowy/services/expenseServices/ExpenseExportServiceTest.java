@@ -0,0 +1,93 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.springprojektzespolowy.dto.expenses.ExpenseExportRow;
+import org.example.springprojektzespolowy.dto.expenses.ExportFormat;
+import org.example.springprojektzespolowy.models.Group;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesRepository;
+import org.example.springprojektzespolowy.services.GroupService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExpenseExportServiceTest {
+
+    private static final Long GROUP_ID = 1L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ExpensesRepository expensesRepository = mock(ExpensesRepository.class);
+    private final GroupService groupService = mock(GroupService.class);
+    private final ExpenseExportService expenseExportService = new ExpenseExportService(expensesRepository, groupService, objectMapper,
+            mock(PlatformTransactionManager.class), 2);
+
+    @Test
+    @DisplayName("Should quote commas, quotes and line breaks as in RFC 4180")
+    void testText_shouldQuoteSpecialCharacters() {
+        assertEquals("", ExpenseExportService.text(null));
+        assertEquals("", ExpenseExportService.text(""));
+        assertEquals("Hotel", ExpenseExportService.text("Hotel"));
+        assertEquals("\"Pizza, napoje\"", ExpenseExportService.text("Pizza, napoje"));
+        assertEquals("\"Bar \"\"Pod Lipą\"\"\"", ExpenseExportService.text("Bar \"Pod Lipą\""));
+        assertEquals("\"pierwsza\ndruga\"", ExpenseExportService.text("pierwsza\ndruga"));
+        assertEquals("\"pierwsza\r\ndruga\"", ExpenseExportService.text("pierwsza\r\ndruga"));
+    }
+
+    @Test
+    @DisplayName("Should prefix values starting with a formula character with an apostrophe")
+    void testText_shouldNeutralizeFormulas() {
+        assertEquals("'=SUM(A1:A9)", ExpenseExportService.text("=SUM(A1:A9)"));
+        assertEquals("'+48 600 000 000", ExpenseExportService.text("+48 600 000 000"));
+        assertEquals("'-2+3", ExpenseExportService.text("-2+3"));
+        assertEquals("'@cmd", ExpenseExportService.text("@cmd"));
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\"", ExpenseExportService.text("=HYPERLINK(\"http://x\",\"y\")"));
+        assertEquals("a=b", ExpenseExportService.text("a=b"));
+    }
+
+    @Test
+    @DisplayName("Should split each expense so that participant shares add up to its price")
+    void testExportExpenses_sharesShouldSumToPrice() throws IOException {
+        Group group = new Group("Wyjazd", null, "PLN", null, null, null);
+        when(groupService.getGroupById(GROUP_ID)).thenReturn(group);
+        when(expensesRepository.streamExportRowsByGroupId(GROUP_ID)).thenReturn(Stream.of(
+                row(1L, "100.00", 11L), row(1L, "100.00", 12L), row(1L, "100.00", 13L),
+                row(2L, "0.05", 11L), row(2L, "0.05", 12L), row(2L, "0.05", 13L),
+                row(3L, "19.99", 12L),
+                row(4L, "50.00", null)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        expenseExportService.exportExpenses(GROUP_ID, ExportFormat.NDJSON).writeTo(output);
+
+        Map<Long, BigDecimal> shares = new HashMap<>();
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            long expenseId = node.get("expenseId").asLong();
+            assertEquals("PLN", node.get("currency").asText());
+            prices.put(expenseId, node.get("price").decimalValue());
+            if (!node.get("share").isNull()) shares.merge(expenseId, node.get("share").decimalValue(), BigDecimal::add);
+        }
+
+        assertEquals(4, prices.size());
+        for (long expenseId = 1; expenseId <= 3; expenseId++) {
+            assertEquals(0, prices.get(expenseId).compareTo(shares.get(expenseId)), "expense " + expenseId);
+        }
+        assertNull(shares.get(4L));
+    }
+
+    private static ExpenseExportRow row(Long expenseId, String price, Long participantId) {
+        return new ExpenseExportRow(expenseId, "Wydatek " + expenseId, null, null, new BigDecimal(price), null, null,
+                "test-uid-001", participantId, participantId == null ? null : "uid-" + participantId, null, null);
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import jakarta.persistence.EntityManager;
+import org.example.springprojektzespolowy.config.TestSecurityConfig;
+import org.example.springprojektzespolowy.models.Expense;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpensesRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Porównanie ładowania listy wydatków grupy: dawny fetch join wszystkich kolekcji naraz kontra zapytanie
+ * bazowe i osobne zapytania po id wydatków. Uruchamiany ręcznie:
+ * {@code mvn test -Dtest=ExpenseListingBenchmarkTest -Dbenchmark=true}
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExpenseListingBenchmarkTest {
+
+    private static final int EXPENSES = 1000;
+    private static final int PARTICIPANTS = 8;
+    private static final int EVENTS = 3;
+    private static final int DOCUMENTS = 3;
+    private static final int ITERATIONS = 20;
+
+    private static final String LEGACY_QUERY = "SELECT e FROM Expense e LEFT JOIN FETCH e.group eg LEFT JOIN FETCH e.events ee " +
+            "LEFT JOIN FETCH e.participants ep LEFT JOIN FETCH e.documents ed WHERE e.group.id=:groupId";
+
+    static PostgreSQLContainer<?> postgres;
+
+    @BeforeAll
+    static void beforeAll() {
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+                .withDatabaseName("testdb")
+                .withUsername("testuser")
+                .withPassword("testpass");
+        postgres.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExpensesRepository expensesRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("INSERT INTO groups (id, name, currency, max_budget) VALUES (1, 'Benchmark', 'PLN', 100000.00)");
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, uid, name, email) VALUES (?, ?, ?, ?)",
+                rows(PARTICIPANTS, i -> new Object[]{(long) i, "bench-uid-" + i, "User " + i, "user" + i + "@example.com"}));
+        jdbcTemplate.batchUpdate("INSERT INTO event (id, name, group_id) VALUES (?, ?, 1)",
+                rows(EVENTS, i -> new Object[]{(long) i, "Event " + i}));
+        jdbcTemplate.batchUpdate("INSERT INTO document (id, name, path, file_type, group_id) VALUES (?, ?, 'bench', 'pdf', 1)",
+                rows(DOCUMENTS, i -> new Object[]{(long) i, "Document " + i}));
+        jdbcTemplate.batchUpdate("INSERT INTO expense (id, name, category, price, date_of_expense, creator, group_id) " +
+                        "VALUES (?, ?, 'Bench', 10.00, now(), 'bench-uid-1', 1)",
+                rows(EXPENSES, i -> new Object[]{(long) i, "Expense " + i}));
+
+        List<Object[]> participants = new ArrayList<>();
+        List<Object[]> events = new ArrayList<>();
+        List<Object[]> documents = new ArrayList<>();
+        for (long expense = 1; expense <= EXPENSES; expense++) {
+            for (long user = 1; user <= PARTICIPANTS; user++) participants.add(new Object[]{user, expense, user == 1 ? "CREATOR" : "PAYER"});
+            for (long event = 1; event <= EVENTS; event++) events.add(new Object[]{event, expense});
+            for (long document = 1; document <= DOCUMENTS; document++) documents.add(new Object[]{document, expense});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO expenses_user (user_id, expense_id, role) VALUES (?, ?, ?)", participants);
+        jdbcTemplate.batchUpdate("INSERT INTO expenses_event (event_id, expense_id) VALUES (?, ?)", events);
+        jdbcTemplate.batchUpdate("INSERT INTO expenses_document (document_id, expense_id) VALUES (?, ?)", documents);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM expenses_user");
+        jdbcTemplate.execute("DELETE FROM expenses_event");
+        jdbcTemplate.execute("DELETE FROM expenses_document");
+        jdbcTemplate.execute("DELETE FROM expense");
+        jdbcTemplate.execute("DELETE FROM document");
+        jdbcTemplate.execute("DELETE FROM event");
+        jdbcTemplate.execute("DELETE FROM users");
+        jdbcTemplate.execute("DELETE FROM groups");
+    }
+
+    @Test
+    @DisplayName("Should load the same expenses with far fewer rows than the cartesian fetch join")
+    void benchmarkGroupExpenseListing() {
+        long legacyRows = count("SELECT count(*) FROM expense e " +
+                "LEFT JOIN expenses_event ee ON ee.expense_id = e.id " +
+                "LEFT JOIN expenses_user ep ON ep.expense_id = e.id " +
+                "LEFT JOIN expenses_document ed ON ed.expense_id = e.id WHERE e.group_id = 1");
+        long splitRows = count("SELECT count(*) FROM expense WHERE group_id = 1")
+                + count("SELECT count(*) FROM expenses_user eu JOIN expense e ON e.id = eu.expense_id WHERE e.group_id = 1")
+                + count("SELECT count(*) FROM expenses_event ee JOIN expense e ON e.id = ee.expense_id WHERE e.group_id = 1")
+                + count("SELECT count(*) FROM expenses_document ed JOIN expense e ON e.id = ed.expense_id WHERE e.group_id = 1");
+
+        Supplier<List<Expense>> legacy = () -> entityManager.createQuery(LEGACY_QUERY, Expense.class)
+                .setParameter("groupId", 1L)
+                .getResultList();
+        Supplier<List<Expense>> split = () -> {
+            List<Expense> expenses = expensesRepository.getExpenseByGroup_Id(1L);
+            List<Long> ids = expenses.stream().map(Expense::getId).toList();
+            expensesRepository.fetchParticipantsByExpenseIds(ids);
+            expensesRepository.fetchEventsByExpenseIds(ids);
+            expensesRepository.fetchDocumentsByExpenseIds(ids);
+            return expenses;
+        };
+
+        assertEquals(EXPENSES, load(legacy));
+        assertEquals(EXPENSES, load(split));
+
+        double legacyMillis = measure(legacy);
+        double splitMillis = measure(split);
+
+        System.out.printf("Expense listing, %d expenses x %d participants x %d events x %d documents%n",
+                EXPENSES, PARTICIPANTS, EVENTS, DOCUMENTS);
+        System.out.printf("  cartesian fetch join: %,8d rows, %8.2f ms/op%n", legacyRows, legacyMillis);
+        System.out.printf("  split fetch:          %,8d rows, %8.2f ms/op%n", splitRows, splitMillis);
+    }
+
+    private int load(Supplier<List<Expense>> loader) {
+        return transactionTemplate.execute(status -> {
+            List<Expense> expenses = loader.get();
+            expenses.forEach(expense -> {
+                assertEquals(PARTICIPANTS, expense.getParticipants().size());
+                assertEquals(EVENTS, expense.getEvents().size());
+                assertEquals(DOCUMENTS, expense.getDocuments().size());
+            });
+            return expenses.size();
+        });
+    }
+
+    private double measure(Supplier<List<Expense>> loader) {
+        for (int i = 0; i < 3; i++) load(loader);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) load(loader);
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static List<Object[]> rows(int count, IntFunction<Object[]> row) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= count; i++) rows.add(row.apply(i));
+        return rows;
+    }
+}
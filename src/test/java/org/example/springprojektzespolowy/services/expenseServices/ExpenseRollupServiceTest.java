@@ -0,0 +1,50 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import org.example.springprojektzespolowy.models.Expense;
+import org.example.springprojektzespolowy.models.ExpenseRollup;
+import org.example.springprojektzespolowy.repositories.expenseRepos.ExpenseRollupRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExpenseRollupServiceTest {
+
+    private static final Long GROUP_ID = 1L;
+
+    private final ExpenseRollupRepository expenseRollupRepository = mock(ExpenseRollupRepository.class);
+    private final ExpenseRollupService expenseRollupService = new ExpenseRollupService(expenseRollupRepository, null, null);
+
+    @Test
+    @DisplayName("Should put an expense without a date on the day it was added, like the rebuild query")
+    void testApplyAndReverse_whenExpenseHasNoDate_shouldUseDateOfAdding() {
+        Expense expense = new Expense("Bez daty", null, null, new BigDecimal("40.00"), null, LocalDateTime.of(2025, 3, 2, 23, 59));
+
+        expenseRollupService.applyExpense(GROUP_ID, expense);
+        expenseRollupService.reverseExpense(GROUP_ID, expense);
+
+        LocalDate day = LocalDate.of(2025, 3, 2);
+        verify(expenseRollupRepository).addToRollup(GROUP_ID, ExpenseRollup.NO_CATEGORY, day, new BigDecimal("40.00"), 1);
+        verify(expenseRollupRepository).addToRollup(GROUP_ID, ExpenseRollup.NO_CATEGORY, day, new BigDecimal("-40.00"), -1);
+    }
+
+    @Test
+    @DisplayName("Should prefer the expense date and skip expenses without price or any date")
+    void testRollupDay() {
+        LocalDateTime added = LocalDateTime.of(2025, 3, 2, 10, 0);
+
+        assertEquals(LocalDate.of(2025, 1, 15), ExpenseRollupService.rollupDay(
+                new Expense("a", null, null, BigDecimal.TEN, LocalDateTime.of(2025, 1, 15, 18, 0), added)));
+        assertNull(ExpenseRollupService.rollupDay(new Expense("b", null, null, BigDecimal.TEN, null, null)));
+
+        expenseRollupService.applyExpense(GROUP_ID, new Expense("c", null, null, BigDecimal.TEN, null, null));
+        expenseRollupService.applyExpense(GROUP_ID, new Expense("d", null, null, null, null, added));
+        verify(expenseRollupRepository, never()).addToRollup(any(), any(), any(), any(), anyLong());
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import org.apache.coyote.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRateServiceTest {
+
+    @Test
+    @DisplayName("Should label the converted price with the group currency and keep the input as original")
+    void testNormalize_shouldReturnGroupCurrencyWithConvertedPrice(@TempDir Path dir) throws IOException, BadRequestException {
+        Path file = Files.writeString(dir.resolve("fx-rates.properties"), "base=PLN\nEUR=4.2850\n");
+        FxRateService fxRateService = new FxRateService(file.toString());
+        fxRateService.loadOnStartup();
+
+        FxRateService.FxConversion converted = fxRateService.normalize(new BigDecimal("100.00"), "eur", "PLN");
+        assertEquals(new BigDecimal("428.50"), converted.price());
+        assertEquals("PLN", converted.currency());
+        assertEquals(new BigDecimal("100.00"), converted.originalPrice());
+        assertEquals("EUR", converted.originalCurrency());
+
+        FxRateService.FxConversion echoed = fxRateService.normalize(converted.price(), converted.currency(), "PLN");
+        assertEquals(new BigDecimal("428.50"), echoed.price());
+        assertEquals("PLN", echoed.originalCurrency());
+        assertEquals(BigDecimal.ONE, echoed.rate());
+    }
+
+    @Test
+    @DisplayName("Should not store a non-ISO group currency and reject converting into it")
+    void testNormalize_whenGroupCurrencyIsNotIso_shouldDropItOrRejectConversion(@TempDir Path dir) throws IOException, BadRequestException {
+        Path file = Files.writeString(dir.resolve("fx-rates.properties"), "base=PLN\nEUR=4.2850\n");
+        FxRateService fxRateService = new FxRateService(file.toString());
+        fxRateService.loadOnStartup();
+
+        FxRateService.FxConversion unconverted = fxRateService.normalize(new BigDecimal("12.00"), null, "koko");
+        assertEquals(new BigDecimal("12.00"), unconverted.price());
+        assertNull(unconverted.currency());
+        assertNull(unconverted.originalCurrency());
+
+        assertThrows(BadRequestException.class, () -> fxRateService.normalize(new BigDecimal("12.00"), "EUR", "koko"));
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRateSnapshotTest {
+
+    private static final String RATES = """
+            # 1 unit = rate PLN
+            base=PLN
+            eur=4.2000
+            USD=4.0000
+            """;
+
+    @Test
+    @DisplayName("Should convert between two non-base currencies through the base")
+    void testRate_whenBothCurrenciesOutsideBase_shouldUseCrossRate() {
+        FxRateSnapshot snapshot = FxRateSnapshot.parse(RATES, "test");
+
+        assertEquals(0, new BigDecimal("4.2").compareTo(snapshot.rate("EUR", "PLN")));
+        assertEquals(new BigDecimal("105.00"), FxRateSnapshot.convert(new BigDecimal("100.00"), snapshot.rate("EUR", "USD")));
+        assertNull(snapshot.rate("GBP", "PLN"));
+    }
+
+    @Test
+    @DisplayName("Should reject a rate table with non-positive rates")
+    void testParse_whenRateNotPositive_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> FxRateSnapshot.parse("base=PLN\nEUR=0", "test"));
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sumowanie kwot per kategoria: {@code BigDecimal.add} kontra grosze w {@link MinorUnitAccumulator}.
+ * Uruchamiany ręcznie (mierzy też alokacje):
+ * {@code mvn test -Dtest=MinorUnitAggregationBenchmarkTest -Dbenchmark=true}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinorUnitAggregationBenchmarkTest {
+
+    private static final int CATEGORIES = 12;
+
+    @Param({"10000", "100000"})
+    int expenses;
+
+    BigDecimal[] prices;
+    long[] minorPrices;
+    String[] categories;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        prices = new BigDecimal[expenses];
+        minorPrices = new long[expenses];
+        categories = new String[expenses];
+        for (int i = 0; i < expenses; i++) {
+            prices[i] = BigDecimal.valueOf(random.nextInt(500_000), 2);
+            minorPrices[i] = MinorUnits.toMinor(prices[i]);
+            categories[i] = "category-" + random.nextInt(CATEGORIES);
+        }
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> bigDecimal() {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        for (int i = 0; i < expenses; i++) totals.merge(categories[i], prices[i], BigDecimal::add);
+        return totals;
+    }
+
+    @Benchmark
+    public MinorUnitAccumulator<String> minorUnits() {
+        MinorUnitAccumulator<String> totals = new MinorUnitAccumulator<>(CATEGORIES);
+        for (int i = 0; i < expenses; i++) totals.add(categories[i], minorPrices[i]);
+        return totals;
+    }
+
+    @Test
+    @DisplayName("Should produce the same totals with both aggregation paths")
+    void testAggregation_shouldMatchBigDecimalTotals() {
+        expenses = 10_000;
+        setUp();
+        Map<String, BigDecimal> expected = bigDecimal();
+        MinorUnitAccumulator<String> actual = minorUnits();
+
+        assertEquals(expected.size(), actual.size());
+        expected.forEach((category, total) -> assertEquals(total, MinorUnits.toDecimal(actual.total(category))));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark BigDecimal against long minor-unit aggregation")
+    void benchmarkAggregation() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MinorUnitAggregationBenchmarkTest.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
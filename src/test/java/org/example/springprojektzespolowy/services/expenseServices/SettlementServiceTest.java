@@ -0,0 +1,51 @@
+package org.example.springprojektzespolowy.services.expenseServices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SettlementServiceTest {
+
+    @Test
+    @DisplayName("Should split the price into cents so that deltas sum to zero")
+    void testExpenseDeltas_whenPriceNotDivisible_shouldStayZeroSum() {
+        Map<Long, Long> deltas = SettlementService.expenseDeltas(1L, new BigDecimal("10.00"), List.of(1L, 2L, 3L));
+
+        assertEquals(1000 - 334, deltas.get(1L));
+        assertEquals(-333, deltas.get(2L));
+        assertEquals(-333, deltas.get(3L));
+        assertEquals(0, deltas.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    @DisplayName("Should track paid amount and share separately for the creator")
+    void testExpenseTotals_whenCreatorParticipates_shouldKeepPaidAndShare() {
+        Map<Long, SettlementService.MemberTotals> totals = SettlementService.expenseTotals(1L, new BigDecimal("10.00"), List.of(1L, 2L, 3L));
+
+        assertEquals(new SettlementService.MemberTotals(1000, 334), totals.get(1L));
+        assertEquals(new SettlementService.MemberTotals(0, 333), totals.get(2L));
+        assertEquals(1000, totals.values().stream().mapToLong(SettlementService.MemberTotals::share).sum());
+    }
+
+    @Test
+    @DisplayName("Should settle all balances with at most n-1 transfers")
+    void testMinimalTransfers_shouldClearEveryBalance() {
+        Map<Long, Long> balances = Map.of(1L, 600L, 2L, -200L, 3L, -300L, 4L, -100L);
+
+        List<SettlementService.Transfer> transfers = SettlementService.minimalTransfers(balances);
+
+        Map<Long, Long> remaining = new HashMap<>(balances);
+        transfers.forEach(transfer -> {
+            remaining.merge(transfer.from(), transfer.cents(), Long::sum);
+            remaining.merge(transfer.to(), -transfer.cents(), Long::sum);
+        });
+        assertTrue(transfers.size() <= balances.size() - 1);
+        assertTrue(remaining.values().stream().allMatch(amount -> amount == 0));
+    }
+}
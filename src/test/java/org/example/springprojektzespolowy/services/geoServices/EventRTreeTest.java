@@ -0,0 +1,70 @@
+package org.example.springprojektzespolowy.services.geoServices;
+
+import org.example.springprojektzespolowy.dto.event.EventGeoRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventRTreeTest {
+
+    @Test
+    @DisplayName("Should return the same events as a linear scan for bounding boxes and radius queries")
+    void testQueries_shouldMatchLinearScan() {
+        Random random = new Random(3);
+        List<EventGeoRow> events = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            events.add(random.nextInt(20) == 0
+                    ? new EventGeoRow(id, null, null)
+                    : new EventGeoRow(id, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180));
+        }
+        EventRTree tree = EventRTree.build(events);
+        List<EventGeoRow> located = events.stream().filter(event -> event.latitude() != null).toList();
+        assertEquals(located.size(), tree.size());
+
+        for (int i = 0; i < 200; i++) {
+            double minLat = random.nextDouble() * 180 - 90;
+            double maxLat = Math.min(90, minLat + random.nextDouble() * 40);
+            double minLon = random.nextDouble() * 360 - 180;
+            double maxLon = random.nextDouble() * 360 - 180;
+            List<Long> expected = located.stream()
+                    .filter(event -> event.latitude() >= minLat && event.latitude() <= maxLat)
+                    .filter(event -> minLon <= maxLon
+                            ? event.longitude() >= minLon && event.longitude() <= maxLon
+                            : event.longitude() >= minLon || event.longitude() <= maxLon)
+                    .map(EventGeoRow::id).sorted().toList();
+            assertEquals(expected, tree.within(minLat, minLon, maxLat, maxLon).stream().sorted().toList());
+
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+            double radiusKm = random.nextInt(4) == 0 ? random.nextDouble() * 15_000 : random.nextDouble() * 1500;
+            List<Long> nearest = located.stream()
+                    .filter(event -> GeoPoint.distanceKm(latitude, longitude, event.latitude(), event.longitude()) <= radiusKm)
+                    .sorted(Comparator.comparingDouble((EventGeoRow event) -> GeoPoint.distanceKm(latitude, longitude, event.latitude(), event.longitude()))
+                            .thenComparing(EventGeoRow::id))
+                    .limit(20)
+                    .map(EventGeoRow::id).toList();
+            assertEquals(nearest, tree.nearby(latitude, longitude, radiusKm, 20).stream().map(EventRTree.Hit::id).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should find events across the 180° meridian and near the poles")
+    void testNearby_acrossMeridianAndPole() {
+        EventRTree tree = EventRTree.build(List.of(
+                new EventGeoRow(1L, -17.0, 179.9),
+                new EventGeoRow(2L, -17.0, -179.9),
+                new EventGeoRow(3L, 89.9, 0.0),
+                new EventGeoRow(4L, 89.9, 180.0)));
+
+        assertEquals(List.of(1L, 2L), tree.nearby(-17.0, 179.95, 50, 10).stream().map(EventRTree.Hit::id).toList());
+        assertEquals(List.of(3L, 4L), tree.nearby(90.0, 0.0, 20, 10).stream().map(EventRTree.Hit::id).toList());
+        assertEquals(11.1, tree.nearby(90.0, 0.0, 20, 10).get(0).distanceKm(), 0.1);
+        assertTrue(EventRTree.build(List.of()).nearby(0, 0, 100, 10).isEmpty());
+    }
+}
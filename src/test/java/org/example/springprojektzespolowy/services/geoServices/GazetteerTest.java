@@ -0,0 +1,36 @@
+package org.example.springprojektzespolowy.services.geoServices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GazetteerTest {
+
+    private static final String FILE = """
+            # nazwa	lat	lon	aliasy
+            Kraków	50.0614	19.9372	Cracow,Krakau
+            Łódź	51.7592	19.4560
+            Kraków	0	0
+            """;
+
+    @Test
+    @DisplayName("Should resolve names ignoring case, diacritics and extra spaces, also as a part of an address")
+    void testResolve() {
+        Gazetteer gazetteer = Gazetteer.parse(FILE, "test");
+
+        assertEquals(new GeoPoint(50.0614, 19.9372), gazetteer.resolve("  KRAKOW "));
+        assertEquals(new GeoPoint(50.0614, 19.9372), gazetteer.resolve("cracow"));
+        assertEquals(new GeoPoint(51.7592, 19.4560), gazetteer.resolve("ul. Piotrkowska 1,  lodz"));
+        assertNull(gazetteer.resolve("Gdańsk"));
+        assertNull(gazetteer.resolve(null));
+    }
+
+    @Test
+    @DisplayName("Should reject lines without valid coordinates")
+    void testParse_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> Gazetteer.parse("Kraków\t50.06\n", "test"));
+        assertThrows(IllegalArgumentException.class, () -> Gazetteer.parse("Kraków\t95\t19.93\n", "test"));
+        assertThrows(IllegalArgumentException.class, () -> Gazetteer.parse("Kraków\tabc\t19.93\n", "test"));
+    }
+}
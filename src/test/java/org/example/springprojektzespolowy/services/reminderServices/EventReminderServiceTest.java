@@ -0,0 +1,133 @@
+package org.example.springprojektzespolowy.services.reminderServices;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.springprojektzespolowy.dto.reminder.EventReminderNotification;
+import org.example.springprojektzespolowy.dto.reminder.ReminderRecipientRow;
+import org.example.springprojektzespolowy.models.Event;
+import org.example.springprojektzespolowy.models.EventReminder;
+import org.example.springprojektzespolowy.models.Group;
+import org.example.springprojektzespolowy.repositories.reminderRepos.EventReminderRepository;
+import org.example.springprojektzespolowy.repositories.userRepos.UserEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EventReminderServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-07-01T08:00:00Z");
+
+    private final EventReminderRepository eventReminderRepository = mock(EventReminderRepository.class);
+    private final UserEventRepository userEventRepository = mock(UserEventRepository.class);
+    private final List<EventReminderNotification> notifications = new ArrayList<>();
+    private final MutableClock clock = new MutableClock(NOW);
+    private final EventReminderService service = new EventReminderService(eventReminderRepository, userEventRepository,
+            notifications::add, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), clock, true,
+            new int[]{60, 15}, Duration.ofSeconds(1), 64, Duration.ofHours(6), Duration.ofSeconds(30), 500);
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("Should persist one reminder per lead time, fire it at its time and delete it after notifying")
+    @SuppressWarnings("unchecked")
+    void testScheduleForEvent_shouldFireAndDelete() {
+        Event event = event(7L, LocalDateTime.ofInstant(NOW, ZoneOffset.UTC).plusHours(2));
+        List<EventReminder> saved = new ArrayList<>();
+        AtomicLong ids = new AtomicLong();
+        when(eventReminderRepository.findIdsByEventId(7L)).thenReturn(List.of());
+        when(eventReminderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<EventReminder> reminders = invocation.getArgument(0);
+            reminders.forEach(reminder -> reminder.setId(ids.incrementAndGet()));
+            saved.addAll(reminders);
+            return reminders;
+        });
+
+        service.scheduleForEvent(event);
+        assertEquals(2, service.pending());
+
+        when(eventReminderRepository.findWithEventByIds(anyCollection())).thenAnswer(invocation -> saved.stream()
+                .filter(reminder -> ((Collection<Long>) invocation.getArgument(0)).contains(reminder.getId())).toList());
+        when(userEventRepository.findRecipientsByEventIds(anyCollection())).thenReturn(List.of(new ReminderRecipientRow(7L, "uid")));
+
+        clock.advance(Duration.ofMinutes(59));
+        service.tick();
+        assertTrue(notifications.isEmpty());
+
+        clock.advance(Duration.ofMinutes(1));
+        service.tick();
+        assertEquals(1, notifications.size());
+        assertEquals(60, notifications.getFirst().leadMinutes());
+        assertEquals(List.of("uid"), notifications.getFirst().recipientUIds());
+        verify(eventReminderRepository).deleteByIds(List.of(saved.getFirst().getId()));
+        assertEquals(1, service.pending());
+    }
+
+    @Test
+    @DisplayName("Should drop pending reminders from the wheel when the event is deleted")
+    void testCancelForEvent() {
+        Event event = event(8L, LocalDateTime.ofInstant(NOW, ZoneOffset.UTC).plusDays(1));
+        when(eventReminderRepository.findIdsByEventId(8L)).thenReturn(List.of());
+        when(eventReminderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<EventReminder> reminders = invocation.getArgument(0);
+            for (int i = 0; i < reminders.size(); i++) reminders.get(i).setId(100L + i);
+            return reminders;
+        });
+        service.scheduleForEvent(event);
+        assertEquals(2, service.pending());
+
+        when(eventReminderRepository.findIdsByEventId(8L)).thenReturn(List.of(100L, 101L));
+        service.cancelForEvent(8L);
+
+        assertEquals(0, service.pending());
+        verify(eventReminderRepository).deleteByEventId(8L);
+    }
+
+    private static Event event(Long id, LocalDateTime start) {
+        Group group = new Group();
+        group.setId(1L);
+        Event event = new Event("Śniadanie", null, null, null, start, start.plusHours(1), "uid", group);
+        event.setId(id);
+        return event;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.springprojektzespolowy.services.reminderServices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    @DisplayName("Should fire every timeout exactly once, not before its deadline, including ones many rotations ahead")
+    void testAdvance_shouldFireAtDeadline() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(TICK, 64, 0);
+        Random random = new Random(3);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = random.nextInt(1_000_000);
+            deadlines.put(i, deadline);
+            wheel.schedule(i, deadline);
+        }
+
+        Set<Integer> fired = new HashSet<>();
+        for (long now = 0; now <= 1_000_000; now += TICK) {
+            long current = now;
+            wheel.advance(now, value -> {
+                assertTrue(deadlines.get(value) <= current);
+                assertTrue(deadlines.get(value) > current - TICK);
+                assertTrue(fired.add(value));
+            });
+        }
+        assertEquals(10_000, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should not fire cancelled timeouts and should ignore a second cancel")
+    void testCancel() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        HashedTimingWheel.Timeout<String> kept = wheel.schedule("kept", 5_000);
+        HashedTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 5_000);
+        wheel.schedule("late", 50_000);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        List<String> fired = new ArrayList<>();
+        wheel.advance(10_000, fired::add);
+
+        assertEquals(List.of("kept"), fired);
+        assertEquals("kept", kept.value());
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should catch up after a long pause and fire past deadlines on the next tick")
+    void testAdvance_afterLongPause() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(TICK, 16, 0);
+        for (int i = 0; i < 100; i++) wheel.schedule(i, i * 10_000L);
+        wheel.schedule(1000, 5_000_000);
+
+        List<Integer> fired = new ArrayList<>();
+        wheel.advance(1_000_000, fired::add);
+        assertEquals(100, fired.size());
+
+        wheel.schedule(2000, 0);
+        wheel.advance(1_000_500, fired::add);
+        assertFalse(fired.contains(2000));
+        wheel.advance(1_001_000, fired::add);
+        assertTrue(fired.contains(2000));
+        assertEquals(1, wheel.size());
+    }
+}
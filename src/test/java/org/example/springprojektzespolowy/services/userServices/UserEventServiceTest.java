@@ -0,0 +1,114 @@
+package org.example.springprojektzespolowy.services.userServices;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.example.springprojektzespolowy.config.firebase.AuthenticatedUser;
+import org.example.springprojektzespolowy.dto.mappers.UserDtoMapper;
+import org.example.springprojektzespolowy.dto.userEvent.UserWithRoleDto;
+import org.example.springprojektzespolowy.models.Event;
+import org.example.springprojektzespolowy.models.User;
+import org.example.springprojektzespolowy.models.intermediateTable.UserEvent;
+import org.example.springprojektzespolowy.models.intermediateTable.UserEventKey;
+import org.example.springprojektzespolowy.repositories.userRepos.UserEventRepository;
+import org.example.springprojektzespolowy.repositories.userRepos.UserGroupRepository;
+import org.example.springprojektzespolowy.repositories.userRepos.UserRepository;
+import org.example.springprojektzespolowy.services.EventService;
+import org.example.springprojektzespolowy.services.SecurityService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserEventServiceTest {
+
+    private static final Long GROUP_ID = 1L;
+
+    private final UserEventRepository userEventRepository = mock(UserEventRepository.class);
+    private final UserGroupRepository userGroupRepository = mock(UserGroupRepository.class);
+    private final UserDtoMapper userDtoMapper = mock(UserDtoMapper.class);
+    private final EventService eventService = mock(EventService.class);
+    private final SecurityService securityService = mock(SecurityService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserIdResolver userIdResolver = mock(UserIdResolver.class);
+    private final UserEventService userEventService = new UserEventService(userEventRepository, null, eventService, null,
+            userDtoMapper, securityService, userGroupRepository, userRepository, userIdResolver);
+
+    @Test
+    @DisplayName("Should validate the whole UId set with one query and batch-save only new members")
+    @SuppressWarnings("unchecked")
+    void testAddEventMembers_shouldSkipExistingMembers() {
+        Event event = event(10L);
+        when(userGroupRepository.findGroupMembersByUIds(eq(GROUP_ID), anyCollection()))
+                .thenReturn(List.of(user(1L, "a"), user(2L, "b"), user(3L, "c")));
+        when(userEventRepository.findMemberIds(eq(10L), anyCollection())).thenReturn(List.of(2L));
+        when(userDtoMapper.convert(any(User.class), eq("MEMBER"))).thenReturn(new UserWithRoleDto(null, "MEMBER"));
+
+        List<UserWithRoleDto> added = userEventService.addEventMembers(event, List.of("a", "b", "c", "a"), GROUP_ID);
+
+        ArgumentCaptor<List<UserEvent>> saved = ArgumentCaptor.forClass(List.class);
+        verify(userGroupRepository, times(1)).findGroupMembersByUIds(eq(GROUP_ID), anyCollection());
+        verify(userEventRepository).saveAll(saved.capture());
+        assertEquals(List.of(1L, 3L), saved.getValue().stream().map(member -> member.getId().getUserId()).toList());
+        assertTrue(saved.getValue().stream().allMatch(member -> member.isNew() && "MEMBER".equals(member.getRole())));
+        assertEquals(2, added.size());
+    }
+
+    @Test
+    @DisplayName("Should reject the request and name every UId that is missing or outside the group")
+    void testAddEventMembers_whenSomeUsersAreNotGroupMembers_shouldThrow() {
+        when(userGroupRepository.findGroupMembersByUIds(eq(GROUP_ID), anyCollection())).thenReturn(List.of(user(1L, "a")));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> userEventService.addEventMembers(event(10L), List.of("c", "a", "b"), GROUP_ID));
+
+        assertTrue(exception.getMessage().endsWith("[b, c]"));
+        verify(userEventRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should add a single member by resolved id and a User reference, without loading the user")
+    void testAddEventMember_shouldUseResolvedIdAndReference() {
+        AuthenticatedUser resolved = new AuthenticatedUser("a", 1L, "Anna", "anna@example.com", 5L);
+        User reference = user(1L, "a");
+        when(userIdResolver.resolve("a")).thenReturn(resolved);
+        when(eventService.eventExistsByid(10L)).thenReturn(true);
+        when(securityService.isGroupMember("a", GROUP_ID)).thenReturn(true);
+        when(eventService.getEventById(10L)).thenReturn(event(10L));
+        when(userRepository.getReferenceById(1L)).thenReturn(reference);
+        when(userDtoMapper.convert(resolved, "MEMBER")).thenReturn(new UserWithRoleDto(null, "MEMBER"));
+
+        userEventService.addEventMember(10L, "a", GROUP_ID);
+
+        ArgumentCaptor<UserEvent> saved = ArgumentCaptor.forClass(UserEvent.class);
+        verify(userEventRepository).save(saved.capture());
+        assertEquals(new UserEventKey(1L, 10L), saved.getValue().getId());
+        assertSame(reference, saved.getValue().getUser());
+        verify(userRepository, never()).findByUId(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a UId that does not belong to a registered user")
+    void testAddEventMember_whenUserUnknown_shouldThrow() {
+        when(userIdResolver.resolve("x")).thenReturn(AuthenticatedUser.unregistered("x"));
+
+        assertThrows(EntityNotFoundException.class, () -> userEventService.addEventMember(10L, "x", GROUP_ID));
+        verify(userEventRepository, never()).save(any());
+    }
+
+    private static Event event(Long id) {
+        Event event = new Event();
+        event.setId(id);
+        return event;
+    }
+
+    private static User user(Long id, String UId) {
+        User user = new User();
+        user.setId(id);
+        user.setUId(UId);
+        return user;
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.springprojektzespolowy.services.userServices;
+
+import org.example.springprojektzespolowy.config.audit.AuthAuditLog;
+import org.example.springprojektzespolowy.dto.mappers.UserDtoMapper;
+import org.example.springprojektzespolowy.models.User;
+import org.example.springprojektzespolowy.repositories.userRepos.UserRepository;
+import org.example.springprojektzespolowy.services.SecurityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Sprawdza adnotacje @PreAuthorize na UserService z prawdziwym SecurityService, a nie z TestSecurityService,
+ * który zezwala na wszystko.
+ */
+@SpringJUnitConfig(UserServiceSecurityTest.Config.class)
+@TestPropertySource(properties = "spring.config.developers.list=developer")
+class UserServiceSecurityTest {
+
+    @Configuration
+    @EnableMethodSecurity
+    static class Config {
+
+        @Bean
+        static DefaultConversionService conversionService() {
+            return new DefaultConversionService();
+        }
+
+        @Bean
+        UserRepository userRepository() {
+            return mock(UserRepository.class);
+        }
+
+        @Bean
+        SecurityService securityService(UserRepository userRepository) {
+            return new SecurityService(null, userRepository, null, null, null, null, mock(AuthAuditLog.class));
+        }
+
+        @Bean
+        UserService userService(UserRepository userRepository) {
+            return new UserService(userRepository, mock(UserDtoMapper.class), null, null, null);
+        }
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        reset(userRepository);
+        when(userRepository.existsUserByUId(anyString())).thenReturn(true);
+        when(userRepository.findByUId(anyString())).thenReturn(new User());
+        when(userRepository.findAllByUIdIn(anyCollection())).thenReturn(List.of(new User(), new User()));
+    }
+
+    @Test
+    @WithMockUser("alice")
+    @DisplayName("Should let any member resolve participants, as expense create and update do")
+    void testGetUsersByUIds_shouldNotRequireAccountOwnership() {
+        assertEquals(2, userService.getUsersByUIds(List.of("bob", "carol")).size());
+    }
+
+    @Test
+    @WithMockUser("alice")
+    @DisplayName("Should deny reading another user's profile")
+    void testGetUserByUIdForController_forOtherUser_shouldDeny() {
+        assertThrows(AccessDeniedException.class, () -> userService.getUserByUIdForController("bob"));
+        verify(userRepository, never()).findByUId(anyString());
+    }
+
+    @Test
+    @DisplayName("Should allow the account owner and developers to read a profile")
+    @WithMockUser("alice")
+    void testGetUserByUIdForController_forOwnAccount_shouldAllow() {
+        assertDoesNotThrow(() -> userService.getUserByUIdForController("alice"));
+    }
+
+    @Test
+    @WithMockUser("developer")
+    @DisplayName("Should allow developers to read any profile")
+    void testGetUserByUIdForController_forDeveloper_shouldAllow() {
+        assertDoesNotThrow(() -> userService.getUserByUIdForController("bob"));
+    }
+}
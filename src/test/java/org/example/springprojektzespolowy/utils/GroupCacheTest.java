@@ -0,0 +1,61 @@
+package org.example.springprojektzespolowy.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupCacheTest {
+
+    private static final Long GROUP_ID = 1L;
+
+    private final GroupCache<String> cache = new GroupCache<>(2);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Should not cache a value whose load overlapped an eviction")
+    void testGet_whenEvictedDuringLoad_shouldNotCacheStaleValue() {
+        String stale = cache.get(GROUP_ID, () -> {
+            cache.evict(GROUP_ID);
+            return "v" + loads.incrementAndGet();
+        });
+
+        assertEquals("v1", stale);
+        assertEquals("v2", cache.get(GROUP_ID, () -> "v" + loads.incrementAndGet()));
+        assertEquals("v2", cache.get(GROUP_ID, () -> "v" + loads.incrementAndGet()));
+    }
+
+    @Test
+    @DisplayName("Should drop a value loaded inside the writer's transaction once it commits")
+    void testEvict_inTransaction_shouldInvalidateAgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evict(GROUP_ID);
+        assertEquals("before-commit", cache.get(GROUP_ID, () -> "before-commit"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals("after-commit", cache.get(GROUP_ID, () -> "after-commit"));
+    }
+
+    @Test
+    @DisplayName("Should keep at most maxGroups values, dropping the least recently used")
+    void testGet_whenFull_shouldEvictLeastRecentlyUsed() {
+        cache.get(1L, () -> "a");
+        cache.get(2L, () -> "b");
+        cache.get(1L, () -> "unused");
+        cache.get(3L, () -> "c");
+
+        assertEquals("a", cache.get(1L, () -> "reloaded"));
+        assertEquals("reloaded", cache.get(2L, () -> "reloaded"));
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.springprojektzespolowy.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MediaUrlSignerTest {
+
+    private static final Duration TTL = Duration.ofMinutes(15);
+    private static final long WINDOW_START = 1_800_000_000L - 1_800_000_000L % TTL.toSeconds();
+
+    @Test
+    @DisplayName("Should expire at the end of the next TTL window, between one and two TTLs from now")
+    void testNextExpiry_atWindowBoundaries() {
+        long windowEnd = WINDOW_START + 2 * TTL.toSeconds();
+
+        assertEquals(Instant.ofEpochSecond(windowEnd), signerAt(WINDOW_START).nextExpiry());
+        assertEquals(Instant.ofEpochSecond(windowEnd), signerAt(WINDOW_START + TTL.toSeconds() - 1).nextExpiry());
+        assertEquals(Instant.ofEpochSecond(windowEnd + TTL.toSeconds()), signerAt(WINDOW_START + TTL.toSeconds()).nextExpiry());
+
+        for (long offset : new long[]{0, 1, TTL.toSeconds() - 1}) {
+            long now = WINDOW_START + offset;
+            long validFor = signerAt(now).nextExpiry().getEpochSecond() - now;
+            assertTrue(validFor > TTL.toSeconds() && validFor <= 2 * TTL.toSeconds(), "valid for " + validFor + "s");
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept its own signature until expiry and reject tampered or expired links")
+    void testVerify() {
+        MediaUrlSigner signer = signerAt(WINDOW_START);
+        Instant expiresAt = signer.nextExpiry();
+        String url = signer.signPhotoUrl(7L, 3L, expiresAt);
+        String signature = url.substring(url.indexOf("&sig=") + 5);
+
+        assertTrue(signer.verify(7L, 3L, expiresAt.getEpochSecond(), signature));
+        assertFalse(signer.verify(8L, 3L, expiresAt.getEpochSecond(), signature));
+        assertFalse(signerAt(expiresAt.getEpochSecond() + 1).verify(7L, 3L, expiresAt.getEpochSecond(), signature));
+    }
+
+    private static MediaUrlSigner signerAt(long epochSecond) {
+        return new MediaUrlSigner("test-key", TTL, Clock.fixed(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC));
+    }
+}